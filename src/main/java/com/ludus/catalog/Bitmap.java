@@ -0,0 +1,63 @@
+package com.ludus.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Growable bit set over catalog slots with the few operations facet counting needs. Counting an
+ * intersection walks the words once and never allocates.
+ */
+final class Bitmap {
+
+    private long[] words = new long[1];
+    private int cardinality;
+
+    void set(int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        long mask = 1L << bit;
+        if ((words[word] & mask) == 0) {
+            words[word] |= mask;
+            cardinality++;
+        }
+    }
+
+    void clear(int bit) {
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        if (word < words.length && (words[word] & mask) != 0) {
+            words[word] &= ~mask;
+            cardinality--;
+        }
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * A copy of this bitmap intersected with {@code other}.
+     */
+    Bitmap and(Bitmap other) {
+        Bitmap result = new Bitmap();
+        result.words = new long[Math.min(words.length, other.words.length)];
+        for (int i = 0; i < result.words.length; i++) {
+            result.words[i] = words[i] & other.words[i];
+            result.cardinality += Long.bitCount(result.words[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection with {@code other}, without materializing it.
+     */
+    int andCardinality(Bitmap other) {
+        int length = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+}
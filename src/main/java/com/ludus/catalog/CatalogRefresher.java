@@ -0,0 +1,112 @@
+package com.ludus.catalog;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.CatalogConfig;
+import com.ludus.repositories.GameRepository;
+import com.ludus.repositories.projections.GameVersion;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Picks up game writes this instance never saw: those made by other instances or directly in the
+ * database. Every {@code catalog.refresh-interval} it hashes the id and version of each game, as
+ * {@link CatalogSnapshot#fingerprint()} does, and reloads the catalog, search index, suggester and
+ * facets when the result differs. Every JPA and bulk write bumps the version, so an equal
+ * fingerprint means nothing changed. A zero interval turns the check off.
+ *
+ * <p>With the read model on, the database is compared with the current snapshot, which already
+ * reflects this instance's own writes. With it off there is no snapshot, so the comparison is
+ * with the previous check and a local write also causes one reload.
+ */
+@Component
+public class CatalogRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogRefresher.class);
+
+    private final GameRepository gameRepository;
+    private final CatalogConfig catalogConfig;
+    private final GameCatalog gameCatalog;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameSuggester gameSuggester;
+    private final GameFacets gameFacets;
+    private final TotalsCache totalsCache;
+    private ScheduledExecutorService scheduler;
+    private Long lastFingerprint;
+
+    public CatalogRefresher(GameRepository gameRepository, CatalogConfig catalogConfig, GameCatalog gameCatalog,
+            GameSearchIndex gameSearchIndex, GameSuggester gameSuggester, GameFacets gameFacets,
+            TotalsCache totalsCache) {
+        this.gameRepository = gameRepository;
+        this.catalogConfig = catalogConfig;
+        this.gameCatalog = gameCatalog;
+        this.gameSearchIndex = gameSearchIndex;
+        this.gameSuggester = gameSuggester;
+        this.gameFacets = gameFacets;
+        this.totalsCache = totalsCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = catalogConfig.getRefreshInterval().toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the in-memory game views if the database no longer matches them.
+     *
+     * @return whether a reload happened
+     */
+    public synchronized boolean refresh() {
+        long stored = 0;
+        for (GameVersion game : gameRepository.findAllVersions()) {
+            stored ^= CatalogSnapshot.entryHash(game.id(), game.version());
+        }
+
+        Long known = lastFingerprint;
+        if (gameCatalog.isEnabled()) {
+            known = gameCatalog.snapshot().fingerprint();
+        }
+        lastFingerprint = stored;
+        if (known == null || known == stored) {
+            return false;
+        }
+
+        log.info("Games changed outside this instance, reloading the catalog");
+        gameCatalog.onBulkChange();
+        gameSearchIndex.onBulkChange();
+        gameSuggester.onBulkChange();
+        gameFacets.onBulkChange();
+        totalsCache.invalidate(TotalsCache.GAMES);
+        return true;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Catalog refresh check failed, retrying in {}", catalogConfig.getRefreshInterval(), e);
+        }
+    }
+}
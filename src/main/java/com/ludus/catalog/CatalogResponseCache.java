@@ -0,0 +1,119 @@
+package com.ludus.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import com.ludus.infra.config.ResponseCacheConfig;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serialized catalog responses, ready to be copied to the servlet output stream. Entries belong to
+ * one snapshot generation; the first put with a newer generation drops everything, while a put that
+ * raced a write and carries an older one is returned uncached. Eviction is LRU, bounded by the total
+ * number of cached bytes.
+ */
+@Component
+public class CatalogResponseCache {
+
+    public record CachedResponse(byte[] body, boolean gzipped) {
+    }
+
+    private final ResponseCacheConfig responseCacheConfig;
+    private final LinkedHashMap<Object, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long generation = -1;
+    private long totalBytes;
+
+    public CatalogResponseCache(ResponseCacheConfig responseCacheConfig) {
+        this.responseCacheConfig = responseCacheConfig;
+    }
+
+    public boolean isEnabled() {
+        return responseCacheConfig.isEnabled();
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+
+    public synchronized CachedResponse get(long generation, Object key) {
+        if (generation != this.generation) {
+            return null;
+        }
+        return entries.get(key);
+    }
+
+    public CachedResponse put(long generation, Object key, byte[] json, boolean acceptsGzip) {
+        boolean gzip = acceptsGzip && responseCacheConfig.isGzipEnabled()
+                && json.length >= responseCacheConfig.getGzipMinBytes();
+        CachedResponse response = new CachedResponse(gzip ? gzip(json) : json, gzip);
+
+        synchronized (this) {
+            if (generation < this.generation) {
+                return response;
+            }
+            if (generation > this.generation) {
+                entries.clear();
+                totalBytes = 0;
+                this.generation = generation;
+            }
+            if (response.body().length > responseCacheConfig.getMaxBytes()) {
+                return response;
+            }
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                totalBytes -= previous.body().length;
+            }
+            totalBytes += response.body().length;
+
+            Iterator<Map.Entry<Object, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (totalBytes > responseCacheConfig.getMaxBytes() && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+            }
+        }
+        return response;
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public void write(CachedResponse cached, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.gzipped()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+        response.flushBuffer();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
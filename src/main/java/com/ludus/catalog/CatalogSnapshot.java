@@ -0,0 +1,236 @@
+package com.ludus.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+
+/**
+ * Immutable view of the whole game catalog. Every write produces a new snapshot, so readers never
+ * need to lock. A single-game write only rebuilds what that game touches: its slot in the id-ordered
+ * list, the genre and platform lists it leaves or joins, and the trigram postings of its name.
+ * Everything else is shared with the previous snapshot.
+ */
+public final class CatalogSnapshot {
+
+    private final List<GameDtoResponse> games;
+    private final long[] versions;
+    private final EnumMap<GameGenre, List<GameDtoResponse>> byGenre;
+    private final EnumMap<GamePlatform, List<GameDtoResponse>> byPlatform;
+    private final NameIndex nameIndex;
+    private final long fingerprint;
+    private final long generation;
+
+    private CatalogSnapshot(List<GameDtoResponse> games, long[] versions,
+            EnumMap<GameGenre, List<GameDtoResponse>> byGenre,
+            EnumMap<GamePlatform, List<GameDtoResponse>> byPlatform, NameIndex nameIndex,
+            long fingerprint, long generation) {
+        this.games = games;
+        this.versions = versions;
+        this.byGenre = byGenre;
+        this.byPlatform = byPlatform;
+        this.nameIndex = nameIndex;
+        this.fingerprint = fingerprint;
+        this.generation = generation;
+    }
+
+    static CatalogSnapshot of(Collection<GameDtoResponse> games, Map<Long, Long> versions,
+            long generation) {
+        List<GameDtoResponse> sorted = new ArrayList<>(games);
+        sorted.sort(Comparator.comparing(GameDtoResponse::id));
+
+        long[] ids = new long[sorted.size()];
+        long[] sortedVersions = new long[sorted.size()];
+        EnumMap<GameGenre, List<GameDtoResponse>> genres = new EnumMap<>(GameGenre.class);
+        EnumMap<GamePlatform, List<GameDtoResponse>> platforms = new EnumMap<>(GamePlatform.class);
+        long fingerprint = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            GameDtoResponse game = sorted.get(i);
+            ids[i] = game.id();
+            sortedVersions[i] = versions.get(game.id());
+            fingerprint ^= entryHash(ids[i], sortedVersions[i]);
+            genres.computeIfAbsent(genreOf(game), k -> new ArrayList<>()).add(game);
+            platforms.computeIfAbsent(platformOf(game), k -> new ArrayList<>()).add(game);
+        }
+        genres.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        platforms.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        NameIndex names = new NameIndex(ids, sorted.stream().map(GameDtoResponse::name).toList());
+        return new CatalogSnapshot(Collections.unmodifiableList(sorted), sortedVersions, genres,
+                platforms, names, fingerprint, generation);
+    }
+
+    CatalogSnapshot with(GameDtoResponse game, long version) {
+        int at = firstIdAtLeast(games, game.id());
+        GameDtoResponse previous = at < games.size() && games.get(at).id().equals(game.id())
+                ? games.get(at) : null;
+
+        long[] nextVersions;
+        long nextFingerprint = fingerprint ^ entryHash(game.id(), version);
+        if (previous != null) {
+            nextVersions = versions.clone();
+            nextVersions[at] = version;
+            nextFingerprint ^= entryHash(game.id(), versions[at]);
+        } else {
+            nextVersions = new long[versions.length + 1];
+            System.arraycopy(versions, 0, nextVersions, 0, at);
+            nextVersions[at] = version;
+            System.arraycopy(versions, at, nextVersions, at + 1, versions.length - at);
+        }
+
+        return new CatalogSnapshot(patched(games, game.id(), game), nextVersions,
+                reindexed(byGenre, previous != null ? genreOf(previous) : null, genreOf(game), game.id(), game),
+                reindexed(byPlatform, previous != null ? platformOf(previous) : null, platformOf(game),
+                        game.id(), game),
+                nameIndex.with(game.id(), game.name()), nextFingerprint, generation + 1);
+    }
+
+    CatalogSnapshot without(Long id) {
+        int at = firstIdAtLeast(games, id);
+        if (at == games.size() || !games.get(at).id().equals(id)) {
+            return this;
+        }
+        GameDtoResponse previous = games.get(at);
+
+        long[] nextVersions = new long[versions.length - 1];
+        System.arraycopy(versions, 0, nextVersions, 0, at);
+        System.arraycopy(versions, at + 1, nextVersions, at, versions.length - at - 1);
+
+        return new CatalogSnapshot(patched(games, id, null), nextVersions,
+                reindexed(byGenre, genreOf(previous), null, id, null),
+                reindexed(byPlatform, platformOf(previous), null, id, null),
+                nameIndex.without(id), fingerprint ^ entryHash(id, versions[at]), generation + 1);
+    }
+
+    public GameDtoResponse get(Long id) {
+        int at = firstIdAtLeast(games, id);
+        return at < games.size() && games.get(at).id().equals(id) ? games.get(at) : null;
+    }
+
+    public Long version(Long id) {
+        int at = firstIdAtLeast(games, id);
+        return at < games.size() && games.get(at).id().equals(id) ? versions[at] : null;
+    }
+
+    /**
+     * Incremented on every write, so it orders the snapshots of one process.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Combined hash of every game's id and version. Any instance holding the same games at the
+     * same versions computes the same value, whatever order they were loaded or written in.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public List<GameDtoResponse> all() {
+        return games;
+    }
+
+    public List<GameDtoResponse> byGenre(GameGenre genre) {
+        return byGenre.getOrDefault(genre, List.of());
+    }
+
+    public List<GameDtoResponse> byPlatform(GamePlatform platform) {
+        return byPlatform.getOrDefault(platform, List.of());
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    List<GameDtoResponse> select(GameGenre genre, String name) {
+        if (name == null) {
+            return genre != null ? byGenre(genre) : games;
+        }
+        long[] ids = nameIndex.search(name);
+        List<GameDtoResponse> matches = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            GameDtoResponse game = get(id);
+            if (genre == null || genre.name().equals(game.genre())) {
+                matches.add(game);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The contribution of one game to {@link #fingerprint()}. Fingerprints are the XOR of these,
+     * so a game can be added or removed without rehashing the others.
+     */
+    static long entryHash(long id, long version) {
+        long hash = id * 0x9E3779B97F4A7C15L + version;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    static int firstIdAtLeast(List<GameDtoResponse> games, long id) {
+        int low = 0;
+        int high = games.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (games.get(mid).id() < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A copy of the id-ordered {@code games} with {@code id} replaced by {@code game}, inserted if
+     * absent, or removed when {@code game} is null.
+     */
+    private static List<GameDtoResponse> patched(List<GameDtoResponse> games, Long id, GameDtoResponse game) {
+        int at = firstIdAtLeast(games, id);
+        boolean present = at < games.size() && games.get(at).id().equals(id);
+        List<GameDtoResponse> copy = new ArrayList<>(games.size() + 1);
+        copy.addAll(games.subList(0, at));
+        if (game != null) {
+            copy.add(game);
+        }
+        copy.addAll(games.subList(present ? at + 1 : at, games.size()));
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Moves {@code id} from the {@code from} list to the {@code to} list; the lists of every other
+     * key are shared.
+     */
+    private static <K extends Enum<K>> EnumMap<K, List<GameDtoResponse>> reindexed(
+            EnumMap<K, List<GameDtoResponse>> index, K from, K to, Long id, GameDtoResponse game) {
+        EnumMap<K, List<GameDtoResponse>> next = new EnumMap<>(index);
+        if (from != null && from != to) {
+            List<GameDtoResponse> rest = patched(next.get(from), id, null);
+            if (rest.isEmpty()) {
+                next.remove(from);
+            } else {
+                next.put(from, rest);
+            }
+        }
+        if (to != null) {
+            next.put(to, patched(next.getOrDefault(to, List.of()), id, game));
+        }
+        return next;
+    }
+
+    private static GameGenre genreOf(GameDtoResponse game) {
+        return GameGenre.valueOf(game.genre());
+    }
+
+    private static GamePlatform platformOf(GameDtoResponse game) {
+        return GamePlatform.valueOf(game.platform());
+    }
+}
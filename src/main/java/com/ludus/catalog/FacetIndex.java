@@ -0,0 +1,193 @@
+package com.ludus.catalog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameFacetsDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+
+/**
+ * One bitmap of catalog slots per genre, platform, price band and release decade. Facet counts for
+ * a filter are sizes of bitmap intersections, so they cost the same whatever the filter matches.
+ * Each facet is counted with every filter except its own, so the sidebar keeps showing how many
+ * games the other values of the selected facet would give.
+ *
+ * <p>Not thread-safe; {@link GameFacets} guards it.
+ */
+final class FacetIndex {
+
+    private static final Bitmap EMPTY = new Bitmap();
+
+    private final List<BigDecimal> bandBounds;
+    private final List<String> bandLabels;
+    private final Bitmap all = new Bitmap();
+    private final Map<GameGenre, Bitmap> genres = new EnumMap<>(GameGenre.class);
+    private final Map<GamePlatform, Bitmap> platforms = new EnumMap<>(GamePlatform.class);
+    private final Bitmap[] bands;
+    private final TreeMap<Integer, Bitmap> decades = new TreeMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private GameDtoResponse[] docs = new GameDtoResponse[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    FacetIndex(List<BigDecimal> bandBounds) {
+        this.bandBounds = bandBounds.stream().sorted().toList();
+        this.bandLabels = labels(this.bandBounds);
+        this.bands = new Bitmap[bandLabels.size()];
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new Bitmap();
+        }
+        for (GameGenre genre : GameGenre.values()) {
+            genres.put(genre, new Bitmap());
+        }
+        for (GamePlatform platform : GamePlatform.values()) {
+            platforms.put(platform, new Bitmap());
+        }
+    }
+
+    /**
+     * Labels of the price bands delimited by {@code bounds}: "0-10", "10-20", ..., "60+".
+     */
+    static List<String> labels(List<BigDecimal> bounds) {
+        List<String> labels = new ArrayList<>(bounds.size() + 1);
+        String lower = "0";
+        for (BigDecimal bound : bounds) {
+            String upper = bound.stripTrailingZeros().toPlainString();
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "+");
+        return labels;
+    }
+
+    static int decade(int releaseYear) {
+        return Math.floorDiv(releaseYear, 10) * 10;
+    }
+
+    List<String> bandLabels() {
+        return bandLabels;
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    void put(GameDtoResponse game) {
+        remove(game.id());
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        if (slot == docs.length) {
+            docs = Arrays.copyOf(docs, slot * 2);
+        }
+        docs[slot] = game;
+        slots.put(game.id(), slot);
+
+        all.set(slot);
+        genres.get(GameGenre.valueOf(game.genre())).set(slot);
+        platforms.get(GamePlatform.valueOf(game.platform())).set(slot);
+        int band = band(game.price());
+        if (band >= 0) {
+            bands[band].set(slot);
+        }
+        decades.computeIfAbsent(decade(game.releaseYear()), k -> new Bitmap()).set(slot);
+    }
+
+    void remove(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        GameDtoResponse game = docs[slot];
+        all.clear(slot);
+        genres.get(GameGenre.valueOf(game.genre())).clear(slot);
+        platforms.get(GamePlatform.valueOf(game.platform())).clear(slot);
+        int band = band(game.price());
+        if (band >= 0) {
+            bands[band].clear(slot);
+        }
+        int decade = decade(game.releaseYear());
+        Bitmap games = decades.get(decade);
+        games.clear(slot);
+        if (games.cardinality() == 0) {
+            decades.remove(decade);
+        }
+
+        docs[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Counts for the games matching every non-null filter. {@code band} is an index into
+     * {@link #bandLabels()}.
+     */
+    GameFacetsDtoResponse count(GameGenre genre, GamePlatform platform, Integer band, Integer decade) {
+        Bitmap[] filters = {
+            genre != null ? genres.get(genre) : null,
+            platform != null ? platforms.get(platform) : null,
+            band != null ? bands[band] : null,
+            decade != null ? decades.getOrDefault(decade(decade), EMPTY) : null
+        };
+
+        Bitmap matching = intersect(filters, -1);
+        Map<String, Long> genreCounts = new LinkedHashMap<>();
+        Bitmap mask = intersect(filters, 0);
+        genres.forEach((value, games) -> genreCounts.put(value.name(), count(mask, games)));
+
+        Map<String, Long> platformCounts = new LinkedHashMap<>();
+        Bitmap platformMask = intersect(filters, 1);
+        platforms.forEach((value, games) -> platformCounts.put(value.name(), count(platformMask, games)));
+
+        Map<String, Long> bandCounts = new LinkedHashMap<>();
+        Bitmap bandMask = intersect(filters, 2);
+        for (int i = 0; i < bands.length; i++) {
+            bandCounts.put(bandLabels.get(i), count(bandMask, bands[i]));
+        }
+
+        Map<String, Long> decadeCounts = new LinkedHashMap<>();
+        Bitmap decadeMask = intersect(filters, 3);
+        decades.forEach((value, games) -> decadeCounts.put(value.toString(), count(decadeMask, games)));
+
+        return new GameFacetsDtoResponse(matching == null ? all.cardinality() : matching.cardinality(),
+                genreCounts, platformCounts, bandCounts, decadeCounts);
+    }
+
+    private int band(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        int band = 0;
+        while (band < bandBounds.size() && price.compareTo(bandBounds.get(band)) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    /**
+     * Intersection of every filter except the one at {@code skip}; null when no filter applies.
+     */
+    private static Bitmap intersect(Bitmap[] filters, int skip) {
+        Bitmap result = null;
+        for (int i = 0; i < filters.length; i++) {
+            if (i != skip && filters[i] != null) {
+                result = result == null ? filters[i] : result.and(filters[i]);
+            }
+        }
+        return result;
+    }
+
+    private static long count(Bitmap mask, Bitmap games) {
+        return mask == null ? games.cardinality() : mask.andCardinality(games);
+    }
+}
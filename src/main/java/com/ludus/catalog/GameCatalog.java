@@ -0,0 +1,169 @@
+package com.ludus.catalog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.infra.config.CatalogConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+import com.ludus.utils.PageCursor;
+
+/**
+ * In-process read model of the game catalog. Readers work on the current {@link CatalogSnapshot};
+ * writers build a new one and swap it in once the surrounding transaction has committed.
+ */
+@Component
+public class GameCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(GameCatalog.class);
+
+    private final GameRepository gameRepository;
+    private final CatalogConfig catalogConfig;
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final Object writeLock = new Object();
+
+    public GameCatalog(GameRepository gameRepository, CatalogConfig catalogConfig) {
+        this.gameRepository = gameRepository;
+        this.catalogConfig = catalogConfig;
+    }
+
+    public boolean isEnabled() {
+        return catalogConfig.isReadModelEnabled();
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            current = snapshot.get();
+            if (current == null) {
+                current = load(0);
+                snapshot.set(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * A page of {@code snapshot}, so a caller that already derived an ETag from a snapshot serves
+     * the contents that ETag names even if a write lands in between.
+     */
+    public Page<GameDtoResponse> findAll(CatalogSnapshot snapshot, GameGenre genre, String name,
+            Pageable pageable) {
+        List<GameDtoResponse> matches = snapshot.select(genre, name);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    public Slice<GameDtoResponse> findAll(CatalogSnapshot snapshot, GameGenre genre, String name,
+            PageCursor cursor, int size) {
+        List<GameDtoResponse> matches = snapshot.select(genre, name);
+        int from;
+        int to;
+        boolean hasMore;
+        if (cursor.backward()) {
+            to = CatalogSnapshot.firstIdAtLeast(matches, cursor.id());
+            from = Math.max(0, to - size);
+            hasMore = from > 0;
+        } else {
+            from = cursor.id() == null ? 0 : CatalogSnapshot.firstIdAtLeast(matches, cursor.id() + 1);
+            to = Math.min(from + size, matches.size());
+            hasMore = to < matches.size();
+        }
+        return new SliceImpl<>(matches.subList(from, to), PageRequest.ofSize(size), hasMore);
+    }
+
+    public Optional<GameDtoResponse> findById(Long id) {
+        return Optional.ofNullable(snapshot().get(id));
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return Optional.ofNullable(snapshot().version(id));
+    }
+
+    /**
+     * Identifies the contents of {@code snapshot}. It is derived from the games' ids and versions
+     * only, so every instance serving the same catalog reports the same version, also after a
+     * restart.
+     */
+    public String catalogVersion(CatalogSnapshot snapshot) {
+        return Long.toHexString(snapshot.fingerprint());
+    }
+
+    public void onSaved(GameModel gameModel) {
+        if (!isEnabled()) {
+            return;
+        }
+        GameDtoResponse game = toEntry(gameModel);
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                CatalogSnapshot current = snapshot.get();
+                if (current != null) {
+                    snapshot.set(current.with(game, gameModel.getVersion()));
+                }
+            }
+        });
+    }
+
+    public void onDeleted(Long id) {
+        if (!isEnabled()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                CatalogSnapshot current = snapshot.get();
+                if (current != null) {
+                    snapshot.set(current.without(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * For writes that touch many games at once: reloads the snapshot a single time after commit.
+     */
+    public void onBulkChange() {
+        if (!isEnabled()) {
+            return;
+        }
+        AfterCommit.run(this::reload);
+    }
+
+    public void reload() {
+        synchronized (writeLock) {
+            CatalogSnapshot current = snapshot.get();
+            snapshot.set(load(current != null ? current.generation() + 1 : 0));
+        }
+    }
+
+    private CatalogSnapshot load(long generation) {
+        List<GameModel> models = gameRepository.findAll();
+        List<GameDtoResponse> games = models.stream().map(this::toEntry).toList();
+        Map<Long, Long> versions = models.stream()
+                .collect(Collectors.toMap(GameModel::getId, GameModel::getVersion));
+        log.info("Game catalog loaded with {} games", games.size());
+        return CatalogSnapshot.of(games, versions, generation);
+    }
+
+    private GameDtoResponse toEntry(GameModel gameModel) {
+        return new GameDtoResponse(gameModel.getId(), gameModel.getName(),
+                gameModel.getGenre().toString(), gameModel.getReleaseYear(),
+                gameModel.getPlatform().toString(), gameModel.getPrice());
+    }
+}
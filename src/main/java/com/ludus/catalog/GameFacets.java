@@ -0,0 +1,125 @@
+package com.ludus.catalog;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameFacetsDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+import com.ludus.infra.config.FacetConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+
+/**
+ * Facet counts for the storefront filters, kept in memory and updated by the game write paths
+ * once their transaction has committed.
+ */
+@Component
+public class GameFacets {
+
+    private static final Logger log = LoggerFactory.getLogger(GameFacets.class);
+
+    private final GameRepository gameRepository;
+    private final FacetConfig facetConfig;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeLock = new Object();
+    private volatile FacetIndex index;
+
+    public GameFacets(GameRepository gameRepository, FacetConfig facetConfig) {
+        this.gameRepository = gameRepository;
+        this.facetConfig = facetConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (facetConfig.isWarmOnStartup()) {
+            rebuild();
+        }
+    }
+
+    public List<String> priceBands() {
+        return FacetIndex.labels(facetConfig.getPriceBands().stream().sorted().toList());
+    }
+
+    /**
+     * {@code priceBand} must be one of {@link #priceBands()}.
+     */
+    public GameFacetsDtoResponse count(GameGenre genre, GamePlatform platform, String priceBand, Integer decade) {
+        FacetIndex current = index();
+        Integer band = priceBand != null ? current.bandLabels().indexOf(priceBand) : null;
+        lock.readLock().lock();
+        try {
+            return current.count(genre, platform, band, decade);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onSaved(GameModel gameModel) {
+        GameDtoResponse game = toEntry(gameModel);
+        AfterCommit.run(() -> update(current -> current.put(game)));
+    }
+
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> update(current -> current.remove(id)));
+    }
+
+    /**
+     * For writes that touch many games at once: rebuilds the counts a single time after commit.
+     */
+    public void onBulkChange() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            FacetIndex next = new FacetIndex(facetConfig.getPriceBands());
+            gameRepository.findAllEntries().forEach(next::put);
+            index = next;
+            log.info("Game facets built with {} games in {} ms", next.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private FacetIndex index() {
+        FacetIndex current = index;
+        if (current == null) {
+            synchronized (writeLock) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private void update(Consumer<FacetIndex> change) {
+        synchronized (writeLock) {
+            FacetIndex current = index;
+            if (current == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                change.accept(current);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private GameDtoResponse toEntry(GameModel gameModel) {
+        return new GameDtoResponse(gameModel.getId(), gameModel.getName(),
+                gameModel.getGenre().toString(), gameModel.getReleaseYear(),
+                gameModel.getPlatform().toString(), gameModel.getPrice());
+    }
+}
@@ -0,0 +1,120 @@
+package com.ludus.catalog;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.infra.config.SearchConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+
+/**
+ * Full-text search over the game catalog. The index is built from the database at startup (or on
+ * first use) and kept current by the game write paths once their transaction has committed.
+ */
+@Component
+public class GameSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSearchIndex.class);
+
+    private final GameRepository gameRepository;
+    private final SearchConfig searchConfig;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeLock = new Object();
+    private volatile SearchIndex index;
+
+    public GameSearchIndex(GameRepository gameRepository, SearchConfig searchConfig) {
+        this.gameRepository = gameRepository;
+        this.searchConfig = searchConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (searchConfig.isWarmOnStartup()) {
+            rebuild();
+        }
+    }
+
+    public Page<GameDtoResponse> search(String query, Pageable pageable) {
+        SearchIndex current = index();
+        lock.readLock().lock();
+        try {
+            return current.search(query, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onSaved(GameModel gameModel) {
+        GameDtoResponse game = toEntry(gameModel);
+        AfterCommit.run(() -> update(current -> current.put(game)));
+    }
+
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> update(current -> current.remove(id)));
+    }
+
+    /**
+     * For writes that touch many games at once: rebuilds the index a single time after commit.
+     */
+    public void onBulkChange() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    /**
+     * Builds a fresh index from the database; searches keep using the old one until it is ready.
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            List<GameDtoResponse> games = gameRepository.findAllEntries();
+            SearchIndex next = new SearchIndex(searchConfig.getMaxExpansions());
+            games.forEach(next::put);
+            index = next;
+            log.info("Search index built with {} games in {} ms", next.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private SearchIndex index() {
+        SearchIndex current = index;
+        if (current == null) {
+            synchronized (writeLock) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private void update(Consumer<SearchIndex> change) {
+        synchronized (writeLock) {
+            SearchIndex current = index;
+            if (current == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                change.accept(current);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private GameDtoResponse toEntry(GameModel gameModel) {
+        return new GameDtoResponse(gameModel.getId(), gameModel.getName(),
+                gameModel.getGenre().toString(), gameModel.getReleaseYear(),
+                gameModel.getPlatform().toString(), gameModel.getPrice());
+    }
+}
@@ -0,0 +1,172 @@
+package com.ludus.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.ludus.catalog.SuggestTrie.Entry;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameSuggestionDtoResponse;
+import com.ludus.infra.config.SuggestConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+import com.ludus.repositories.PurchaseRepository;
+import com.ludus.repositories.projections.GameSales;
+
+/**
+ * Typeahead over game names, most purchased first. Every word of a name starts a key, so "wit"
+ * suggests "The Witcher 3". Lookups read an immutable trie without locking; writes build the next
+ * trie once their transaction has committed and swap it in.
+ */
+@Component
+public class GameSuggester {
+
+    static final int MAX_KEYS_PER_GAME = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(GameSuggester.class);
+
+    private final GameRepository gameRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final SuggestConfig suggestConfig;
+    private final Object writeLock = new Object();
+    private final Map<Long, Entry> games = new HashMap<>();
+    private volatile SuggestTrie trie;
+
+    public GameSuggester(GameRepository gameRepository, PurchaseRepository purchaseRepository,
+            SuggestConfig suggestConfig) {
+        this.gameRepository = gameRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.suggestConfig = suggestConfig;
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", SearchIndex.tokenize(text));
+    }
+
+    /**
+     * Keys a game can be found under: its normalized name from each word on.
+     */
+    static Set<String> keys(String name) {
+        List<String> tokens = SearchIndex.tokenize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size() && i < MAX_KEYS_PER_GAME; i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (suggestConfig.isWarmOnStartup()) {
+            rebuild();
+        }
+    }
+
+    public List<GameSuggestionDtoResponse> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        List<Entry> matches = trie().lookup(prefix);
+        List<GameSuggestionDtoResponse> suggestions = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            Entry entry = matches.get(i);
+            suggestions.add(new GameSuggestionDtoResponse(entry.id(), entry.name(), entry.platform()));
+        }
+        return suggestions;
+    }
+
+    public void onSaved(GameModel gameModel) {
+        Long id = gameModel.getId();
+        String name = gameModel.getName();
+        String platform = gameModel.getPlatform().toString();
+        AfterCommit.run(() -> update(id, previous -> new Entry(id, name, platform,
+                previous != null ? previous.popularity() : 0)));
+    }
+
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> update(id, previous -> null));
+    }
+
+    public void onPurchased(Long gameId) {
+        AfterCommit.run(() -> update(gameId, previous -> previous == null ? null
+                : new Entry(previous.id(), previous.name(), previous.platform(), previous.popularity() + 1)));
+    }
+
+    /**
+     * For writes that touch many games at once: rebuilds the trie a single time after commit.
+     */
+    public void onBulkChange() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            Map<Long, Long> sales = new HashMap<>();
+            for (GameSales row : purchaseRepository.countPurchasesByGame()) {
+                sales.put(row.gameId(), row.purchases());
+            }
+
+            games.clear();
+            List<String> keys = new ArrayList<>();
+            List<Entry> entries = new ArrayList<>();
+            for (GameDtoResponse game : gameRepository.findAllEntries()) {
+                Entry entry = new Entry(game.id(), game.name(), game.platform(), sales.getOrDefault(game.id(), 0L));
+                games.put(game.id(), entry);
+                for (String key : keys(game.name())) {
+                    keys.add(key);
+                    entries.add(entry);
+                }
+            }
+            trie = SuggestTrie.build(keys, entries, suggestConfig.getMaxResults());
+            log.info("Suggestion trie built with {} games and {} keys in {} ms", games.size(), keys.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private SuggestTrie trie() {
+        SuggestTrie current = trie;
+        if (current == null) {
+            synchronized (writeLock) {
+                if (trie == null) {
+                    rebuild();
+                }
+                current = trie;
+            }
+        }
+        return current;
+    }
+
+    private void update(Long id, UnaryOperator<Entry> change) {
+        synchronized (writeLock) {
+            SuggestTrie current = trie;
+            if (current == null) {
+                return;
+            }
+            Entry previous = games.get(id);
+            Entry next = change.apply(previous);
+            if (previous != null) {
+                for (String key : keys(previous.name())) {
+                    current = current.remove(key, id);
+                }
+                games.remove(id);
+            }
+            if (next != null) {
+                for (String key : keys(next.name())) {
+                    current = current.insert(key, next);
+                }
+                games.put(id, next);
+            }
+            trie = current;
+        }
+    }
+}
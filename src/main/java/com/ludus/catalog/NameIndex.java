@@ -0,0 +1,222 @@
+package com.ludus.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram posting lists over lower-cased game names, keyed by game id. Substring queries intersect
+ * the postings of the needle's trigrams and only verify the few surviving candidates, instead of
+ * scanning every name. {@link #with} and {@link #without} return a new index that shares every
+ * posting list the changed name does not touch.
+ */
+final class NameIndex {
+
+    static final int GRAM = 3;
+
+    private final long[] ids;
+    private final String[] names;
+    private final Map<String, long[]> postings;
+
+    /**
+     * @param ids game ids in ascending order
+     * @param names the name of each game in {@code ids}, at the same position
+     */
+    NameIndex(long[] ids, List<String> names) {
+        this.ids = ids.clone();
+        this.names = new String[names.size()];
+        Map<String, IdList> builder = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = normalize(names.get(i));
+            this.names[i] = name;
+            if (name == null) {
+                continue;
+            }
+            for (String gram : grams(name)) {
+                builder.computeIfAbsent(gram, k -> new IdList()).add(ids[i]);
+            }
+        }
+        this.postings = new HashMap<>(builder.size() * 2);
+        builder.forEach((gram, list) -> postings.put(gram, list.toArray()));
+    }
+
+    private NameIndex(long[] ids, String[] names, Map<String, long[]> postings) {
+        this.ids = ids;
+        this.names = names;
+        this.postings = postings;
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    NameIndex with(long id, String name) {
+        String normalized = normalize(name);
+        int at = Arrays.binarySearch(ids, id);
+        long[] nextIds = ids;
+        String[] nextNames;
+        String previous = null;
+        if (at >= 0) {
+            previous = names[at];
+            nextNames = names.clone();
+            nextNames[at] = normalized;
+        } else {
+            at = -at - 1;
+            nextIds = inserted(ids, at, id);
+            nextNames = new String[names.length + 1];
+            System.arraycopy(names, 0, nextNames, 0, at);
+            nextNames[at] = normalized;
+            System.arraycopy(names, at, nextNames, at + 1, names.length - at);
+        }
+        return new NameIndex(nextIds, nextNames, repost(id, previous, normalized));
+    }
+
+    NameIndex without(long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return this;
+        }
+        String[] nextNames = new String[names.length - 1];
+        System.arraycopy(names, 0, nextNames, 0, at);
+        System.arraycopy(names, at + 1, nextNames, at, names.length - at - 1);
+        return new NameIndex(removed(ids, at), nextNames, repost(id, names[at], null));
+    }
+
+    /**
+     * Ids of every game whose name contains {@code needle}, in ascending order.
+     */
+    long[] search(String needle) {
+        String query = normalize(needle);
+        if (query.length() < GRAM) {
+            return scan(query);
+        }
+
+        List<long[]> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            long[] list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        long[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        IdList matches = new IdList();
+        for (long id : candidates) {
+            if (names[Arrays.binarySearch(ids, id)].contains(query)) {
+                matches.add(id);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private long[] scan(String query) {
+        IdList matches = new IdList();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null && names[i].contains(query)) {
+                matches.add(ids[i]);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * A copy of the postings map where only the trigrams gained or lost by renaming {@code id}
+     * from {@code previous} to {@code name} get a new list.
+     */
+    private Map<String, long[]> repost(long id, String previous, String name) {
+        Set<String> before = previous == null ? Set.of() : grams(previous);
+        Set<String> after = name == null ? Set.of() : grams(name);
+        Map<String, long[]> next = new HashMap<>(postings);
+        for (String gram : before) {
+            if (!after.contains(gram)) {
+                long[] list = next.get(gram);
+                int at = Arrays.binarySearch(list, id);
+                if (list.length == 1) {
+                    next.remove(gram);
+                } else {
+                    next.put(gram, removed(list, at));
+                }
+            }
+        }
+        for (String gram : after) {
+            if (!before.contains(gram)) {
+                long[] list = next.getOrDefault(gram, new long[0]);
+                next.put(gram, inserted(list, -Arrays.binarySearch(list, id) - 1, id));
+            }
+        }
+        return next;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static long[] inserted(long[] values, int at, long value) {
+        long[] out = new long[values.length + 1];
+        System.arraycopy(values, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(values, at, out, at + 1, values.length - at);
+        return out;
+    }
+
+    private static long[] removed(long[] values, int at) {
+        long[] out = new long[values.length - 1];
+        System.arraycopy(values, 0, out, 0, at);
+        System.arraycopy(values, at + 1, out, at, values.length - at - 1);
+        return out;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] out = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                out[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static final class IdList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
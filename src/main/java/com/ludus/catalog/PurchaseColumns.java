@@ -0,0 +1,214 @@
+package com.ludus.catalog;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Purchases stored as primitive columns: epoch day, price in cents, game id, user id and payment
+ * method ordinal, 25 bytes a row instead of an entity holding a BigDecimal and a LocalDate. Rows
+ * live in fixed-size chunks, so appending never copies existing rows, and {@link #aggregate}
+ * scans the chunks in parallel on the common fork-join pool, each one as a plain loop over its
+ * arrays with no objects touched per row.
+ *
+ * <p>One thread at a time may append while any number of threads aggregate. An aggregation only
+ * reads the rows published by the {@link #size()} its caller read first.
+ */
+final class PurchaseColumns {
+
+    static final int DEFAULT_CHUNK_BITS = 16;
+
+    /**
+     * What {@link #aggregate} groups rows by. A row's key value is 0, its game id, its payment
+     * method ordinal or its epoch day.
+     */
+    enum Key {
+        NONE,
+        GAME,
+        PAYMENT_METHOD,
+        DAY
+    }
+
+    /**
+     * Rows to aggregate. Days are inclusive epoch days; a negative game id, user id or payment
+     * method ordinal matches every row.
+     */
+    record Filter(int fromDay, int toDay, long gameId, long userId, int paymentMethod) {
+    }
+
+    /**
+     * Units and cents per key value. Slot {@code i} holds key value {@code offset + i}.
+     */
+    static final class Totals {
+
+        final int offset;
+        final long[] units;
+        final long[] cents;
+
+        Totals(int offset, int width) {
+            this.offset = offset;
+            this.units = new long[width];
+            this.cents = new long[width];
+        }
+
+        void add(Totals other) {
+            for (int i = 0; i < units.length; i++) {
+                units[i] += other.units[i];
+                cents[i] += other.cents[i];
+            }
+        }
+    }
+
+    private static final class Chunk {
+
+        final int[] days;
+        final long[] cents;
+        final int[] gameIds;
+        final long[] userIds;
+        final byte[] paymentMethods;
+
+        Chunk(int rows) {
+            days = new int[rows];
+            cents = new long[rows];
+            gameIds = new int[rows];
+            userIds = new long[rows];
+            paymentMethods = new byte[rows];
+        }
+    }
+
+    private final int chunkBits;
+    private final int chunkMask;
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+    private volatile int minDay = Integer.MAX_VALUE;
+    private volatile int maxDay = Integer.MIN_VALUE;
+    private volatile int maxGameId;
+
+    PurchaseColumns() {
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * @param chunkBits log2 of the rows per chunk
+     */
+    PurchaseColumns(int chunkBits) {
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1 << chunkBits) - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int minDay() {
+        return minDay;
+    }
+
+    int maxDay() {
+        return maxDay;
+    }
+
+    int maxGameId() {
+        return maxGameId;
+    }
+
+    /**
+     * Appends a row. A game or user id of 0 stands for none.
+     */
+    void append(int day, long cents, int gameId, long userId, byte paymentMethod) {
+        int row = size;
+        Chunk[] current = chunks;
+        int index = row >>> chunkBits;
+        if (index == current.length) {
+            current = Arrays.copyOf(current, index + 1);
+            current[index] = new Chunk(1 << chunkBits);
+            chunks = current;
+        }
+        Chunk chunk = current[index];
+        int i = row & chunkMask;
+        chunk.days[i] = day;
+        chunk.cents[i] = cents;
+        chunk.gameIds[i] = gameId;
+        chunk.userIds[i] = userId;
+        chunk.paymentMethods[i] = paymentMethod;
+
+        if (day < minDay) {
+            minDay = day;
+        }
+        if (day > maxDay) {
+            maxDay = day;
+        }
+        if (gameId > maxGameId) {
+            maxGameId = gameId;
+        }
+        // Publishes the row: readers never look past size.
+        size = row + 1;
+    }
+
+    /**
+     * Units and cents of the first {@code rows} rows that match {@code filter}, grouped by
+     * {@code key}. Every matching row's key value must fall within {@code offset} and
+     * {@code offset + width - 1}.
+     */
+    Totals aggregate(Filter filter, Key key, int offset, int width, int rows) {
+        Chunk[] snapshot = chunks;
+        int chunkCount = (rows + chunkMask) >>> chunkBits;
+        return IntStream.range(0, chunkCount).parallel().collect(
+                () -> new Totals(offset, width),
+                (totals, index) -> scan(snapshot[index], Math.min(rows - (index << chunkBits), chunkMask + 1),
+                        filter, key, totals),
+                Totals::add);
+    }
+
+    private static void scan(Chunk chunk, int rows, Filter filter, Key key, Totals totals) {
+        int[] days = chunk.days;
+        long[] cents = chunk.cents;
+        int[] gameIds = chunk.gameIds;
+        long[] userIds = chunk.userIds;
+        byte[] paymentMethods = chunk.paymentMethods;
+        long[] units = totals.units;
+        long[] sums = totals.cents;
+        int offset = totals.offset;
+
+        int fromDay = filter.fromDay();
+        int toDay = filter.toDay();
+        long gameId = filter.gameId();
+        long userId = filter.userId();
+        int paymentMethod = filter.paymentMethod();
+        boolean anyGame = gameId < 0;
+        boolean anyUser = userId < 0;
+        boolean anyPaymentMethod = paymentMethod < 0;
+
+        if (key == Key.NONE && anyGame && anyUser && anyPaymentMethod) {
+            // The common "everything in a date range" case, kept branch-free so it vectorizes.
+            long count = 0;
+            long sum = 0;
+            for (int i = 0; i < rows; i++) {
+                int day = days[i];
+                long match = day >= fromDay & day <= toDay ? 1 : 0;
+                count += match;
+                sum += cents[i] & -match;
+            }
+            units[0] += count;
+            sums[0] += sum;
+            return;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            int day = days[i];
+            if (day < fromDay || day > toDay
+                    || !anyGame && gameIds[i] != gameId
+                    || !anyUser && userIds[i] != userId
+                    || !anyPaymentMethod && paymentMethods[i] != paymentMethod) {
+                continue;
+            }
+            int slot = switch (key) {
+                case NONE -> 0;
+                case GAME -> gameIds[i];
+                case PAYMENT_METHOD -> paymentMethods[i];
+                case DAY -> day;
+            } - offset;
+            units[slot]++;
+            sums[slot] += cents[i];
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.ludus.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.ludus.catalog.PurchaseColumns.Filter;
+import com.ludus.catalog.PurchaseColumns.Key;
+import com.ludus.catalog.PurchaseColumns.Totals;
+import com.ludus.dtos.responses.SalesStatsDtoResponse;
+import com.ludus.enums.PaymentMethod;
+import com.ludus.enums.SalesGrouping;
+import com.ludus.infra.config.PurchaseLedgerConfig;
+import com.ludus.models.PurchaseModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Every purchase held in memory as primitive columns (see {@link PurchaseColumns}) for ad hoc
+ * admin aggregations that filter on any mix of dates, game, user and payment method. A purchase
+ * takes 25 bytes, so 50M purchases need about 1.25 GB of heap.
+ *
+ * <p>Purchases created up to a couple of minutes ago are read from purchase_model: all of them
+ * in one streamed query on startup, then every {@code purchase-ledger.sync-interval} the ones
+ * created since, which also picks up purchases made on other instances. Purchases made here in
+ * between are kept in a small tail as soon as they commit, and each sync replaces the part of the
+ * tail it has read from purchase_model, so no purchase is counted twice.
+ *
+ * <p>The ledger is off unless {@code purchase-ledger.enabled} is set, since it costs heap in
+ * proportion to every purchase ever made. Off, nothing is loaded or synced and each aggregation
+ * runs as a {@code GROUP BY} over purchase_model instead.
+ */
+@Component
+public class PurchaseLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseLedger.class);
+
+    private static final int TAIL_CHUNK_BITS = 10;
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+    private static final String SELECT_SQL = """
+            SELECT purchase_date - DATE '1970-01-01', CAST(price * 100 AS BIGINT), game_id, user_id,
+                   payment_method
+            FROM purchase_model
+            """;
+    private static final String LOAD_SQL = SELECT_SQL + "WHERE created_at IS NULL OR created_at <= ?";
+    private static final String CATCH_UP_SQL = SELECT_SQL + "WHERE created_at > ? AND created_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PurchaseLedgerConfig purchaseLedgerConfig;
+    private final Object syncLock = new Object();
+    private final Object tailLock = new Object();
+    private final PurchaseColumns stored = new PurchaseColumns();
+    private List<Row> tail = new ArrayList<>();
+    private volatile Instant settledThrough;
+    private volatile View view = new View(0, new PurchaseColumns(TAIL_CHUNK_BITS));
+    private volatile boolean loaded;
+    private ScheduledExecutorService scheduler;
+
+    public PurchaseLedger(DataSource dataSource, PlatformTransactionManager transactionManager,
+            PurchaseLedgerConfig purchaseLedgerConfig) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(purchaseLedgerConfig.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.purchaseLedgerConfig = purchaseLedgerConfig;
+    }
+
+    public boolean isEnabled() {
+        return purchaseLedgerConfig.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        long interval = purchaseLedgerConfig.getSyncInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "purchase-ledger-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (isEnabled() && purchaseLedgerConfig.isWarmOnStartup()) {
+            sync();
+        }
+    }
+
+    public void onPurchased(PurchaseModel purchase) {
+        if (!isEnabled()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            // Read after commit, once the insert has stamped created_at.
+            Row row = Row.of(purchase);
+            synchronized (tailLock) {
+                Instant settled = settledThrough;
+                if (settled == null || row.createdAt().isAfter(settled)) {
+                    tail.add(row);
+                    row.appendTo(view.tail());
+                }
+            }
+        });
+    }
+
+    /**
+     * Units sold and revenue of the purchases matching every non-null filter, grouped by
+     * {@code grouping}. Games and payment methods come highest revenue first, days and months
+     * oldest first.
+     */
+    public List<SalesStatsDtoResponse> aggregate(SalesGrouping grouping, LocalDate from, LocalDate to, Long gameId,
+            Long userId, PaymentMethod paymentMethod) {
+        if (!isEnabled()) {
+            return aggregateInDatabase(grouping, from, to, gameId, userId, paymentMethod);
+        }
+        if (!loaded) {
+            sync();
+        }
+        View current = view;
+        PurchaseColumns tailColumns = current.tail();
+        int tailRows = tailColumns.size();
+        Filter filter = new Filter(
+                from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE,
+                to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE,
+                gameId != null ? gameId : -1,
+                userId != null ? userId : -1,
+                paymentMethod != null ? paymentMethod.ordinal() : -1);
+
+        Key key = switch (grouping) {
+            case TOTAL -> Key.NONE;
+            case GAME -> Key.GAME;
+            case PAYMENT_METHOD -> Key.PAYMENT_METHOD;
+            case DAY, MONTH -> Key.DAY;
+        };
+        int offset = 0;
+        int width = switch (key) {
+            case NONE -> 1;
+            case GAME -> Math.max(stored.maxGameId(), tailColumns.maxGameId()) + 1;
+            case PAYMENT_METHOD -> PAYMENT_METHODS.length;
+            case DAY -> {
+                offset = Math.max(filter.fromDay(), Math.min(stored.minDay(), tailColumns.minDay()));
+                int last = Math.min(filter.toDay(), Math.max(stored.maxDay(), tailColumns.maxDay()));
+                yield (int) Math.max(0, (long) last - offset + 1);
+            }
+        };
+
+        long start = System.nanoTime();
+        Totals totals = stored.aggregate(filter, key, offset, width, current.storedRows());
+        totals.add(tailColumns.aggregate(filter, key, offset, width, tailRows));
+        log.debug("Aggregated {} purchases by {} in {} ms", current.storedRows() + tailRows, grouping,
+                (System.nanoTime() - start) / 1_000_000);
+        return toDTOs(grouping, totals);
+    }
+
+    /**
+     * Reads the purchases created since the last sync, up to a couple of minutes ago, and drops
+     * them from the tail. The first call reads every purchase up to then.
+     */
+    public void sync() {
+        synchronized (syncLock) {
+            long start = System.nanoTime();
+            Instant settled = Instant.now().minus(TopSellers.SETTLE_MINUTES, ChronoUnit.MINUTES);
+            Instant previous = settledThrough;
+            int before = stored.size();
+            if (previous == null) {
+                read(LOAD_SQL, Timestamp.from(settled));
+            } else if (settled.isAfter(previous)) {
+                read(CATCH_UP_SQL, Timestamp.from(previous), Timestamp.from(settled));
+            } else {
+                return;
+            }
+
+            synchronized (tailLock) {
+                List<Row> unsettled = new ArrayList<>();
+                PurchaseColumns tailColumns = new PurchaseColumns(TAIL_CHUNK_BITS);
+                for (Row row : tail) {
+                    if (row.createdAt().isAfter(settled)) {
+                        unsettled.add(row);
+                        row.appendTo(tailColumns);
+                    }
+                }
+                tail = unsettled;
+                view = new View(stored.size(), tailColumns);
+                settledThrough = settled;
+            }
+            if (!loaded) {
+                loaded = true;
+                log.info("Purchase ledger loaded {} purchases in {} ms", stored.size() - before,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * The same rows as {@link #aggregate}, in the same order, computed by purchase_model while the
+     * ledger is off.
+     */
+    private List<SalesStatsDtoResponse> aggregateInDatabase(SalesGrouping grouping, LocalDate from, LocalDate to,
+            Long gameId, Long userId, PaymentMethod paymentMethod) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            where.append(" AND purchase_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            where.append(" AND purchase_date <= ?");
+            args.add(to);
+        }
+        if (gameId != null) {
+            where.append(" AND game_id = ?");
+            args.add(gameId);
+        }
+        if (userId != null) {
+            where.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (paymentMethod != null) {
+            where.append(" AND payment_method = ?");
+            args.add(paymentMethod.name());
+        }
+        if (grouping == SalesGrouping.GAME) {
+            where.append(" AND game_id IS NOT NULL");
+        }
+        String column = switch (grouping) {
+            case TOTAL -> null;
+            case GAME -> "game_id";
+            case PAYMENT_METHOD -> "payment_method";
+            case DAY -> "purchase_date";
+            case MONTH -> "CAST(date_trunc('month', purchase_date) AS date)";
+        };
+        String sql = "SELECT " + (column != null ? column : "'total'") + ", COUNT(*), COALESCE(SUM(price), 0)"
+                + " FROM purchase_model" + where;
+        if (column != null) {
+            boolean byTime = grouping == SalesGrouping.DAY || grouping == SalesGrouping.MONTH;
+            sql += " GROUP BY " + column + (byTime ? " ORDER BY 1" : " ORDER BY 3 DESC, 2 DESC");
+        }
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            String key = switch (grouping) {
+                case DAY -> rs.getObject(1, LocalDate.class).toString();
+                case MONTH -> YearMonth.from(rs.getObject(1, LocalDate.class)).toString();
+                default -> rs.getString(1);
+            };
+            return new SalesStatsDtoResponse(key, rs.getLong(2), rs.getBigDecimal(3).setScale(2, RoundingMode.HALF_UP));
+        }, args.toArray());
+    }
+
+    private void read(String sql, Object... args) {
+        // Streamed in a read-only transaction so the driver honours the fetch size.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, (ResultSet rs) -> {
+            stored.append(rs.getInt(1), rs.getLong(2), rs.getInt(3), rs.getLong(4),
+                    (byte) PaymentMethod.valueOf(rs.getString(5)).ordinal());
+        }, args));
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Purchase ledger sync failed, retrying in {}", purchaseLedgerConfig.getSyncInterval(), e);
+        }
+    }
+
+    private static List<SalesStatsDtoResponse> toDTOs(SalesGrouping grouping, Totals totals) {
+        if (grouping == SalesGrouping.TOTAL) {
+            return List.of(new SalesStatsDtoResponse("total", totals.units[0], revenue(totals.cents[0])));
+        }
+        if (grouping == SalesGrouping.MONTH) {
+            Map<YearMonth, long[]> months = new TreeMap<>();
+            for (int i = 0; i < totals.units.length; i++) {
+                if (totals.units[i] > 0) {
+                    long[] month = months.computeIfAbsent(YearMonth.from(LocalDate.ofEpochDay(totals.offset + i)),
+                            m -> new long[2]);
+                    month[0] += totals.units[i];
+                    month[1] += totals.cents[i];
+                }
+            }
+            List<SalesStatsDtoResponse> rows = new ArrayList<>(months.size());
+            months.forEach((month, sums) -> rows.add(new SalesStatsDtoResponse(month.toString(), sums[0],
+                    revenue(sums[1]))));
+            return rows;
+        }
+
+        List<SalesStatsDtoResponse> rows = new ArrayList<>();
+        for (int i = 0; i < totals.units.length; i++) {
+            int value = totals.offset + i;
+            // Game id 0 holds purchases without a game.
+            if (totals.units[i] == 0 || grouping == SalesGrouping.GAME && value == 0) {
+                continue;
+            }
+            String key = switch (grouping) {
+                case GAME -> String.valueOf(value);
+                case PAYMENT_METHOD -> PAYMENT_METHODS[value].name();
+                default -> LocalDate.ofEpochDay(value).toString();
+            };
+            rows.add(new SalesStatsDtoResponse(key, totals.units[i], revenue(totals.cents[i])));
+        }
+        if (grouping != SalesGrouping.DAY) {
+            rows.sort(Comparator.comparing(SalesStatsDtoResponse::revenue).reversed()
+                    .thenComparing(SalesStatsDtoResponse::units, Comparator.reverseOrder()));
+        }
+        return rows;
+    }
+
+    private static BigDecimal revenue(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * What an aggregation reads: the first {@code storedRows} stored rows and the tail.
+     */
+    private record View(int storedRows, PurchaseColumns tail) {
+    }
+
+    private record Row(Instant createdAt, int day, long cents, int gameId, long userId, byte paymentMethod) {
+
+        static Row of(PurchaseModel purchase) {
+            Instant createdAt = purchase.getCreatedAt() != null ? purchase.getCreatedAt() : Instant.now();
+            return new Row(createdAt, (int) purchase.getPurchaseDate().toEpochDay(),
+                    purchase.getPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact(),
+                    purchase.getGame() != null ? Math.toIntExact(purchase.getGame().getId()) : 0,
+                    purchase.getUser() != null ? purchase.getUser().getId() : 0,
+                    (byte) purchase.getPaymentMethod().ordinal());
+        }
+
+        void appendTo(PurchaseColumns columns) {
+            columns.append(day, cents, gameId, userId, paymentMethod);
+        }
+    }
+}
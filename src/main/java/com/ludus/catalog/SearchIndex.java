@@ -0,0 +1,442 @@
+package com.ludus.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import com.ludus.dtos.responses.GameDtoResponse;
+
+/**
+ * Inverted index over game name, genre and platform, ranked with BM25. Besides exact terms, the
+ * last query term also matches the terms it is a prefix of (search-as-you-type) and every query
+ * term matches the terms one edit away. Typo candidates come from a deletion neighbourhood, so
+ * they are looked up instead of compared against the whole vocabulary.
+ *
+ * <p>Not thread-safe; {@link GameSearchIndex} guards it.
+ */
+final class SearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    static final float ATTRIBUTE_WEIGHT = 0.5f;
+    static final float PREFIX_WEIGHT = 0.8f;
+    static final float FUZZY_WEIGHT = 0.5f;
+    static final int PREFIX_MIN_LENGTH = 2;
+    static final int FUZZY_MIN_LENGTH = 4;
+    static final int MAX_QUERY_TERMS = 16;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final int maxExpansions;
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TreeSet<String> terms = new TreeSet<>();
+    private final Map<String, String[]> neighbours = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private GameDtoResponse[] docs = new GameDtoResponse[16];
+    private long[] ids = new long[16];
+    private float[] lengths = new float[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private double totalLength;
+
+    SearchIndex(int maxExpansions) {
+        this.maxExpansions = maxExpansions;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Adds the game, replacing any entry with the same id.
+     */
+    void put(GameDtoResponse game) {
+        remove(game.id());
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        if (slot == docs.length) {
+            docs = Arrays.copyOf(docs, slot * 2);
+            ids = Arrays.copyOf(ids, slot * 2);
+            lengths = Arrays.copyOf(lengths, slot * 2);
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> term : termFrequencies(game).entrySet()) {
+            Postings list = postings.get(term.getKey());
+            if (list == null) {
+                list = new Postings();
+                postings.put(term.getKey(), list);
+                addTerm(term.getKey());
+            }
+            list.add(slot, term.getValue());
+            length += term.getValue();
+        }
+
+        docs[slot] = game;
+        ids[slot] = game.id();
+        lengths[slot] = length;
+        totalLength += length;
+        slots.put(game.id(), slot);
+    }
+
+    void remove(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String term : termFrequencies(docs[slot]).keySet()) {
+            Postings list = postings.get(term);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+                removeTerm(term);
+            }
+        }
+        totalLength -= lengths[slot];
+        docs[slot] = null;
+        lengths[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Matching games, best first; ties go to the lower id. Each query term contributes to a game's
+     * score once, through its best kind of match: exact, then prefix, then typo.
+     */
+    Page<GameDtoResponse> search(String query, Pageable pageable) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+        if (queryTerms.isEmpty() || slots.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Scratch scratch = SCRATCH.get().ensureCapacity(slotCount);
+        try {
+            return rank(queryTerms, pageable, scratch);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private Page<GameDtoResponse> rank(List<String> queryTerms, Pageable pageable, Scratch scratch) {
+        int documents = slots.size();
+        float averageLength = (float) (totalLength / documents);
+        float[] scores = scratch.scores;
+        int[] scoredBy = scratch.scoredBy;
+
+        for (int i = 0; i < queryTerms.size(); i++) {
+            int stamp = i + 1;
+            for (Map.Entry<String, Float> expansion : expand(queryTerms.get(i), i == queryTerms.size() - 1).entrySet()) {
+                Postings list = postings.get(expansion.getKey());
+                float idf = (float) Math.log(1 + (documents - list.size + 0.5) / (list.size + 0.5));
+                float weight = expansion.getValue() * idf;
+                for (int p = 0; p < list.size; p++) {
+                    int slot = list.slots[p];
+                    if (scoredBy[slot] == stamp) {
+                        continue;
+                    }
+                    scoredBy[slot] = stamp;
+                    if (scores[slot] == 0) {
+                        scratch.touch(slot);
+                    }
+                    float tf = list.frequencies[p];
+                    scores[slot] += weight * tf * (K1 + 1)
+                            / (tf + K1 * (1 - B + B * lengths[slot] / averageLength));
+                }
+            }
+        }
+
+        int matches = scratch.touchedCount;
+        long wanted = Math.min(pageable.getOffset() + pageable.getPageSize(), matches);
+        if (pageable.getOffset() >= wanted) {
+            return new PageImpl<>(List.of(), pageable, matches);
+        }
+        int[] ranked = top(scratch.touched, matches, (int) wanted, scores);
+        List<GameDtoResponse> content = new ArrayList<>(ranked.length - (int) pageable.getOffset());
+        for (int i = (int) pageable.getOffset(); i < ranked.length; i++) {
+            content.add(docs[ranked[i]]);
+        }
+        return new PageImpl<>(content, pageable, matches);
+    }
+
+    /**
+     * Indexed terms the query term stands for, with the weight of each kind of match.
+     */
+    private Map<String, Float> expand(String term, boolean last) {
+        Map<String, Float> expansions = new LinkedHashMap<>();
+        if (postings.containsKey(term)) {
+            expansions.put(term, 1f);
+        }
+        if (last && term.length() >= PREFIX_MIN_LENGTH) {
+            List<String> completions = new ArrayList<>(
+                    terms.subSet(term, false, term + Character.MAX_VALUE, false));
+            for (String completion : mostFrequent(completions)) {
+                expansions.put(completion, PREFIX_WEIGHT);
+            }
+        }
+        if (term.length() >= FUZZY_MIN_LENGTH) {
+            Set<String> candidates = new LinkedHashSet<>();
+            for (String variant : deletions(term)) {
+                String[] indexed = neighbours.get(variant);
+                if (indexed != null) {
+                    for (String candidate : indexed) {
+                        if (!expansions.containsKey(candidate) && withinOneEdit(term, candidate)) {
+                            candidates.add(candidate);
+                        }
+                    }
+                }
+            }
+            for (String candidate : mostFrequent(new ArrayList<>(candidates))) {
+                expansions.put(candidate, FUZZY_WEIGHT);
+            }
+        }
+        return expansions;
+    }
+
+    private List<String> mostFrequent(List<String> candidates) {
+        if (candidates.size() > maxExpansions) {
+            candidates.sort(Comparator.comparingInt((String candidate) -> postings.get(candidate).size).reversed());
+            return candidates.subList(0, maxExpansions);
+        }
+        return candidates;
+    }
+
+    private void addTerm(String term) {
+        terms.add(term);
+        for (String variant : deletions(term)) {
+            String[] indexed = neighbours.get(variant);
+            if (indexed == null) {
+                neighbours.put(variant, new String[] {term});
+            } else {
+                String[] grown = Arrays.copyOf(indexed, indexed.length + 1);
+                grown[indexed.length] = term;
+                neighbours.put(variant, grown);
+            }
+        }
+    }
+
+    private void removeTerm(String term) {
+        terms.remove(term);
+        for (String variant : deletions(term)) {
+            String[] indexed = neighbours.get(variant);
+            if (indexed == null) {
+                continue;
+            }
+            String[] remaining = Arrays.stream(indexed).filter(t -> !t.equals(term)).toArray(String[]::new);
+            if (remaining.length == 0) {
+                neighbours.remove(variant);
+            } else {
+                neighbours.put(variant, remaining);
+            }
+        }
+    }
+
+    /**
+     * The term itself plus every string one deletion away. Two terms within one edit of each other
+     * always share one of these.
+     */
+    private static Set<String> deletions(String term) {
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(term);
+        if (term.length() >= FUZZY_MIN_LENGTH - 1) {
+            for (int i = 0; i < term.length(); i++) {
+                variants.add(term.substring(0, i) + term.substring(i + 1));
+            }
+        }
+        return variants;
+    }
+
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        String shorter = a.length() <= b.length() ? a : b;
+        String longer = a.length() <= b.length() ? b : a;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        if (shorter.length() == longer.length()) {
+            return shorter.regionMatches(i + 1, longer, i + 1, shorter.length() - i - 1);
+        }
+        return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+    }
+
+    private Map<String, Float> termFrequencies(GameDtoResponse game) {
+        Map<String, Float> frequencies = new HashMap<>();
+        for (String token : tokenize(game.name())) {
+            frequencies.merge(token, 1f, Float::sum);
+        }
+        for (String token : tokenize(game.genre())) {
+            frequencies.merge(token, ATTRIBUTE_WEIGHT, Float::sum);
+        }
+        for (String token : tokenize(game.platform())) {
+            frequencies.merge(token, ATTRIBUTE_WEIGHT, Float::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * The {@code k} best of the first {@code count} slots, best first, using a bounded min-heap so
+     * large result sets are never fully sorted.
+     */
+    private int[] top(int[] candidates, int count, int k, float[] scores) {
+        int[] heap = new int[k];
+        int size = 0;
+        for (int c = 0; c < count; c++) {
+            int slot = candidates[c];
+            if (size < k) {
+                heap[size] = slot;
+                siftUp(heap, size++, scores);
+            } else if (ranksBefore(slot, heap[0], scores)) {
+                heap[0] = slot;
+                siftDown(heap, size, scores);
+            }
+        }
+        int[] ranked = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return ranked;
+    }
+
+    private boolean ranksBefore(int left, int right, float[] scores) {
+        if (scores[left] != scores[right]) {
+            return scores[left] > scores[right];
+        }
+        return ids[left] < ids[right];
+    }
+
+    private void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(heap[worst], heap[left], scores)) {
+                worst = left;
+            }
+            if (right < size && ranksBefore(heap[worst], heap[right], scores)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    /**
+     * Per-thread accumulators reused across searches. Only the touched entries are reset, so a
+     * query costs time in proportion to its matches rather than to the catalog size.
+     */
+    private static final class Scratch {
+        private float[] scores = new float[0];
+        private int[] scoredBy = new int[0];
+        private int[] touched = new int[16];
+        private int touchedCount;
+
+        Scratch ensureCapacity(int capacity) {
+            if (scores.length < capacity) {
+                scores = new float[capacity];
+                scoredBy = new int[capacity];
+            }
+            return this;
+        }
+
+        void touch(int slot) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = slot;
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+                scoredBy[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int slot, float frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size++] = frequency;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
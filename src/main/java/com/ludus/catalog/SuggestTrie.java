@@ -0,0 +1,308 @@
+package com.ludus.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radix trie from normalized name keys to games, where every node with more than
+ * {@code k} games below it caches its best {@code k}. A lookup walks the prefix and returns that
+ * cached list, so its cost does not depend on how many names share the prefix.
+ *
+ * <p>Writes copy only the nodes on the path to the changed key and return a new trie, so readers
+ * of the old one never need a lock.
+ */
+final class SuggestTrie {
+
+    /**
+     * A suggestable game. Ranked by popularity, then by id.
+     */
+    record Entry(long id, String name, String platform, long popularity) {
+    }
+
+    static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::popularity).reversed()
+            .thenComparingLong(Entry::id);
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final String[] NO_LABELS = new String[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Node root;
+    private final int k;
+
+    private SuggestTrie(Node root, int k) {
+        this.root = root;
+        this.k = k;
+    }
+
+    static SuggestTrie empty(int k) {
+        return new SuggestTrie(null, k);
+    }
+
+    /**
+     * Builds the trie bottom-up from every (key, entry) pair at once, which is far cheaper than
+     * inserting them one by one.
+     */
+    static SuggestTrie build(List<String> keys, List<Entry> entries, int k) {
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keys::get));
+        String[] sortedKeys = new String[order.length];
+        Entry[] sortedEntries = new Entry[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys.get(order[i]);
+            sortedEntries[i] = entries.get(order[i]);
+        }
+        SuggestTrie builder = empty(k);
+        return sortedKeys.length == 0 ? builder
+                : new SuggestTrie(builder.build(sortedKeys, sortedEntries, 0, sortedKeys.length, 0), k);
+    }
+
+    /**
+     * Best games with a key starting with {@code prefix}, at most {@code k}.
+     */
+    List<Entry> lookup(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (node != null && position < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            String label = node.labels[index];
+            int common = commonPrefix(label, prefix, position);
+            if (common < label.length() && position + common < prefix.length()) {
+                return List.of();
+            }
+            position += common;
+            node = node.children[index];
+        }
+        return node == null ? List.of() : List.of(best(node));
+    }
+
+    SuggestTrie insert(String key, Entry entry) {
+        return new SuggestTrie(insert(root, key, 0, entry), k);
+    }
+
+    SuggestTrie remove(String key, long id) {
+        return root == null ? this : new SuggestTrie(remove(root, key, 0, id), k);
+    }
+
+    private Node build(String[] keys, Entry[] entries, int from, int to, int depth) {
+        int position = from;
+        while (position < to && keys[position].length() == depth) {
+            position++;
+        }
+        Entry[] terminal = Arrays.copyOfRange(entries, from, position);
+
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        while (position < to) {
+            char first = keys[position].charAt(depth);
+            int end = position;
+            while (end < to && keys[end].charAt(depth) == first) {
+                end++;
+            }
+            String lowest = keys[position];
+            String highest = keys[end - 1];
+            int shared = depth + commonPrefix(highest.substring(depth), lowest, depth);
+            labels.add(lowest.substring(depth, shared));
+            children.add(build(keys, entries, position, end, shared));
+            position = end;
+        }
+        return node(labels.toArray(NO_LABELS), children.toArray(NO_CHILDREN), terminal);
+    }
+
+    private Node insert(Node node, String key, int position, Entry entry) {
+        if (node == null) {
+            return position == key.length()
+                    ? node(NO_LABELS, NO_CHILDREN, new Entry[] {entry})
+                    : node(new String[] {key.substring(position)},
+                            new Node[] {node(NO_LABELS, NO_CHILDREN, new Entry[] {entry})}, NO_ENTRIES);
+        }
+        if (position == key.length()) {
+            Entry[] terminal = Arrays.copyOf(node.entries, node.entries.length + 1);
+            terminal[node.entries.length] = entry;
+            return node(node.labels, node.children, terminal);
+        }
+
+        int index = node.childIndex(key.charAt(position));
+        if (index < 0) {
+            return withChild(node, -(index + 1), key.substring(position), insert(null, key, key.length(), entry),
+                    true);
+        }
+        String label = node.labels[index];
+        int common = commonPrefix(label, key, position);
+        if (common == label.length()) {
+            return withChild(node, index, label, insert(node.children[index], key, position + common, entry), false);
+        }
+
+        // The key leaves the edge part way along: split it at the divergence point.
+        Node lower = node(new String[] {label.substring(common)}, new Node[] {node.children[index]}, NO_ENTRIES);
+        Node split = insert(lower, key, position + common, entry);
+        return withChild(node, index, label.substring(0, common), split, false);
+    }
+
+    private Node remove(Node node, String key, int position, long id) {
+        if (position == key.length()) {
+            Entry[] terminal = Arrays.stream(node.entries).filter(e -> e.id() != id).toArray(Entry[]::new);
+            if (terminal.length == node.entries.length) {
+                return node;
+            }
+            return compact(node.labels, node.children, terminal);
+        }
+
+        int index = node.childIndex(key.charAt(position));
+        if (index < 0 || !key.startsWith(node.labels[index], position)) {
+            return node;
+        }
+        Node child = node.children[index];
+        Node updated = remove(child, key, position + node.labels[index].length(), id);
+        if (updated == child) {
+            return node;
+        }
+        if (updated == null) {
+            String[] labels = new String[node.labels.length - 1];
+            Node[] children = new Node[node.children.length - 1];
+            System.arraycopy(node.labels, 0, labels, 0, index);
+            System.arraycopy(node.labels, index + 1, labels, index, labels.length - index);
+            System.arraycopy(node.children, 0, children, 0, index);
+            System.arraycopy(node.children, index + 1, children, index, children.length - index);
+            return compact(labels, children, node.entries);
+        }
+        if (updated.entries.length == 0 && updated.children.length == 1) {
+            // Merge the edge with its only remaining child to keep the trie compressed.
+            return withChild(node, index, node.labels[index] + updated.labels[0], updated.children[0], false);
+        }
+        return withChild(node, index, node.labels[index], updated, false);
+    }
+
+    private Node compact(String[] labels, Node[] children, Entry[] terminal) {
+        if (terminal.length == 0 && children.length == 0) {
+            return null;
+        }
+        return node(labels, children, terminal);
+    }
+
+    private Node withChild(Node node, int index, String label, Node child, boolean inserted) {
+        String[] labels;
+        Node[] children;
+        if (inserted) {
+            labels = new String[node.labels.length + 1];
+            children = new Node[node.children.length + 1];
+            System.arraycopy(node.labels, 0, labels, 0, index);
+            System.arraycopy(node.labels, index, labels, index + 1, node.labels.length - index);
+            System.arraycopy(node.children, 0, children, 0, index);
+            System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        } else {
+            labels = node.labels.clone();
+            children = node.children.clone();
+        }
+        labels[index] = label;
+        children[index] = child;
+        return node(labels, children, node.entries);
+    }
+
+    private Node node(String[] labels, Node[] children, Entry[] terminal) {
+        int count = terminal.length;
+        for (Node child : children) {
+            count += child.count;
+        }
+        Node node = new Node(labels, children, terminal, count, null);
+        return count > k ? new Node(labels, children, terminal, count, collect(node)) : node;
+    }
+
+    private Entry[] best(Node node) {
+        return node.top != null ? node.top : collect(node);
+    }
+
+    /**
+     * Best {@code k} distinct games below {@code node}. Each child's best list is already ranked, so
+     * this is a k-way merge of those heads plus the node's own entries.
+     */
+    private Entry[] collect(Node node) {
+        Entry[][] lists = new Entry[node.children.length + 1][];
+        lists[0] = node.entries.clone();
+        Arrays.sort(lists[0], RANKING);
+        for (int i = 0; i < node.children.length; i++) {
+            lists[i + 1] = best(node.children[i]);
+        }
+
+        int[] heads = new int[lists.length];
+        List<Entry> top = new ArrayList<>(k);
+        while (top.size() < k) {
+            int chosen = -1;
+            for (int i = 0; i < lists.length; i++) {
+                if (heads[i] < lists[i].length
+                        && (chosen < 0 || RANKING.compare(lists[i][heads[i]], lists[chosen][heads[chosen]]) < 0)) {
+                    chosen = i;
+                }
+            }
+            if (chosen < 0) {
+                break;
+            }
+            Entry entry = lists[chosen][heads[chosen]++];
+            if (!contains(top, entry.id())) {
+                top.add(entry);
+            }
+        }
+        return top.toArray(NO_ENTRIES);
+    }
+
+    private static boolean contains(List<Entry> entries, long id) {
+        for (Entry entry : entries) {
+            if (entry.id() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private final String[] labels;
+        private final Node[] children;
+        private final Entry[] entries;
+        private final int count;
+        private final Entry[] top;
+
+        Node(String[] labels, Node[] children, Entry[] entries, int count, Entry[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.entries = entries;
+            this.count = count;
+            this.top = top;
+        }
+
+        /**
+         * Index of the edge starting with {@code c}, or {@code -(insertion point + 1)}.
+         */
+        int childIndex(char c) {
+            int low = 0;
+            int high = labels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = labels[mid].charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
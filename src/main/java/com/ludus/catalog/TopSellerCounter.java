@@ -0,0 +1,166 @@
+package com.ludus.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Purchases per game over sliding windows of whole minutes. A ring of per-minute buckets covers
+ * the largest window, and every window keeps a running total per game: a purchase is added to
+ * each total, and a minute's bucket is subtracted from a total when it ages out of that window.
+ * Totals are therefore always current without rescanning the ring.
+ *
+ * <p>Minutes are counted since the epoch. Not thread-safe.
+ */
+final class TopSellerCounter {
+
+    /**
+     * A game and its purchases in a window. Ranked by purchases, then by id.
+     */
+    record Ranked(long gameId, long units) {
+    }
+
+    static final Comparator<Ranked> RANKING = Comparator.comparingLong(Ranked::units).reversed()
+            .thenComparingLong(Ranked::gameId);
+
+    private final int[] windows;
+    private final int span;
+    private final List<Map<Long, Long>> buckets;
+    private final long[] bucketMinutes;
+    private final List<Map<Long, Long>> totals;
+    private long now;
+
+    /**
+     * @param windows window lengths in minutes; {@link #top} takes an index into this array
+     */
+    TopSellerCounter(long now, int... windows) {
+        this.windows = windows.clone();
+        this.span = Arrays.stream(windows).max().orElseThrow();
+        this.buckets = new ArrayList<>(Collections.nCopies(span, null));
+        this.bucketMinutes = new long[span];
+        Arrays.fill(bucketMinutes, Long.MIN_VALUE);
+        this.totals = new ArrayList<>(windows.length);
+        for (int i = 0; i < windows.length; i++) {
+            totals.add(new HashMap<>());
+        }
+        this.now = now;
+    }
+
+    long now() {
+        return now;
+    }
+
+    int span() {
+        return span;
+    }
+
+    /**
+     * Moves the clock forward to {@code minute}, taking the minutes that leave each window out of
+     * its totals. Moving backwards does nothing.
+     */
+    void advance(long minute) {
+        if (minute <= now) {
+            return;
+        }
+        if (minute - now >= span) {
+            Collections.fill(buckets, null);
+            totals.forEach(Map::clear);
+            now = minute;
+            return;
+        }
+        for (long m = now + 1; m <= minute; m++) {
+            for (int i = 0; i < windows.length; i++) {
+                Map<Long, Long> expired = bucket(m - windows[i]);
+                if (expired != null) {
+                    Map<Long, Long> total = totals.get(i);
+                    expired.forEach((gameId, units) -> add(total, gameId, -units));
+                }
+            }
+            // The slot held m - span, which has just left the largest window.
+            buckets.set(slot(m), null);
+        }
+        now = minute;
+    }
+
+    /**
+     * Counts {@code units} purchases of {@code gameId} at {@code minute}, advancing the clock if
+     * the minute is ahead of it. Negative units take purchases back. Minutes that are outside
+     * every window are ignored.
+     */
+    void add(long minute, long gameId, long units) {
+        advance(minute);
+        if (units == 0 || minute <= now - span) {
+            return;
+        }
+        Map<Long, Long> bucket = bucket(minute);
+        if (bucket == null) {
+            bucket = new HashMap<>();
+            buckets.set(slot(minute), bucket);
+            bucketMinutes[slot(minute)] = minute;
+        }
+        add(bucket, gameId, units);
+        for (int i = 0; i < windows.length; i++) {
+            if (minute > now - windows[i]) {
+                add(totals.get(i), gameId, units);
+            }
+        }
+    }
+
+    /**
+     * Replaces everything counted at {@code minute} with {@code counts}, by game id.
+     */
+    void replace(long minute, Map<Long, Long> counts) {
+        Map<Long, Long> previous = counts(minute);
+        counts.forEach((gameId, units) -> add(minute, gameId, units - previous.getOrDefault(gameId, 0L)));
+        previous.forEach((gameId, units) -> {
+            if (!counts.containsKey(gameId)) {
+                add(minute, gameId, -units);
+            }
+        });
+    }
+
+    /**
+     * Purchases counted at {@code minute}, by game id.
+     */
+    Map<Long, Long> counts(long minute) {
+        Map<Long, Long> bucket = bucket(minute);
+        return bucket == null ? Map.of() : new HashMap<>(bucket);
+    }
+
+    /**
+     * Best {@code k} games in window {@code window}, found with a bounded heap over its totals.
+     */
+    List<Ranked> top(int window, int k) {
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        for (Map.Entry<Long, Long> entry : totals.get(window).entrySet()) {
+            Ranked ranked = new Ranked(entry.getKey(), entry.getValue());
+            if (heap.size() < k) {
+                heap.add(ranked);
+            } else if (RANKING.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
+        List<Ranked> top = new ArrayList<>(heap);
+        top.sort(RANKING);
+        return top;
+    }
+
+    private Map<Long, Long> bucket(long minute) {
+        int slot = slot(minute);
+        return bucketMinutes[slot] == minute ? buckets.get(slot) : null;
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) span);
+    }
+
+    private static void add(Map<Long, Long> counts, long gameId, long units) {
+        counts.merge(gameId, units, (current, delta) -> current + delta == 0 ? null : current + delta);
+    }
+}
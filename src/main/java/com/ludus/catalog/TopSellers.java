@@ -0,0 +1,240 @@
+package com.ludus.catalog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.ludus.catalog.TopSellerCounter.Ranked;
+import com.ludus.dtos.responses.TopSellerDtoResponse;
+import com.ludus.enums.TopSellerWindow;
+import com.ludus.infra.config.TopSellersConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+import com.ludus.repositories.PurchaseRepository;
+import com.ludus.repositories.TopSellerBucketRepository;
+import com.ludus.repositories.projections.MinuteSales;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Best-selling games over the last hour, day and week, counted in memory per minute. Purchases
+ * are counted once their transaction commits. Reads return a leaderboard that is ranked at most
+ * once per {@code top-sellers.refresh-interval}, so a request never scans counters or purchases.
+ *
+ * <p>Every {@code top-sellers.snapshot-interval} the recent minutes are recounted from
+ * purchase_model, which also picks up purchases made on other instances, and minutes old enough
+ * to be final are saved to top_seller_bucket. On startup the saved minutes are loaded and only
+ * the purchases made since are counted from purchase_model.
+ */
+@Component
+public class TopSellers {
+
+    // A minute is final once every purchase stamped with it has had time to commit.
+    static final int SETTLE_MINUTES = 2;
+
+    private static final Logger log = LoggerFactory.getLogger(TopSellers.class);
+
+    private final PurchaseRepository purchaseRepository;
+    private final TopSellerBucketRepository topSellerBucketRepository;
+    private final GameRepository gameRepository;
+    private final TopSellersConfig topSellersConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Object syncLock = new Object();
+    private final Object refreshLock = new Object();
+    private final TopSellerCounter counter;
+    private boolean loaded;
+    private long settledThrough;
+    private volatile Leaderboard leaderboard;
+    private ScheduledExecutorService scheduler;
+
+    public TopSellers(PurchaseRepository purchaseRepository, TopSellerBucketRepository topSellerBucketRepository,
+            GameRepository gameRepository, TopSellersConfig topSellersConfig,
+            PlatformTransactionManager transactionManager) {
+        this.purchaseRepository = purchaseRepository;
+        this.topSellerBucketRepository = topSellerBucketRepository;
+        this.gameRepository = gameRepository;
+        this.topSellersConfig = topSellersConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int[] windows = new int[TopSellerWindow.values().length];
+        for (TopSellerWindow window : TopSellerWindow.values()) {
+            windows[window.ordinal()] = window.getMinutes();
+        }
+        this.counter = new TopSellerCounter(currentMinute(), windows);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = topSellersConfig.getSnapshotInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "top-sellers-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (topSellersConfig.isWarmOnStartup()) {
+            sync();
+        }
+    }
+
+    /**
+     * Best sellers in {@code window}, at most {@code limit} of them.
+     */
+    public List<TopSellerDtoResponse> top(TopSellerWindow window, int limit) {
+        Leaderboard current = leaderboard;
+        if (current == null || current.isStale(topSellersConfig.getRefreshInterval().toNanos())) {
+            current = refresh();
+        }
+        List<TopSellerDtoResponse> ranked = current.windows().get(window.ordinal());
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    public void onPurchased(Long gameId) {
+        AfterCommit.run(() -> {
+            synchronized (counter) {
+                counter.add(currentMinute(), gameId, 1);
+            }
+        });
+    }
+
+    /**
+     * Recounts every minute that is not final yet from purchase_model and saves the ones that
+     * have become final. The first call loads the saved minutes instead of recounting them.
+     */
+    public void sync() {
+        synchronized (syncLock) {
+            long start = System.nanoTime();
+            long minute = currentMinute();
+            if (!loaded) {
+                settledThrough = load(minute);
+            }
+            long from = Math.max(settledThrough + 1, minute - counter.span() + 1);
+            long settled = minute - SETTLE_MINUTES;
+
+            TreeMap<Long, Map<Long, Long>> recounted = new TreeMap<>();
+            for (MinuteSales row : purchaseRepository.countPurchasesByMinuteSince(Instant.ofEpochSecond(from * 60))) {
+                recounted.computeIfAbsent(row.minute(), m -> new HashMap<>()).put(row.gameId(), row.units());
+            }
+            synchronized (counter) {
+                counter.advance(minute);
+                for (long m = from; m <= minute; m++) {
+                    counter.replace(m, recounted.getOrDefault(m, Map.of()));
+                }
+            }
+
+            if (settled >= from) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    recounted.subMap(from, true, settled, true).forEach((m, counts) ->
+                            counts.forEach((gameId, units) -> topSellerBucketRepository.put(m, gameId, units)));
+                    topSellerBucketRepository.deleteUpTo(minute - counter.span());
+                });
+                settledThrough = settled;
+            }
+            if (!loaded) {
+                loaded = true;
+                log.info("Top sellers loaded through minute {} in {} ms", minute,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    private long load(long minute) {
+        long after = minute - counter.span();
+        TreeMap<Long, Map<Long, Long>> saved = new TreeMap<>();
+        for (MinuteSales row : topSellerBucketRepository.findAfter(after)) {
+            saved.computeIfAbsent(row.minute(), m -> new HashMap<>()).put(row.gameId(), row.units());
+        }
+        synchronized (counter) {
+            counter.advance(minute);
+            saved.forEach(counter::replace);
+        }
+        return saved.isEmpty() ? after : saved.lastKey();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Top sellers sync failed, retrying in {}", topSellersConfig.getSnapshotInterval(), e);
+        }
+    }
+
+    private Leaderboard refresh() {
+        synchronized (refreshLock) {
+            Leaderboard current = leaderboard;
+            if (current != null && !current.isStale(topSellersConfig.getRefreshInterval().toNanos())) {
+                return current;
+            }
+            if (!loaded) {
+                sync();
+            }
+
+            int k = topSellersConfig.getMaxResults();
+            List<List<Ranked>> ranked = new ArrayList<>();
+            synchronized (counter) {
+                counter.advance(currentMinute());
+                for (TopSellerWindow window : TopSellerWindow.values()) {
+                    ranked.add(counter.top(window.ordinal(), k));
+                }
+            }
+
+            Set<Long> ids = new LinkedHashSet<>();
+            ranked.forEach(window -> window.forEach(entry -> ids.add(entry.gameId())));
+            Map<Long, GameModel> games = new HashMap<>();
+            if (!ids.isEmpty()) {
+                gameRepository.findAllById(ids).forEach(game -> games.put(game.getId(), game));
+            }
+
+            List<List<TopSellerDtoResponse>> windows = new ArrayList<>(ranked.size());
+            for (List<Ranked> window : ranked) {
+                List<TopSellerDtoResponse> entries = new ArrayList<>(window.size());
+                for (Ranked entry : window) {
+                    GameModel game = games.get(entry.gameId());
+                    if (game != null) {
+                        entries.add(new TopSellerDtoResponse(game.getId(), game.getName(),
+                                game.getPlatform().toString(), entry.units()));
+                    }
+                }
+                windows.add(List.copyOf(entries));
+            }
+            current = new Leaderboard(System.nanoTime(), windows);
+            leaderboard = current;
+            return current;
+        }
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private record Leaderboard(long rankedAt, List<List<TopSellerDtoResponse>> windows) {
+
+        boolean isStale(long maxAgeNanos) {
+            return System.nanoTime() - rankedAt > maxAgeNanos;
+        }
+    }
+}
@@ -1,20 +1,41 @@
 package com.ludus.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ludus.catalog.CatalogResponseCache;
+import com.ludus.catalog.CatalogResponseCache.CachedResponse;
+import com.ludus.catalog.CatalogSnapshot;
 import com.ludus.dtos.requests.GameDtoRequest;
 import com.ludus.dtos.requests.GamePatchDtoRequest;
+import com.ludus.dtos.requests.GamePriceUpdateDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameFacetsDtoResponse;
+import com.ludus.dtos.responses.GamePriceUpdateDtoResponse;
+import com.ludus.dtos.responses.GameSuggestionDtoResponse;
+import com.ludus.dtos.responses.ImportDtoResponse;
+import com.ludus.dtos.responses.TopSellerDtoResponse;
+import com.ludus.enums.ExportFormat;
+import com.ludus.services.ExportService;
+import com.ludus.services.GameImportService;
 import com.ludus.services.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/${api.version}/games")
@@ -22,20 +43,35 @@ import org.springframework.http.HttpStatus;
 public class GameController {
 
   private final GameService gameService;
+  private final GameImportService gameImportService;
+  private final ExportService exportService;
+  private final CatalogResponseCache catalogResponseCache;
+  private final ObjectMapper objectMapper;
 
-  public GameController(GameService gameService) {
+  public GameController(GameService gameService, GameImportService gameImportService, ExportService exportService,
+      CatalogResponseCache catalogResponseCache, ObjectMapper objectMapper) {
       this.gameService = gameService;
+      this.gameImportService = gameImportService;
+      this.exportService = exportService;
+      this.catalogResponseCache = catalogResponseCache;
+      this.objectMapper = objectMapper;
+  }
+
+  private record CatalogPageKey(int page, Integer size, String after, String genre, String name, boolean gzip) {
   }
 
   @Operation(
     summary = "Get All Games", 
-    description = "Retrieves a paginated list of games with optional filtering by genre and name",
+    description = "Retrieves a paginated list of games with optional filtering by genre and name. 'size' sets the page size (default 10, capped by the server). Pass 'after' (empty for the first page) to use cursor pagination instead of page numbers",
     responses = {
         @ApiResponse(responseCode = "200", description = "Games found successfully"),
+        @ApiResponse(responseCode = "304", description = "Catalog has not changed since the ETag sent in If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
             content = @Content(mediaType = "application/json", examples = {
                 @ExampleObject(name = "Invalid Page", value = "{\"message\": \"Page number must be greater than 0\"}"),
+                @ExampleObject(name = "Invalid Page Size", value = "{\"message\": \"Page size must be greater than 0\"}"),
                 @ExampleObject(name = "Invalid Page Format", value = "{\"message\": \"Invalid Page format: must be a number\"}"),
+                @ExampleObject(name = "Invalid Cursor", value = "{\"message\": \"Invalid cursor\"}"),
                 @ExampleObject(name = "Invalid Genre", value = "{\"message\": \"Invalid genre. Valid options are: ACTION, ADVENTURE, FIGHTING, HORROR, MMORPG, RACING, RPG, SHOOTER, SIMULATION, SPORTS, STRATEGY, SURVIVAL, OTHER\"}")
             })
         ),
@@ -49,20 +85,177 @@ public class GameController {
   @GetMapping()
   public ResponseEntity<ApiDtoResponse<GameDtoResponse>> getAllGames(
       @RequestParam(defaultValue = "1") int page,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String genre,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String after,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      WebRequest request,
+      HttpServletResponse response
+  ) throws IOException {
+    // Weak, because gzip and identity encodings of the same catalog version carry the same tag.
+    CatalogSnapshot snapshot = gameService.getCatalogSnapshot();
+    if (snapshot != null && request.checkNotModified("W/\"" + gameService.getCatalogVersion(snapshot) + "\"")) {
+      return null;
+    }
+
+    if (snapshot != null && catalogResponseCache.isEnabled()) {
+      boolean gzip = CatalogResponseCache.acceptsGzip(acceptEncoding);
+      CatalogPageKey key = new CatalogPageKey(page, size, after, genre, name, gzip);
+      CachedResponse cached = catalogResponseCache.get(snapshot.generation(), key);
+      if (cached == null) {
+        byte[] json = objectMapper.writeValueAsBytes(findGames(snapshot, page, size, genre, name, after));
+        cached = catalogResponseCache.put(snapshot.generation(), key, json, gzip);
+      }
+      catalogResponseCache.write(cached, response);
+      return null;
+    }
+
+    return new ResponseEntity<>(findGames(snapshot, page, size, genre, name, after), HttpStatus.OK);
+  }
+
+  private ApiDtoResponse<GameDtoResponse> findGames(CatalogSnapshot snapshot, int page, Integer size, String genre,
+      String name, String after) {
+    return after != null
+      ? gameService.getAllGamesAfter(snapshot, after, size, genre, name)
+      : gameService.getAllGames(snapshot, page, size, genre, name);
+  }
+
+  @Operation(
+    summary = "Search Games", 
+    description = "Full-text search over game name, genre and platform, ranked by relevance. The last word also matches as a prefix and words within one typo still match. 'size' sets the page size (default 10, capped by the server)",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Blank Query", value = "{\"error\": \"Validation failed\", \"details\": [\"Search query cannot be blank\"]}"),
+                @ExampleObject(name = "Invalid Page", value = "{\"message\": \"Page number must be greater than 0\"}"),
+                @ExampleObject(name = "Invalid Page Size", value = "{\"message\": \"Page size must be greater than 0\"}")
+            })
+        )
+    }
+  )
+  @GetMapping("/search")
+  public ResponseEntity<ApiDtoResponse<GameDtoResponse>> searchGames(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "1") int page,
+      @RequestParam(required = false) Integer size
+  ) {
+    return new ResponseEntity<>(gameService.searchGames(q, page, size), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Suggest Games", 
+    description = "Typeahead suggestions for a partially typed game name, most purchased first. Any word of the name can start the match. 'limit' caps the number of suggestions (default and maximum set by the server). A blank query returns no suggestions",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Suggestions returned successfully",
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"id\": 1, \"name\": \"The Witcher 3: Wild Hunt\", \"platform\": \"PC\"}]")
+            )
+        )
+    }
+  )
+  @GetMapping("/suggest")
+  public ResponseEntity<List<GameSuggestionDtoResponse>> suggestGames(
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) Integer limit
+  ) {
+    return new ResponseEntity<>(gameService.suggestGames(q, limit), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Game Facet Counts", 
+    description = "Number of games per genre, platform, price band and release decade for the given filters, in one response. Each facet is counted with every filter except its own, so the counts show what selecting another value would give",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Facet counts computed successfully",
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"count\": 42, \"genres\": {\"ACTION\": 12, \"RPG\": 30}, \"platforms\": {\"PC\": 25, \"XBOX\": 17}, \"priceBands\": {\"0-10\": 5, \"10-20\": 9, \"20-40\": 11, \"40-60\": 10, \"60+\": 7}, \"decades\": {\"2010\": 20, \"2020\": 22}}")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid filter", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Price Band", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid price band. Valid options are: 0-10, 10-20, 20-40, 40-60, 60+\"]}")
+            })
+        ),
+        @ApiResponse(responseCode = "404", description = "Invalid genre or platform", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Genre", value = "{\"message\": \"Invalid genre. Valid options are: ACTION, ADVENTURE, FIGHTING, HORROR, MMORPG, RACING, RPG, SHOOTER, SIMULATION, SPORTS, STRATEGY, SURVIVAL, OTHER\"}"),
+                @ExampleObject(name = "Invalid Platform", value = "{\"message\": \"Invalid platform. Valid options are: PC, PLAYSTATION, XBOX, NINTENDO, MOBILE, OTHER\"}")
+            })
+        )
+    }
+  )
+  @GetMapping("/facets")
+  public ResponseEntity<GameFacetsDtoResponse> getFacets(
       @RequestParam(required = false) String genre,
-      @RequestParam(required = false) String name
+      @RequestParam(required = false) String platform,
+      @RequestParam(required = false) String priceBand,
+      @RequestParam(required = false) Integer decade
+  ) {
+    return new ResponseEntity<>(gameService.getFacets(genre, platform, priceBand, decade), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Top Sellers", 
+    description = "Most purchased games over the last 'hour', 'day' (default) or 'week', most purchases first. 'limit' caps the number of games (default and maximum set by the server). Rankings are refreshed every few seconds",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Top sellers returned successfully",
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"id\": 1, \"name\": \"The Witcher 3: Wild Hunt\", \"platform\": \"PC\", \"units\": 128}]")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid window", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Window", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid window. Valid options are: HOUR, DAY, WEEK\"]}")
+            })
+        )
+    }
+  )
+  @GetMapping("/top")
+  public ResponseEntity<List<TopSellerDtoResponse>> getTopSellers(
+      @RequestParam(required = false) String window,
+      @RequestParam(required = false) Integer limit
   ) {
-    ApiDtoResponse<GameDtoResponse> games = gameService.getAllGames(
-      page, genre, name
-    );
-    return new ResponseEntity<>(games, HttpStatus.OK);
+    return new ResponseEntity<>(gameService.getTopSellers(window, limit), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Export All Games", 
+    description = "Streams every game as NDJSON (default) or CSV, ordered by ID",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid export format", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid export format. Valid options are: NDJSON, CSV\"]}")
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Unauthorized access. Authentication required.\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"You don't have permission to access this resource\"}")
+            )
+        )
+    }
+  )
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportGames(@RequestParam(required = false) String format) {
+    ExportFormat exportFormat = exportService.parseFormat(format);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"games." + exportFormat.getExtension() + "\"")
+        .body(exportService.exportGames(exportFormat));
   }
 
   @Operation(
     summary = "Get a Game by ID", 
-    description = "Retrieves a specific game by its ID",
+    description = "Retrieves a specific game by its ID. The response carries an ETag with the game version; send it back in If-None-Match to get a 304 when the game is unchanged",
     responses = {
         @ApiResponse(responseCode = "200", description = "Game found successfully"),
+        @ApiResponse(responseCode = "304", description = "Game has not changed since the ETag sent in If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Invalid ID provided", 
             content = @Content(mediaType = "application/json", examples = {
                 @ExampleObject(name = "Invalid ID", value = "{\"message\": \"Invalid ID\"}"),
@@ -82,7 +275,10 @@ public class GameController {
     }
   )
   @GetMapping("/{id}")
-  public ResponseEntity<GameDtoResponse> getGame(@PathVariable Long id) {
+  public ResponseEntity<GameDtoResponse> getGame(@PathVariable Long id, WebRequest request) {
+    if (request.checkNotModified(String.valueOf(gameService.getGameVersion(id)))) {
+      return null;
+    }
     GameDtoResponse game = gameService.getGame(id);
     return new ResponseEntity<>(game, HttpStatus.OK);
   }
@@ -122,9 +318,43 @@ public class GameController {
     return new ResponseEntity<>(HttpStatus.CREATED);
   }
 
+  @Operation(
+    summary = "Import Games", 
+    description = "Creates games in bulk from an NDJSON body (one game object per line) or a CSV body with a header row (name, genre, releaseYear, platform, price). Rows are validated like single creates; invalid rows are listed in the report and do not stop the import",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Import finished; the body reports imported and failed rows", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"rows\": 3, \"imported\": 2, \"failed\": 1, \"errors\": [{\"line\": 2, \"details\": [\"Invalid platform. Valid options are: PC, PLAYSTATION, XBOX, NINTENDO, MOBILE, OTHER\"]}]}")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "CSV header is missing a column", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"error\": \"Validation failed\", \"details\": [\"CSV header must contain the columns: name, genre, releaseYear, platform, price\"]}")
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Unauthorized access. Authentication required.\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"You don't have permission to access this resource\"}")
+            )
+        )
+    }
+  )
+  @PostMapping(value = "/import", consumes = {GameImportService.NDJSON, GameImportService.CSV})
+  public ResponseEntity<ImportDtoResponse> importGames(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body
+  ) throws IOException {
+    return new ResponseEntity<>(gameImportService.importGames(body, contentType), HttpStatus.OK);
+  }
+
   @Operation(
     summary = "Update an Existing Game", 
-    description = "Updates an existing game with the provided details",
+    description = "Updates an existing game with the provided details. Send the game's ETag in If-Match to reject the update if someone else changed the game first",
     responses = {
         @ApiResponse(responseCode = "200", description = "Game updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid game data provided", 
@@ -149,6 +379,11 @@ public class GameController {
                 examples = @ExampleObject(value = "{\"message\": \"Game not found with id: 123\"}")
             )
         ),
+        @ApiResponse(responseCode = "412", description = "Game was modified since the ETag sent in If-Match", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Game 123 has been modified since it was read. Reload it and try again.\"}")
+            )
+        ),
         @ApiResponse(responseCode = "500", description = "Error updating game", 
             content = @Content(mediaType = "application/json", 
                 examples = @ExampleObject(value = "{\"message\": \"Error updating game\"}")
@@ -157,11 +392,44 @@ public class GameController {
     }
   )
   @PutMapping("/{id}")
-  public ResponseEntity<Void> updateGame(@PathVariable Long id, @RequestBody @Valid GamePatchDtoRequest gameDTO, BindingResult bindingResult) {
-    gameService.updateGame(id, gameDTO, bindingResult);
+  public ResponseEntity<Void> updateGame(@PathVariable Long id, @RequestBody @Valid GamePatchDtoRequest gameDTO, BindingResult bindingResult,
+      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+    gameService.updateGame(id, gameDTO, bindingResult, ifMatch);
     return new ResponseEntity<>(HttpStatus.OK);
   }
 
+  @Operation(
+    summary = "Update Prices in Bulk", 
+    description = "Sets a fixed price or applies a percentage change (e.g. -20 for 20% off) to every game selected by ID list and/or genre and platform, in a single transaction",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Prices updated; the body holds the number of games changed", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"updated\": 42}")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid price update", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Validation Error", value = "{\"error\": \"Validation failed\", \"details\": [\"Provide either a price or a percentage\", \"Select games by ids, genre or platform\"]}")
+            })
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Unauthorized access. Authentication required.\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"You don't have permission to access this resource\"}")
+            )
+        )
+    }
+  )
+  @PutMapping("/prices")
+  public ResponseEntity<GamePriceUpdateDtoResponse> updatePrices(@RequestBody @Valid GamePriceUpdateDtoRequest priceDTO,
+      BindingResult bindingResult) {
+    return new ResponseEntity<>(gameService.updatePrices(priceDTO, bindingResult), HttpStatus.OK);
+  }
+
   @Operation(
     summary = "Delete an Existing Game", 
     description = "Permanently deletes a game from the database",
@@ -1,7 +1,11 @@
 package com.ludus.controllers;
 
-import java.util.List;
+import java.net.URI;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,9 +14,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody; 
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.ludus.dtos.requests.CheckoutDtoRequest;
 import com.ludus.dtos.requests.PurchaseDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.PurchaseDtoResponse;
+import com.ludus.dtos.responses.SparsePurchaseDtoResponse;
+import com.ludus.enums.ExportFormat;
+import com.ludus.services.ExportService;
 import com.ludus.services.PurchaseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,22 +37,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class PurchaseController {
 
   private final PurchaseService purchaseService;
+  private final ExportService exportService;
 
-  public PurchaseController(PurchaseService purchaseService) {
+  public PurchaseController(PurchaseService purchaseService, ExportService exportService) {
       this.purchaseService = purchaseService;
+      this.exportService = exportService;
   }
 
   @Operation(
     summary = "Get All Purchases", 
-    description = "Retrieves a paginated list of purchases with optional filtering by game ID and payment method",
+    description = "Retrieves a paginated list of purchases with optional filtering by game ID, payment method and purchase date ('from' and 'to', ISO dates, both inclusive). 'size' sets the page size (default 10, capped by the server). Pass 'after' (empty for the first page) to use cursor pagination instead of page numbers. Pass 'fields' (comma-separated: id, purchaseDate, price, paymentMethod, gameId, userId, game, user) to return only those fields, or 'view=ids' for just the purchase, game and user IDs; games and users are then only read when 'game' or 'user' is selected",
     responses = {
         @ApiResponse(responseCode = "200", description = "Purchases found successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
             content = @Content(mediaType = "application/json", examples = {
                 @ExampleObject(name = "Invalid Page", value = "{\"message\": \"Page number must be greater than 0\"}"),
+                @ExampleObject(name = "Invalid Page Size", value = "{\"message\": \"Page size must be greater than 0\"}"),
                 @ExampleObject(name = "Invalid Page Format", value = "{\"message\": \"Invalid Page format: must be a number\"}"),
+                @ExampleObject(name = "Invalid Cursor", value = "{\"message\": \"Invalid cursor\"}"),
+                @ExampleObject(name = "Invalid Field", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid field 'email'. Valid options are: id, purchaseDate, price, paymentMethod, gameId, userId, game, user\"]}"),
+                @ExampleObject(name = "Invalid View", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid view. Valid options are: FULL, IDS\"]}"),
                 @ExampleObject(name = "Invalid Game ID", value = "{\"message\": \"Game ID must be greater than 0\"}"),
-                @ExampleObject(name = "Invalid Payment Method", value = "{\"message\": \"Invalid payment method. Valid options are: CREDIT_CARD, DEBIT_CARD, PIX, PAYPAL, BOLETO, OTHER\"}")
+                @ExampleObject(name = "Invalid Payment Method", value = "{\"message\": \"Invalid payment method. Valid options are: CREDIT_CARD, DEBIT_CARD, PIX, PAYPAL, BOLETO, OTHER\"}"),
+                @ExampleObject(name = "Invalid Date Range", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid date range: from (2025-02-01) is after to (2025-01-01)\"]}")
             })
         ),
         @ApiResponse(responseCode = "401", description = "Unauthorized access", 
@@ -57,17 +75,54 @@ public class PurchaseController {
     }
   )
   @GetMapping()
-  public ResponseEntity<ApiDtoResponse<PurchaseDtoResponse>> getPurchases(
+  public ResponseEntity<ApiDtoResponse<SparsePurchaseDtoResponse>> getPurchases(
       @RequestParam(defaultValue = "1") int page,
+      @RequestParam(required = false) Integer size,
       @RequestParam(required = false) Long gameId,
-      @RequestParam(required = false) String paymentMethod
+      @RequestParam(required = false) String paymentMethod,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) String fields,
+      @RequestParam(required = false) String view
   ) {
-    ApiDtoResponse<PurchaseDtoResponse> purchases = purchaseService.getAllPurchases(
-      page, gameId, paymentMethod
-    );
+    ApiDtoResponse<SparsePurchaseDtoResponse> purchases = after != null
+      ? purchaseService.getAllPurchasesAfter(after, size, gameId, paymentMethod, from, to, fields, view)
+      : purchaseService.getAllPurchases(page, size, gameId, paymentMethod, from, to, fields, view);
     return new ResponseEntity<>(purchases, HttpStatus.OK);
   }
 
+  @Operation(
+    summary = "Export All Purchases", 
+    description = "Streams every purchase as NDJSON (default) or CSV, ordered by ID, with game and user referenced by ID",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid export format", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid export format. Valid options are: NDJSON, CSV\"]}")
+            )
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Unauthorized access. Authentication required.\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"You don't have permission to access this resource\"}")
+            )
+        )
+    }
+  )
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportPurchases(@RequestParam(required = false) String format) {
+    ExportFormat exportFormat = exportService.parseFormat(format);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"purchases." + exportFormat.getExtension() + "\"")
+        .body(exportService.exportPurchases(exportFormat));
+  }
+
   @Operation(
     summary = "Get a Purchase by ID", 
     description = "Retrieves a specific purchase by its ID",
@@ -104,9 +159,9 @@ public class PurchaseController {
 
   @Operation(
     summary = "Create a New Purchase", 
-    description = "Creates a new purchase with the provided details",
+    description = "Creates a new purchase with the provided details. Send an 'Idempotency-Key' header to make retries safe: a repeated request with the same key returns the original purchase in the Location header instead of buying again",
     responses = {
-        @ApiResponse(responseCode = "201", description = "Purchase created successfully"),
+        @ApiResponse(responseCode = "201", description = "Purchase created successfully, or already created by an earlier request with the same Idempotency-Key"),
         @ApiResponse(responseCode = "400", description = "Invalid purchase data provided", 
             content = @Content(mediaType = "application/json", examples = {
                 @ExampleObject(name = "Invalid User ID", value = "{\"message\": \"User ID must not be null or less than 1\"}"),
@@ -130,27 +185,83 @@ public class PurchaseController {
                 @ExampleObject(name = "Game Not Found", value = "{\"message\": \"Game not found for purchase\"}")
             })
         ),
+        @ApiResponse(responseCode = "409", description = "Idempotency-Key conflict", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Key Reused", value = "{\"message\": \"Idempotency-Key 'a1b2' was already used for a different request\"}"),
+                @ExampleObject(name = "Key In Progress", value = "{\"message\": \"A request with Idempotency-Key 'a1b2' is still being processed. Retry later\"}")
+            })
+        ),
         @ApiResponse(responseCode = "500", description = "Error creating purchase", 
             content = @Content(mediaType = "application/json", 
                 examples = @ExampleObject(value = "{\"message\": \"Error creating purchase\"}")
             )
+        ),
+        @ApiResponse(responseCode = "503", description = "Purchase queue is full; retry after the Retry-After delay", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Too many purchases are being processed right now. Retry shortly\"}")
+            )
         )
     }
   )
   @PostMapping()
-  public ResponseEntity<Void> createPurchase(@RequestBody PurchaseDtoRequest purchaseDTO) {
-    purchaseService.createPurchase(purchaseDTO);
-    return new ResponseEntity<>(HttpStatus.CREATED);
+  public ResponseEntity<Void> createPurchase(@RequestBody PurchaseDtoRequest purchaseDTO,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+    Long id = purchaseService.createPurchase(purchaseDTO, idempotencyKey);
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(id).toUri();
+    return ResponseEntity.created(location).build();
+  }
+
+  @Operation(
+    summary = "Check Out a Cart", 
+    description = "Buys several games for one user in a single transaction. Either every game in the cart is purchased or none is. The response lists the games with the prices charged, and 'price' is the cart total. It has no id, because each game is stored as its own purchase",
+    responses = {
+        @ApiResponse(responseCode = "201", description = "Cart checked out successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cart provided", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid User ID", value = "{\"message\": \"User ID must not be null or less than 1\"}"),
+                @ExampleObject(name = "Invalid Game ID", value = "{\"message\": \"Game ID must not be null or less than 1\"}"),
+                @ExampleObject(name = "Empty Cart", value = "{\"error\": \"Validation failed\", \"details\": [\"The cart must contain at least one game\"]}"),
+                @ExampleObject(name = "Duplicate Game", value = "{\"error\": \"Validation failed\", \"details\": [\"Game 7 appears more than once in the cart\"]}")
+            })
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Unauthorized access. Authentication required.\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden access", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"You don't have permission to access this resource\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Resource not found", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "User Not Found", value = "{\"message\": \"User not found for purchase\"}"),
+                @ExampleObject(name = "Games Not Found", value = "{\"message\": \"Games not found for purchase: 7, 12\"}"),
+                @ExampleObject(name = "Invalid Payment Method", value = "{\"message\": \"Invalid payment method. Valid options are: CREDIT_CARD, DEBIT_CARD, PIX, PAYPAL, BOLETO, OTHER\"}")
+            })
+        )
+    }
+  )
+  @PostMapping("/checkout")
+  public ResponseEntity<PurchaseDtoResponse> checkout(@RequestBody CheckoutDtoRequest checkoutDTO) {
+    PurchaseDtoResponse purchase = purchaseService.checkout(checkoutDTO);
+    return new ResponseEntity<>(purchase, HttpStatus.CREATED);
   }
 
   @Operation(
     summary = "Get Purchases by User ID", 
-    description = "Retrieves all purchases made by a specific user",
+    description = "Retrieves a paginated list of the purchases made by a specific user, oldest first. 'size' sets the page size (default 10, capped by the server). Pass 'after' (empty for the first page) to use cursor pagination instead of page numbers. Pass 'fields' (comma-separated: id, purchaseDate, price, paymentMethod, gameId, userId, game, user) to return only those fields, or 'view=ids' for just the purchase, game and user IDs; games and users are then only read when 'game' or 'user' is selected",
     responses = {
         @ApiResponse(responseCode = "200", description = "Purchases found successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid ID provided", 
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
             content = @Content(mediaType = "application/json", examples = {
                 @ExampleObject(name = "Invalid ID", value = "{\"message\": \"Invalid ID\"}"),
+                @ExampleObject(name = "Invalid Page", value = "{\"message\": \"Page number must be greater than 0\"}"),
+                @ExampleObject(name = "Invalid Page Size", value = "{\"message\": \"Page size must be greater than 0\"}"),
+                @ExampleObject(name = "Invalid Cursor", value = "{\"message\": \"Invalid cursor\"}"),
+                @ExampleObject(name = "Invalid Field", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid field 'email'. Valid options are: id, purchaseDate, price, paymentMethod, gameId, userId, game, user\"]}"),
+                @ExampleObject(name = "Invalid View", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid view. Valid options are: FULL, IDS\"]}"),
                 @ExampleObject(name = "Invalid Format", value = "{\"message\": \"Invalid ID format: must be a number\", \"details\": \"The value 'abc' is not valid for parameter 'id'\"}")
             })
         ),
@@ -178,8 +289,17 @@ public class PurchaseController {
     }
   )
   @GetMapping("/user/{id}")
-  public ResponseEntity<List<PurchaseDtoResponse>> getPurchasesByUser(@PathVariable Long id) {
-    List<PurchaseDtoResponse> purchases = purchaseService.getPurchasesByUser(id);
+  public ResponseEntity<ApiDtoResponse<SparsePurchaseDtoResponse>> getPurchasesByUser(
+      @PathVariable Long id,
+      @RequestParam(defaultValue = "1") int page,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) String fields,
+      @RequestParam(required = false) String view
+  ) {
+    ApiDtoResponse<SparsePurchaseDtoResponse> purchases = after != null
+      ? purchaseService.getPurchasesByUserAfter(id, after, size, fields, view)
+      : purchaseService.getPurchasesByUser(id, page, size, fields, view);
     return new ResponseEntity<>(purchases, HttpStatus.OK);
   }
 }
@@ -0,0 +1,135 @@
+package com.ludus.controllers;
+
+import java.net.URI;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.ludus.dtos.requests.ReportDtoRequest;
+import com.ludus.dtos.responses.ReportJobDtoResponse;
+import com.ludus.infra.report.ReportJob;
+import com.ludus.services.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/${api.version}/purchases/reports")
+@Tag(name = "Reports", description = "Finance reports built in the background and downloaded when ready")
+public class ReportController {
+
+  private final ReportService reportService;
+
+  public ReportController(ReportService reportService) {
+    this.reportService = reportService;
+  }
+
+  @Operation(
+    summary = "Submit a Report", 
+    description = "Queues a PURCHASES or DAILY_SALES report as NDJSON (default) or CSV, optionally between 'from' and 'to' (ISO dates, both inclusive). An identical report that is still queued or running is returned instead of starting another. Poll the URL in the Location header for progress",
+    responses = {
+        @ApiResponse(responseCode = "202", description = "Report queued", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"id\": \"5f0c6a2e-8d1b-4a57-9a53-0c1d2f3e4a5b\", \"type\": \"PURCHASES\", \"format\": \"CSV\", \"from\": \"2025-01-01\", \"to\": \"2025-03-31\", \"status\": \"QUEUED\", \"rows\": 0, \"progress\": null, \"createdAt\": \"2025-04-01T10:00:00Z\", \"finishedAt\": null, \"error\": null}")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid report request", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Type", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid report type. Valid options are: PURCHASES, DAILY_SALES\"]}"),
+                @ExampleObject(name = "Invalid Format", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid export format. Valid options are: NDJSON, CSV\"]}"),
+                @ExampleObject(name = "Invalid Range", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid date range: from (2025-02-01) is after to (2025-01-01)\"]}")
+            })
+        ),
+        @ApiResponse(responseCode = "503", description = "Too many reports queued", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Too many reports are queued right now. Retry later\"}")
+            )
+        )
+    }
+  )
+  @PostMapping()
+  public ResponseEntity<ReportJobDtoResponse> submit(@RequestBody ReportDtoRequest reportDTO) {
+    ReportJobDtoResponse job = reportService.submit(reportDTO);
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.id()).toUri();
+    return ResponseEntity.accepted().location(location).body(job);
+  }
+
+  @Operation(
+    summary = "Get a Report", 
+    description = "Status and progress of a report. 'progress' is the percentage of expected rows written, or null while unknown",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Report found", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"id\": \"5f0c6a2e-8d1b-4a57-9a53-0c1d2f3e4a5b\", \"type\": \"PURCHASES\", \"format\": \"CSV\", \"from\": \"2025-01-01\", \"to\": \"2025-03-31\", \"status\": \"RUNNING\", \"rows\": 420000, \"progress\": 42, \"createdAt\": \"2025-04-01T10:00:00Z\", \"finishedAt\": null, \"error\": null}")
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Report not found or expired", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Report not found\"}")
+            )
+        )
+    }
+  )
+  @GetMapping("/{id}")
+  public ResponseEntity<ReportJobDtoResponse> getReport(@PathVariable String id) {
+    return new ResponseEntity<>(reportService.getJob(id), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Download a Report", 
+    description = "Downloads the file of a COMPLETED report",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Report file"),
+        @ApiResponse(responseCode = "404", description = "Report not found or expired", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Report not found\"}")
+            )
+        ),
+        @ApiResponse(responseCode = "409", description = "Report is not completed", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Report is RUNNING; its file can only be downloaded once it is COMPLETED\"}")
+            )
+        )
+    }
+  )
+  @GetMapping("/{id}/file")
+  public ResponseEntity<Resource> downloadReport(@PathVariable String id) {
+    ReportJob job = reportService.getCompletedJob(id);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(job.getSpec().format().getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(job.getSpec().fileName()).build().toString())
+        .body(new FileSystemResource(job.getFile()));
+  }
+
+  @Operation(
+    summary = "Cancel or Delete a Report", 
+    description = "Cancels a queued or running report, which then reports CANCELLED, or deletes a finished report and its file",
+    responses = {
+        @ApiResponse(responseCode = "204", description = "Report cancelled or deleted"),
+        @ApiResponse(responseCode = "404", description = "Report not found or expired", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Report not found\"}")
+            )
+        )
+    }
+  )
+  @DeleteMapping("/{id}")
+  public ResponseEntity<Void> cancelReport(@PathVariable String id) {
+    reportService.cancel(id);
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+}
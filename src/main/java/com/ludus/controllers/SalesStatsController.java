@@ -0,0 +1,174 @@
+package com.ludus.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.ludus.dtos.responses.GameSalesStatsDtoResponse;
+import com.ludus.dtos.responses.SalesStatsDtoResponse;
+import com.ludus.services.SalesStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/${api.version}/purchases/stats")
+@Tag(name = "Sales Stats", description = "Revenue and units sold, from incrementally maintained rollups")
+public class SalesStatsController {
+
+  private final SalesStatsService salesStatsService;
+
+  public SalesStatsController(SalesStatsService salesStatsService) {
+    this.salesStatsService = salesStatsService;
+  }
+
+  @Operation(
+    summary = "Get Sales Totals", 
+    description = "Units sold and revenue between 'from' and 'to' (ISO dates, both inclusive and optional)",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Totals computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"key\": \"total\", \"units\": 1520, \"revenue\": 68412.80}")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid date range", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid date range: from (2025-02-01) is after to (2025-01-01)\"]}")
+            )
+        )
+    }
+  )
+  @GetMapping()
+  public ResponseEntity<SalesStatsDtoResponse> getTotals(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) {
+    return new ResponseEntity<>(salesStatsService.getTotals(from, to), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Sales by Game", 
+    description = "Best-selling games by revenue between 'from' and 'to'. 'limit' sets how many are returned (default 10, capped by the server)",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Sales computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"gameId\": 3, \"name\": \"The Witcher 3\", \"units\": 210, \"revenue\": 8399.79}]")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Range", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid date range: from (2025-02-01) is after to (2025-01-01)\"]}"),
+                @ExampleObject(name = "Invalid Limit", value = "{\"message\": \"Page size must be greater than 0\"}")
+            })
+        )
+    }
+  )
+  @GetMapping("/games")
+  public ResponseEntity<List<GameSalesStatsDtoResponse>> getByGame(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) Integer limit
+  ) {
+    return new ResponseEntity<>(salesStatsService.getByGame(from, to, limit), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Sales by Genre", 
+    description = "Units sold and revenue per game genre between 'from' and 'to', highest revenue first",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Sales computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"key\": \"RPG\", \"units\": 540, \"revenue\": 24310.50}]")
+            )
+        )
+    }
+  )
+  @GetMapping("/genres")
+  public ResponseEntity<List<SalesStatsDtoResponse>> getByGenre(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) {
+    return new ResponseEntity<>(salesStatsService.getByGenre(from, to), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Sales by Payment Method", 
+    description = "Units sold and revenue per payment method between 'from' and 'to', highest revenue first",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Sales computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"key\": \"PIX\", \"units\": 880, \"revenue\": 39120.00}]")
+            )
+        )
+    }
+  )
+  @GetMapping("/payment-methods")
+  public ResponseEntity<List<SalesStatsDtoResponse>> getByPaymentMethod(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) {
+    return new ResponseEntity<>(salesStatsService.getByPaymentMethod(from, to), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Get Sales by Day", 
+    description = "Units sold and revenue for each day with sales between 'from' and 'to', oldest first",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Sales computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"key\": \"2025-01-15\", \"units\": 64, \"revenue\": 2890.36}]")
+            )
+        )
+    }
+  )
+  @GetMapping("/daily")
+  public ResponseEntity<List<SalesStatsDtoResponse>> getByDay(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) {
+    return new ResponseEntity<>(salesStatsService.getByDay(from, to), HttpStatus.OK);
+  }
+
+  @Operation(
+    summary = "Query Sales", 
+    description = "Ad hoc aggregation over every purchase, held in memory as columns. Purchases match every given filter: 'from' and 'to' (ISO dates, both inclusive), 'gameId', 'userId' and 'paymentMethod'. 'groupBy' is one of TOTAL (default), GAME, PAYMENT_METHOD, DAY or MONTH; grouped by GAME, 'limit' sets how many games are returned (default 10, capped by the server)",
+    responses = {
+        @ApiResponse(responseCode = "200", description = "Sales computed successfully", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "[{\"key\": \"2025-01\", \"units\": 12, \"revenue\": 539.88}]")
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
+            content = @Content(mediaType = "application/json", examples = {
+                @ExampleObject(name = "Invalid Range", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid date range: from (2025-02-01) is after to (2025-01-01)\"]}"),
+                @ExampleObject(name = "Invalid Grouping", value = "{\"error\": \"Validation failed\", \"details\": [\"Invalid groupBy. Valid options are: TOTAL, GAME, PAYMENT_METHOD, DAY, MONTH\"]}")
+            })
+        ),
+        @ApiResponse(responseCode = "404", description = "Invalid payment method", 
+            content = @Content(mediaType = "application/json", 
+                examples = @ExampleObject(value = "{\"message\": \"Invalid payment method. Valid options are: CREDIT_CARD, DEBIT_CARD, PIX, PAYPAL, BOLETO, OTHER\"}")
+            )
+        )
+    }
+  )
+  @GetMapping("/query")
+  public ResponseEntity<List<SalesStatsDtoResponse>> query(
+      @RequestParam(required = false) String groupBy,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) Long gameId,
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) String paymentMethod,
+      @RequestParam(required = false) Integer limit
+  ) {
+    return new ResponseEntity<>(salesStatsService.query(groupBy, from, to, gameId, userId, paymentMethod, limit),
+        HttpStatus.OK);
+  }
+}
@@ -30,12 +30,13 @@ public class UserController {
 
     @Operation(
         summary = "Get All Users", 
-        description = "Retrieves a paginated list of active users with optional name filtering",
+        description = "Retrieves a paginated list of active users with optional name filtering. 'size' sets the page size (default 10, capped by the server). Pass 'after' (empty for the first page) to use cursor pagination instead of page numbers",
         responses = {
             @ApiResponse(responseCode = "200", description = "Users found successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters", 
                 content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Invalid Page", value = "{\"message\": \"Page number must be greater than 0\"}"),
+                    @ExampleObject(name = "Invalid Page Size", value = "{\"message\": \"Page size must be greater than 0\"}"),
                     @ExampleObject(name = "Invalid Format", value = "{\"message\": \"Invalid Page format: must be a number\"}")
                 })
             ),
@@ -54,9 +55,13 @@ public class UserController {
     @GetMapping()
     public ResponseEntity<ApiDtoResponse<UserDtoResponse>> getUsers(
         @RequestParam(defaultValue = "1") int page,
-        @RequestParam(required = false) String name
+        @RequestParam(required = false) Integer size,
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String after
     ) {
-        ApiDtoResponse<UserDtoResponse> response= userService.getAllUsers(page, name);
+        ApiDtoResponse<UserDtoResponse> response = after != null
+            ? userService.getAllUsersAfter(after, size, name)
+            : userService.getAllUsers(page, size, name);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
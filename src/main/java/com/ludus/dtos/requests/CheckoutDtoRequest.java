@@ -0,0 +1,31 @@
+package com.ludus.dtos.requests;
+
+import java.util.List;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CheckoutDtoRequest(
+    @NotNull(message = "purchase.user.not.found")
+    @Positive(message = "User ID must be greater than 0")
+    @JsonProperty("userId") Long userId,
+
+    @NotEmpty(message = "purchase.checkout.empty")
+    @JsonProperty("gameIds") List<Long> gameIds,
+
+    @NotBlank(message = "purchase.invalid.payment.method")
+    @JsonProperty("paymentMethod") String paymentMethod
+) {
+    @Override
+    public String toString() {
+        return "CheckoutDtoRequest{" +
+                "userId=" + userId +
+                ", gameIds=" + gameIds +
+                ", paymentMethod='" + paymentMethod + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.ludus.dtos.requests;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GamePriceUpdateDtoRequest(
+    @Size(max = 10000, message = "ids.Size")
+    @JsonProperty("ids") List<Long> ids,
+    @JsonProperty("genre") String genre,
+    @JsonProperty("platform") String platform,
+    @Min(value = 0, message = "price.Min")
+    @JsonProperty("price") Float price,
+    @JsonProperty("percentage") Float percentage
+) {
+
+}
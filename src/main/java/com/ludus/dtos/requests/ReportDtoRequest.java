@@ -0,0 +1,15 @@
+package com.ludus.dtos.requests;
+
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ReportDtoRequest(
+    @JsonProperty("type") String type,
+    @JsonProperty("format") String format,
+    @JsonProperty("from") LocalDate from,
+    @JsonProperty("to") LocalDate to
+) {
+
+}
@@ -2,6 +2,8 @@ package com.ludus.dtos.responses;
 
 import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record GameDtoResponse(
@@ -13,4 +15,11 @@ public record GameDtoResponse(
   BigDecimal price
 ) {
 
+  /**
+   * Used by JPQL constructor expressions, which select the enum attributes as enums.
+   */
+  public GameDtoResponse(Long id, String name, GameGenre genre, int releaseYear, GamePlatform platform,
+      BigDecimal price) {
+    this(id, name, genre.toString(), releaseYear, platform.toString(), price);
+  }
 }
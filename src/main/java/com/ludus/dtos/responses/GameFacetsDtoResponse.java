@@ -0,0 +1,15 @@
+package com.ludus.dtos.responses;
+
+import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GameFacetsDtoResponse(
+  long count,
+  Map<String, Long> genres,
+  Map<String, Long> platforms,
+  Map<String, Long> priceBands,
+  Map<String, Long> decades
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.ludus.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GamePriceUpdateDtoResponse(
+  int updated
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.ludus.dtos.responses;
+
+import java.math.BigDecimal;
+
+public record GameSalesStatsDtoResponse(
+    Long gameId,
+    String name,
+    long units,
+    BigDecimal revenue
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.ludus.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GameSuggestionDtoResponse(
+  Long id,
+  String name,
+  String platform
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.ludus.dtos.responses;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImportDtoResponse(
+  long rows,
+  long imported,
+  long failed,
+  List<ImportErrorDtoResponse> errors
+) {
+
+}
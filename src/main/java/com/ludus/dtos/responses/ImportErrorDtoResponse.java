@@ -0,0 +1,12 @@
+package com.ludus.dtos.responses;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImportErrorDtoResponse(
+  long line,
+  List<String> details
+) {
+
+}
@@ -4,8 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record InfoDtoResponse(
-    long count,
-    long pages,
+    Long count,
+    Long pages,
     String next,
     String prev
 ) {
@@ -0,0 +1,20 @@
+package com.ludus.dtos.responses;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record ReportJobDtoResponse(
+    String id,
+    String type,
+    String format,
+    LocalDate from,
+    LocalDate to,
+    String status,
+    long rows,
+    Integer progress,
+    Instant createdAt,
+    Instant finishedAt,
+    String error
+) {
+
+}
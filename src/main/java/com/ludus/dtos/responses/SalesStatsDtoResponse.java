@@ -0,0 +1,11 @@
+package com.ludus.dtos.responses;
+
+import java.math.BigDecimal;
+
+public record SalesStatsDtoResponse(
+    String key,
+    long units,
+    BigDecimal revenue
+) {
+
+}
@@ -0,0 +1,26 @@
+package com.ludus.dtos.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A purchase with only the fields asked for through {@code fields} or {@code view}; the rest are
+ * left null and omitted from the JSON.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SparsePurchaseDtoResponse(
+    Long id,
+    LocalDate purchaseDate,
+    BigDecimal price,
+    String paymentMethod,
+    Long gameId,
+    Long userId,
+    List<GameDtoResponse> game,
+    List<UserDtoResponse> user
+) {
+
+}
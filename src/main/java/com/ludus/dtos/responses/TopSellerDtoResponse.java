@@ -0,0 +1,13 @@
+package com.ludus.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TopSellerDtoResponse(
+  Long id,
+  String name,
+  String platform,
+  long units
+) {
+
+}
@@ -0,0 +1,22 @@
+package com.ludus.enums;
+
+public enum PurchaseField {
+    ID("id"),
+    PURCHASE_DATE("purchaseDate"),
+    PRICE("price"),
+    PAYMENT_METHOD("paymentMethod"),
+    GAME_ID("gameId"),
+    USER_ID("userId"),
+    GAME("game"),
+    USER("user");
+
+    private final String param;
+
+    PurchaseField(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+}
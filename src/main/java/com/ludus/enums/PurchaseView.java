@@ -0,0 +1,6 @@
+package com.ludus.enums;
+
+public enum PurchaseView {
+    FULL,
+    IDS
+}
@@ -0,0 +1,9 @@
+package com.ludus.enums;
+
+public enum ReportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,6 @@
+package com.ludus.enums;
+
+public enum ReportType {
+    PURCHASES,
+    DAILY_SALES
+}
@@ -0,0 +1,9 @@
+package com.ludus.enums;
+
+public enum SalesGrouping {
+    TOTAL,
+    GAME,
+    PAYMENT_METHOD,
+    DAY,
+    MONTH
+}
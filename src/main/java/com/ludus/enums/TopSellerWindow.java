@@ -0,0 +1,17 @@
+package com.ludus.enums;
+
+public enum TopSellerWindow {
+    HOUR(60),
+    DAY(24 * 60),
+    WEEK(7 * 24 * 60);
+
+    private final int minutes;
+
+    TopSellerWindow(int minutes) {
+        this.minutes = minutes;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+}
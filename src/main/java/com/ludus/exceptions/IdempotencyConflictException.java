@@ -0,0 +1,9 @@
+package com.ludus.exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.ludus.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
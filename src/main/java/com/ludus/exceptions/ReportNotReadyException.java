@@ -0,0 +1,9 @@
+package com.ludus.exceptions;
+
+public class ReportNotReadyException extends RuntimeException {
+
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+
+}
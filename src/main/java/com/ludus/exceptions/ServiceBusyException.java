@@ -0,0 +1,9 @@
+package com.ludus.exceptions;
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.ludus.handlers;
 
 import java.util.HashMap;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +11,11 @@ import com.ludus.exceptions.InvalidCredentialsException;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.ValidationException;
 import com.ludus.exceptions.InvalidPageException;
+import com.ludus.exceptions.PreconditionFailedException;
+import com.ludus.exceptions.IdempotencyConflictException;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.exceptions.ReportNotReadyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.util.Map;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
@@ -89,6 +95,46 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("message", ex.getMessage());
+
+    return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+  }
+
+  @ExceptionHandler(IdempotencyConflictException.class)
+  public ResponseEntity<Map<String, Object>> handleIdempotencyConflictException(IdempotencyConflictException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("message", ex.getMessage());
+
+    return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(ReportNotReadyException.class)
+  public ResponseEntity<Map<String, Object>> handleReportNotReadyException(ReportNotReadyException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("message", ex.getMessage());
+
+    return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(ServiceBusyException.class)
+  public ResponseEntity<Map<String, Object>> handleServiceBusyException(ServiceBusyException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("message", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+  }
+
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("message", "The resource was modified by another request. Reload it and try again.");
+
+    return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+  }
+
   @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidCredentialsException(InvalidCredentialsException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -0,0 +1,146 @@
+package com.ludus.infra.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.ludus.infra.config.TotalsConfig;
+
+/**
+ * Row counts per table and filter combination, so list endpoints can skip the count query.
+ * Counters are seeded from a real count, adjusted by the services on every write and dropped
+ * after {@code totals.ttl} to bound drift from writes made elsewhere.
+ */
+@Component
+public class TotalsCache {
+
+    public static final String GAMES = "game_model";
+    public static final String USERS = "user_model";
+    public static final String PURCHASES = "purchase_model";
+
+    private static final Logger log = LoggerFactory.getLogger(TotalsCache.class);
+
+    // A partitioned table has no rows of its own (reltuples is -1), so its estimate is the sum
+    // over its partitions. Partitions never analyzed, such as months not yet started, count as
+    // empty unless none has been analyzed.
+    private static final String ESTIMATE_SQL = """
+            SELECT CASE WHEN c.relkind <> 'p' THEN c.reltuples::bigint
+                        ELSE (SELECT CASE WHEN max(p.reltuples) < 0 THEN -1
+                                          ELSE sum(greatest(p.reltuples, 0))::bigint END
+                              FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhrelid
+                              WHERE i.inhparent = c.oid) END
+            FROM pg_class c WHERE c.oid = to_regclass(?)
+            """;
+
+    private final TotalsConfig totalsConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public TotalsCache(TotalsConfig totalsConfig, JdbcTemplate jdbcTemplate) {
+        this.totalsConfig = totalsConfig;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public OptionalLong get(String table, Object... filters) {
+        Key key = new Key(table, Arrays.asList(filters));
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            return OptionalLong.empty();
+        }
+        if (isExpired(counter)) {
+            counters.remove(key, counter);
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.max(0, counter.value.get()));
+    }
+
+    /**
+     * Like {@link #get}, but an unfiltered request on a table above {@code totals.estimate-threshold}
+     * rows is answered from the planner statistics when estimates are enabled.
+     */
+    public OptionalLong getOrEstimate(String table, Object... filters) {
+        OptionalLong exact = get(table, filters);
+        if (exact.isPresent() || !totalsConfig.isEstimateEnabled()
+                || Arrays.stream(filters).anyMatch(filter -> filter != null)) {
+            return exact;
+        }
+        Long estimate = estimate(table);
+        return estimate != null && estimate >= totalsConfig.getEstimateThreshold()
+                ? OptionalLong.of(estimate)
+                : OptionalLong.empty();
+    }
+
+    public void put(String table, long total, Object... filters) {
+        Key key = new Key(table, Arrays.asList(filters));
+        if (counters.size() >= totalsConfig.getMaxEntries() && !counters.containsKey(key)) {
+            // get only drops the counter it reads, so one-off filter combinations would otherwise
+            // fill the map for good.
+            counters.values().removeIf(this::isExpired);
+            if (counters.size() >= totalsConfig.getMaxEntries()) {
+                return;
+            }
+        }
+        counters.put(key, new Counter(total));
+    }
+
+    /**
+     * Adjusts every counter of {@code table} whose non-null filters equal the matching
+     * {@code values} of the written row.
+     */
+    public void increment(String table, long delta, Object... values) {
+        adjust(table, delta, filters -> {
+            for (int i = 0; i < filters.size(); i++) {
+                if (filters.get(i) != null && !filters.get(i).equals(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    public void adjust(String table, long delta, Predicate<List<Object>> matches) {
+        counters.forEach((key, counter) -> {
+            if (key.table.equals(table) && matches.test(key.filters)) {
+                counter.value.addAndGet(delta);
+            }
+        });
+    }
+
+    public void invalidate(String table) {
+        counters.keySet().removeIf(key -> key.table.equals(table));
+    }
+
+    private boolean isExpired(Counter counter) {
+        return System.nanoTime() - counter.loadedAt > totalsConfig.getTtl().toNanos();
+    }
+
+    private Long estimate(String table) {
+        try {
+            Long rows = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, table);
+            return rows != null && rows >= 0 ? rows : null;
+        } catch (DataAccessException e) {
+            log.debug("Could not read planner estimate for {}", table, e);
+            return null;
+        }
+    }
+
+    private record Key(String table, List<Object> filters) {
+    }
+
+    private static final class Counter {
+        private final AtomicLong value;
+        private final long loadedAt = System.nanoTime();
+
+        private Counter(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+}
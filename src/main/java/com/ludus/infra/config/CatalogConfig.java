@@ -0,0 +1,17 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogConfig {
+
+    private boolean readModelEnabled = true;
+    private Duration refreshInterval = Duration.ofSeconds(30);
+}
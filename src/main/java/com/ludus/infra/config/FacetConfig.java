@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "facets")
+public class FacetConfig {
+
+    private boolean warmOnStartup = true;
+    private List<BigDecimal> priceBands = List.of(
+        BigDecimal.valueOf(10), BigDecimal.valueOf(20), BigDecimal.valueOf(40), BigDecimal.valueOf(60));
+}
@@ -0,0 +1,16 @@
+package com.ludus.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "game-import")
+public class GameImportConfig {
+
+    private int batchSize = 500;
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyConfig {
+
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 10_000;
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration pruneInterval = Duration.ofHours(1);
+}
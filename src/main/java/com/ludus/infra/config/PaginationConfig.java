@@ -0,0 +1,15 @@
+package com.ludus.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationConfig {
+
+    private int maxSize = 100;
+}
@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "purchase-ledger")
+public class PurchaseLedgerConfig {
+
+    private boolean enabled = false;
+    private boolean warmOnStartup = true;
+    private Duration syncInterval = Duration.ofMinutes(1);
+    private int fetchSize = 10000;
+}
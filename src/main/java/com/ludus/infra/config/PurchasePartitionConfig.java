@@ -0,0 +1,18 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "purchase-partitions")
+public class PurchasePartitionConfig {
+
+    private int monthsAhead = 3;
+    private int retentionMonths = 0;
+    private Duration checkInterval = Duration.ofHours(12);
+}
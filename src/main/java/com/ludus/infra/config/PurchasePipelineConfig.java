@@ -0,0 +1,21 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "purchase-pipeline")
+public class PurchasePipelineConfig {
+
+    private boolean enabled = false;
+    private int batchSize = 100;
+    private Duration linger = Duration.ofMillis(5);
+    private int queueCapacity = 10_000;
+    private Duration offerTimeout = Duration.ofMillis(500);
+    private Duration commitTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "reports")
+public class ReportConfig {
+
+    private String directory = System.getProperty("java.io.tmpdir") + "/ludus-reports";
+    private int maxConcurrent = 2;
+    private int maxQueued = 20;
+    private Duration ttl = Duration.ofHours(24);
+}
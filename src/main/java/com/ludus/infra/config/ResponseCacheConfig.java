@@ -0,0 +1,18 @@
+package com.ludus.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheConfig {
+
+    private boolean enabled = true;
+    private long maxBytes = 16 * 1024 * 1024;
+    private boolean gzipEnabled = true;
+    private int gzipMinBytes = 1024;
+}
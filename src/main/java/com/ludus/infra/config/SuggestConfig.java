@@ -0,0 +1,16 @@
+package com.ludus.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "suggest")
+public class SuggestConfig {
+
+    private boolean warmOnStartup = true;
+    private int maxResults = 10;
+}
@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "top-sellers")
+public class TopSellersConfig {
+
+    private boolean warmOnStartup = true;
+    private int maxResults = 10;
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+}
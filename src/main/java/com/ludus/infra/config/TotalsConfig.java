@@ -0,0 +1,19 @@
+package com.ludus.infra.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "totals")
+public class TotalsConfig {
+
+    private Duration ttl = Duration.ofMinutes(5);
+    private int maxEntries = 10_000;
+    private boolean estimateEnabled = false;
+    private long estimateThreshold = 1_000_000;
+}
@@ -0,0 +1,194 @@
+package com.ludus.infra.idempotency;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.ludus.exceptions.IdempotencyConflictException;
+import com.ludus.infra.config.IdempotencyConfig;
+import com.ludus.models.IdempotencyKeyModel;
+import com.ludus.repositories.IdempotencyKeyRepository;
+
+/**
+ * Runs a write at most once per client-supplied key and hands every retry the id it produced.
+ *
+ * <p>Recent keys live in a bounded in-memory map, where concurrent requests with the same key wait
+ * on the first one instead of racing it. Each key is also claimed in {@code idempotency_key} in the
+ * same transaction as the write, so retries that reach another instance, or arrive after a restart,
+ * are answered from the table. A claim that collides waits on the other transaction's row lock and
+ * then replays its result.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyConfig idempotencyConfig;
+    private final MessageSource messageSource;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final AtomicLong lastPruned = new AtomicLong(System.nanoTime());
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository, IdempotencyConfig idempotencyConfig,
+            MessageSource messageSource, PlatformTransactionManager transactionManager) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotencyConfig = idempotencyConfig;
+        this.messageSource = messageSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns the id {@code write} produced for {@code key}, running it only if no request with
+     * this key has succeeded yet. {@code fingerprint} describes the request; reusing a key for a
+     * different request is rejected. Failed writes are not remembered, so they can be retried.
+     */
+    public Long execute(String key, String fingerprint, Supplier<Long> write) {
+        Entry entry;
+        boolean first;
+        synchronized (entries) {
+            evictExpired();
+            entry = entries.get(key);
+            first = entry == null;
+            if (first) {
+                entry = new Entry(fingerprint);
+                entries.put(key, entry);
+                if (entries.size() > idempotencyConfig.getMaxEntries()) {
+                    // Safe even for a pending entry: its key is still claimed in the table.
+                    Iterator<Entry> eldest = entries.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw reused(key);
+        }
+        if (!first) {
+            return await(key, entry);
+        }
+
+        try {
+            Long id = claimAndRun(key, fingerprint, write);
+            entry.result.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            pruneIfDue();
+        }
+    }
+
+    private Long claimAndRun(String key, String fingerprint, Supplier<Long> write) {
+        IdempotencyKeyModel stored = idempotencyKeyRepository.findById(key).orElse(null);
+        if (stored != null) {
+            return replay(key, stored, fingerprint);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKeyModel claim = idempotencyKeyRepository
+                        .saveAndFlush(new IdempotencyKeyModel(key, fingerprint, Instant.now()));
+                Long id = write.get();
+                claim.setPurchaseId(id);
+                return id;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the key first. The insert waited for its transaction to
+            // finish, so its row is committed now.
+            return idempotencyKeyRepository.findById(key)
+                    .map(winner -> replay(key, winner, fingerprint))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Long replay(String key, IdempotencyKeyModel stored, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            throw reused(key);
+        }
+        return stored.getPurchaseId();
+    }
+
+    private Long await(String key, Entry entry) {
+        try {
+            return entry.result.get(idempotencyConfig.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(messageSource.getMessage("idempotency.key.in.progress",
+                    new Object[] {key}, Locale.getDefault()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(messageSource.getMessage("idempotency.key.in.progress",
+                    new Object[] {key}, Locale.getDefault()));
+        }
+    }
+
+    private IdempotencyConflictException reused(String key) {
+        return new IdempotencyConflictException(
+                messageSource.getMessage("idempotency.key.reused", new Object[] {key}, Locale.getDefault()));
+    }
+
+    /**
+     * Entries are kept in insertion order, so expired ones are always at the head. Must hold the
+     * map's lock.
+     */
+    private void evictExpired() {
+        long ttl = idempotencyConfig.getTtl().toNanos();
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.createdAt <= ttl) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void pruneIfDue() {
+        long last = lastPruned.get();
+        long now = System.nanoTime();
+        if (now - last < idempotencyConfig.getPruneInterval().toNanos() || !lastPruned.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            Integer removed = transactionTemplate.execute(status -> idempotencyKeyRepository
+                    .deleteCreatedBefore(Instant.now().minus(idempotencyConfig.getTtl())));
+            log.debug("Pruned {} expired idempotency keys", removed);
+        } catch (RuntimeException e) {
+            log.warn("Could not prune expired idempotency keys", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long createdAt = System.nanoTime();
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
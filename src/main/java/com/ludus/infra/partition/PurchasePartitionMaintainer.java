@@ -0,0 +1,119 @@
+package com.ludus.infra.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.ludus.infra.config.PurchasePartitionConfig;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the monthly partitions of purchase_model ahead of the calendar. There is no default
+ * partition, so a purchase dated in a month without one would fail; every
+ * {@code purchase-partitions.check-interval} the next {@code purchase-partitions.months-ahead}
+ * months are created if missing. This cannot be turned off: nothing else creates them.
+ *
+ * <p>With {@code purchase-partitions.retention-months} set, months older than that are detached
+ * with {@code DETACH PARTITION ... CONCURRENTLY}, which only briefly locks purchase_model. The
+ * detached table keeps its name and data so it can be archived and dropped separately.
+ */
+@Component
+public class PurchasePartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchasePartitionMaintainer.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("purchase_model_(\\d{4})_(\\d{2})");
+
+    private static final String ATTACHED_PARTITIONS_SQL = """
+            SELECT c.relname, i.inhdetachpending
+            FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'purchase_model'::regclass
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PurchasePartitionConfig purchasePartitionConfig;
+    private ScheduledExecutorService scheduler;
+
+    public PurchasePartitionMaintainer(DataSource dataSource, PurchasePartitionConfig purchasePartitionConfig) {
+        // Plain auto-commit statements: DETACH ... CONCURRENTLY cannot run inside a transaction.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.purchasePartitionConfig = purchasePartitionConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = purchasePartitionConfig.getCheckInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "purchase-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void maintain() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_purchase_partitions(CAST(? AS date), CAST(? AS date))", Integer.class,
+                thisMonth, thisMonth.plusMonths(purchasePartitionConfig.getMonthsAhead()));
+        if (created != null && created > 0) {
+            log.info("Created {} purchase partitions up to {}", created,
+                    YearMonth.from(thisMonth).plusMonths(purchasePartitionConfig.getMonthsAhead()));
+        }
+
+        int retentionMonths = purchasePartitionConfig.getRetentionMonths();
+        if (retentionMonths > 0) {
+            detachBefore(YearMonth.from(thisMonth).minusMonths(retentionMonths));
+        }
+    }
+
+    private void detachBefore(YearMonth cutoff) {
+        List<Partition> partitions = jdbcTemplate.query(ATTACHED_PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)));
+        for (Partition partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            // A concurrent detach that was interrupted leaves the partition pending until finalized.
+            String mode = partition.detachPending() ? "FINALIZE" : "CONCURRENTLY";
+            jdbcTemplate.execute("ALTER TABLE purchase_model DETACH PARTITION " + partition.name() + " " + mode);
+            log.info("Detached purchase partition {} for archiving", partition.name());
+        }
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("Purchase partition maintenance failed, retrying in {}",
+                    purchasePartitionConfig.getCheckInterval(), e);
+        }
+    }
+
+    private record Partition(String name, boolean detachPending) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.ludus.infra.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.infra.config.PurchasePipelineConfig;
+import com.ludus.models.PurchaseModel;
+import com.ludus.repositories.PurchaseRepository;
+import com.ludus.services.SalesStatsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for purchases. Request threads hand validated purchases to a bounded queue and
+ * block until they are durable; a single writer drains up to {@code purchase-pipeline.batch-size}
+ * of them, waiting at most {@code purchase-pipeline.linger} for a batch to fill, and inserts them
+ * with one JDBC batch and one commit, along with their sales rollup rows. Under a burst the commit cost is shared by the whole batch.
+ *
+ * <p>A full queue is backpressure: callers wait up to {@code purchase-pipeline.offer-timeout} for
+ * room and are then turned away with a 503 rather than queueing without bound. A queued caller
+ * waits at most {@code purchase-pipeline.commit-timeout} for its batch to commit.
+ */
+@Component
+public class PurchaseWritePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseWritePipeline.class);
+
+    private final PurchaseRepository purchaseRepository;
+    private final SalesStatsService salesStatsService;
+    private final PurchasePipelineConfig pipelineConfig;
+    private final MessageSource messageSource;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public PurchaseWritePipeline(PurchaseRepository purchaseRepository, SalesStatsService salesStatsService,
+            PurchasePipelineConfig pipelineConfig, MessageSource messageSource,
+            PlatformTransactionManager transactionManager) {
+        this.purchaseRepository = purchaseRepository;
+        this.salesStatsService = salesStatsService;
+        this.pipelineConfig = pipelineConfig;
+        this.messageSource = messageSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(pipelineConfig.getQueueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return pipelineConfig.isEnabled();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!pipelineConfig.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("purchase-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Stops taking purchases and waits for the writer to flush what is already queued.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues {@code purchase} and blocks until the batch holding it has committed. Returns the id
+     * it was stored under. Throws {@link ServiceBusyException} if the batch has not committed within
+     * {@code purchase-pipeline.commit-timeout}, in which case the purchase may still be written.
+     * {@code onCommit} is run by the writer once the purchase has committed, whether or not the
+     * caller is still waiting, and never for a purchase that was not written.
+     */
+    public Long submit(PurchaseModel purchase, Runnable onCommit) {
+        Pending pending = new Pending(purchase, onCommit, new CompletableFuture<>());
+        boolean queued;
+        try {
+            queued = running
+                    && queue.offer(pending, pipelineConfig.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw busy();
+        }
+
+        try {
+            return pending.result.get(pipelineConfig.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException(
+                    messageSource.getMessage("purchase.pipeline.timeout", null, Locale.getDefault()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        }
+    }
+
+    private void drain() {
+        int batchSize = pipelineConfig.getBatchSize();
+        long lingerNanos = pipelineConfig.getLinger().toNanos();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                // Whatever was already taken off the queue is never written; its callers must not wait on it.
+                Thread.currentThread().interrupt();
+                running = false;
+                batch.forEach(pending -> pending.result.completeExceptionally(busy()));
+            } catch (RuntimeException e) {
+                log.error("Purchase writer failed on a batch of {}", batch.size(), e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        queue.forEach(pending -> pending.result.completeExceptionally(busy()));
+        queue.clear();
+    }
+
+    private ServiceBusyException busy() {
+        return new ServiceBusyException(
+                messageSource.getMessage("purchase.pipeline.busy", null, Locale.getDefault()));
+    }
+
+    private void write(List<Pending> batch) {
+        List<PurchaseModel> purchases = batch.stream().map(Pending::purchase).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                purchaseRepository.saveAll(purchases);
+                salesStatsService.record(purchases);
+            });
+        } catch (RuntimeException e) {
+            // One bad row (a game deleted since it was validated, say) must not fail its neighbours,
+            // so retry them one by one and fail only the ones that fail on their own.
+            log.warn("Batch of {} purchases failed, writing them one at a time", batch.size(), e);
+            for (Pending pending : batch) {
+                pending.purchase.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        purchaseRepository.save(pending.purchase);
+                        salesStatsService.record(List.of(pending.purchase));
+                    });
+                } catch (RuntimeException single) {
+                    pending.result.completeExceptionally(single);
+                    continue;
+                }
+                committed(pending);
+            }
+            return;
+        }
+        batch.forEach(this::committed);
+        log.debug("Committed a batch of {} purchases", batch.size());
+    }
+
+    private void committed(Pending pending) {
+        try {
+            pending.onCommit.run();
+        } catch (RuntimeException e) {
+            // The purchase is durable; a failed follow-up must not report it as failed.
+            log.warn("Post-commit update failed for purchase {}", pending.purchase.getId(), e);
+        }
+        pending.result.complete(pending.purchase.getId());
+    }
+
+    private record Pending(PurchaseModel purchase, Runnable onCommit, CompletableFuture<Long> result) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.ludus.infra.report;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import com.ludus.enums.ReportStatus;
+
+/**
+ * One run of a report. The thread writing it updates its status and row count, and requests
+ * polling it read them.
+ */
+public final class ReportJob {
+
+    private final String id;
+    private final ReportSpec spec;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private volatile ReportStatus status = ReportStatus.QUEUED;
+    private volatile long rows;
+    private volatile long expectedRows = -1;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private Future<?> future;
+
+    ReportJob(String id, ReportSpec spec, Path file) {
+        this.id = id;
+        this.spec = spec;
+        this.file = file;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ReportSpec getSpec() {
+        return spec;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Percent of the expected rows written so far, or null while the total is unknown. Stays
+     * below 100 until the file is complete.
+     */
+    public Integer getProgress() {
+        if (status == ReportStatus.COMPLETED) {
+            return 100;
+        }
+        long expected = expectedRows;
+        return expected > 0 ? (int) Math.min(99, rows * 100 / expected) : null;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Sets how many rows the report is expected to have, for {@link #getProgress()}.
+     */
+    public void setExpectedRows(long expectedRows) {
+        this.expectedRows = expectedRows;
+    }
+
+    /**
+     * Counts a written row. Throws {@link CancellationException} once the job has been
+     * cancelled, which stops the report where it is.
+     */
+    public void rowWritten() {
+        if (cancelRequested) {
+            throw new CancellationException();
+        }
+        rows++;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void start() {
+        status = ReportStatus.RUNNING;
+    }
+
+    /**
+     * Records how the job ended. Only the first call counts.
+     */
+    void finish(ReportStatus status, String error) {
+        if (finishedAt != null) {
+            return;
+        }
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+}
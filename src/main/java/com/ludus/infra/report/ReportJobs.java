@@ -0,0 +1,215 @@
+package com.ludus.infra.report;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import com.ludus.enums.ReportStatus;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.infra.config.ReportConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs reports in the background and keeps their files on local disk until they are
+ * downloaded or expire.
+ *
+ * <p>Every job gets its own virtual thread, but at most {@code reports.max-concurrent} write at
+ * once, each holding one database connection, so reports cannot take the pool away from API
+ * requests; the rest wait queued. A job for the same spec as one still queued or running is not
+ * started again: the running job is returned instead. Rows go to a {@code .part} file that is
+ * renamed once complete, and finished jobs are forgotten, with their files, after
+ * {@code reports.ttl}.
+ *
+ * <p>Jobs live in this instance's memory, so a job is only visible on the instance that ran it,
+ * and leftover files in {@code reports.directory} are removed on startup.
+ */
+@Component
+public class ReportJobs {
+
+    /**
+     * Writes a report's rows to {@code out}, calling {@link ReportJob#rowWritten()} after each.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void write(ReportJob job, OutputStream out) throws IOException;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobs.class);
+
+    private final ReportConfig reportConfig;
+    private final MessageSource messageSource;
+    private final Path directory;
+    private final Semaphore writers;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-", 0).factory());
+    private final Map<String, ReportJob> jobs = new LinkedHashMap<>();
+    private final Map<ReportSpec, ReportJob> inFlight = new HashMap<>();
+
+    public ReportJobs(ReportConfig reportConfig, MessageSource messageSource) {
+        this.reportConfig = reportConfig;
+        this.messageSource = messageSource;
+        this.directory = Path.of(reportConfig.getDirectory());
+        this.writers = new Semaphore(reportConfig.getMaxConcurrent(), true);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts {@code task} for {@code spec}, or returns the job already queued or running for it.
+     * Rejects the job with a 503 when {@code reports.max-queued} jobs are already waiting or
+     * running.
+     */
+    public ReportJob submit(ReportSpec spec, Task task) {
+        synchronized (jobs) {
+            evictExpired();
+            ReportJob running = inFlight.get(spec);
+            if (running != null) {
+                return running;
+            }
+            if (inFlight.size() >= reportConfig.getMaxQueued()) {
+                throw new ServiceBusyException(messageSource.getMessage("report.busy", null, Locale.getDefault()));
+            }
+            String id = UUID.randomUUID().toString();
+            ReportJob job = new ReportJob(id, spec, directory.resolve(id + "." + spec.format().getExtension()));
+            jobs.put(id, job);
+            inFlight.put(spec, job);
+            job.setFuture(executor.submit(() -> run(job, task)));
+            return job;
+        }
+    }
+
+    public Optional<ReportJob> get(String id) {
+        synchronized (jobs) {
+            evictExpired();
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Cancels a queued or running job, which stays visible as cancelled until it expires, or
+     * forgets a finished one and deletes its file. Returns false if there is no such job.
+     */
+    public boolean cancel(String id) {
+        synchronized (jobs) {
+            ReportJob job = jobs.get(id);
+            if (job == null) {
+                return false;
+            }
+            if (job.isFinished()) {
+                jobs.remove(id);
+                deleteQuietly(job.getFile());
+                return true;
+            }
+            job.requestCancel();
+            // A running job stops at its next row; interrupting it would close its connection.
+            // A queued one may not have started yet, in which case it never will.
+            if (job.getStatus() == ReportStatus.QUEUED && job.getFuture().cancel(true)) {
+                finish(job, ReportStatus.CANCELLED, null);
+            }
+            return true;
+        }
+    }
+
+    private void run(ReportJob job, Task task) {
+        try {
+            writers.acquire();
+        } catch (InterruptedException e) {
+            finish(job, ReportStatus.CANCELLED, null);
+            return;
+        }
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            synchronized (jobs) {
+                if (job.isCancelRequested()) {
+                    finish(job, ReportStatus.CANCELLED, null);
+                    return;
+                }
+                job.start();
+            }
+            long started = System.nanoTime();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                task.write(job, out);
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            finish(job, ReportStatus.COMPLETED, null);
+            log.info("Report {} ({}) wrote {} rows in {} ms", job.getId(), job.getSpec().fileName(), job.getRows(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (CancellationException e) {
+            deleteQuietly(part);
+            finish(job, ReportStatus.CANCELLED, null);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(part);
+            if (job.isCancelRequested()) {
+                finish(job, ReportStatus.CANCELLED, null);
+            } else {
+                log.warn("Report {} ({}) failed", job.getId(), job.getSpec().fileName(), e);
+                finish(job, ReportStatus.FAILED,
+                        messageSource.getMessage("report.failed", null, Locale.getDefault()));
+            }
+        } finally {
+            writers.release();
+        }
+    }
+
+    private void finish(ReportJob job, ReportStatus status, String error) {
+        synchronized (jobs) {
+            job.finish(status, error);
+            inFlight.remove(job.getSpec(), job);
+        }
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(reportConfig.getTtl());
+        Iterator<ReportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            ReportJob job = iterator.next();
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                iterator.remove();
+                deleteQuietly(job.getFile());
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
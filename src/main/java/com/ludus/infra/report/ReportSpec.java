@@ -0,0 +1,26 @@
+package com.ludus.infra.report;
+
+import java.time.LocalDate;
+import com.ludus.enums.ExportFormat;
+import com.ludus.enums.ReportType;
+
+/**
+ * What a report contains; {@code from} and {@code to} are optional and inclusive. Jobs with
+ * equal specs produce the same file.
+ */
+public record ReportSpec(ReportType type, ExportFormat format, LocalDate from, LocalDate to) {
+
+    /**
+     * Name the file is downloaded under, such as {@code purchases-from-2025-01-01.csv}.
+     */
+    public String fileName() {
+        StringBuilder name = new StringBuilder(type.name().toLowerCase().replace('_', '-'));
+        if (from != null) {
+            name.append("-from-").append(from);
+        }
+        if (to != null) {
+            name.append("-to-").append(to);
+        }
+        return name.append('.').append(format.getExtension()).toString();
+    }
+}
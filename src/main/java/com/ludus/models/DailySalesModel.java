@@ -0,0 +1,49 @@
+package com.ludus.models;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.ludus.enums.PaymentMethod;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Units sold and revenue for one game, payment method and day. Rows are upserted in the same
+ * transaction as the purchases they count, so sales stats never need to read purchase_model.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "purchase_daily_sales")
+@IdClass(DailySalesModel.Key.class)
+public class DailySalesModel {
+
+  @Id
+  private LocalDate saleDate;
+
+  @Id
+  private Long gameId;
+
+  @Id
+  @Column(length = 20)
+  @Enumerated(EnumType.STRING)
+  private PaymentMethod paymentMethod;
+
+  @Column(nullable = false)
+  private long units;
+
+  @Column(nullable = false)
+  private BigDecimal revenue;
+
+  public record Key(LocalDate saleDate, Long gameId, PaymentMethod paymentMethod) implements Serializable {
+  }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 import com.ludus.enums.GameGenre;
 import com.ludus.enums.GamePlatform;
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.*;
 import lombok.Data;
@@ -12,7 +13,8 @@ import lombok.Data;
 @Entity
 public class GameModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_model_seq")
+    @SequenceGenerator(name = "game_model_seq", sequenceName = "game_model_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 100)
@@ -30,4 +32,9 @@ public class GameModel {
 
     private BigDecimal price;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 }
@@ -0,0 +1,65 @@
+package com.ludus.models;
+
+import java.time.Instant;
+import org.springframework.data.domain.Persistable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A client-supplied Idempotency-Key and the purchase it produced. The key is the primary key, so
+ * two requests racing with the same key cannot both commit.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyKeyModel implements Persistable<String> {
+
+  @Id
+  @Column(length = 255)
+  private String requestKey;
+
+  @Column(nullable = false, length = 255)
+  private String fingerprint;
+
+  private Long purchaseId;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  // Keys are assigned by the client, so tell Spring Data to persist rather than merge; a merge
+  // would read the row first and hide the unique key violation behind a lost update.
+  @Transient
+  private boolean isNew = true;
+
+  public IdempotencyKeyModel(String requestKey, String fingerprint, Instant createdAt) {
+    this.requestKey = requestKey;
+    this.fingerprint = fingerprint;
+    this.createdAt = createdAt;
+  }
+
+  @Override
+  public String getId() {
+    return requestKey;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+}
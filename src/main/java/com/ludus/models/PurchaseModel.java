@@ -1,17 +1,21 @@
 package com.ludus.models;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import org.hibernate.annotations.CreationTimestamp;
 import com.ludus.enums.PaymentMethod;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,12 +29,17 @@ import lombok.Setter;
 public class PurchaseModel {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_model_seq")
+  @SequenceGenerator(name = "purchase_model_seq", sequenceName = "purchase_model_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
   private LocalDate purchaseDate;
 
+  @CreationTimestamp
+  @Column(updatable = false)
+  private Instant createdAt;
+
   @Column(nullable = false)
   private BigDecimal price;
 
@@ -38,11 +47,11 @@ public class PurchaseModel {
   @Enumerated(EnumType.STRING)
   private PaymentMethod paymentMethod;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "game_id")
   private GameModel game;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private UserModel user;
 
@@ -0,0 +1,36 @@
+package com.ludus.models;
+
+import java.io.Serializable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Purchases of one game during one minute, counted in minutes since the epoch. Only minutes old
+ * enough that no more purchases can commit into them are stored.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "top_seller_bucket")
+@IdClass(TopSellerBucketModel.Key.class)
+public class TopSellerBucketModel {
+
+  @Id
+  private long bucketMinute;
+
+  @Id
+  private Long gameId;
+
+  @Column(nullable = false)
+  private long units;
+
+  public record Key(long bucketMinute, Long gameId) implements Serializable {
+  }
+}
@@ -0,0 +1,76 @@
+package com.ludus.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.ludus.models.DailySalesModel;
+import com.ludus.repositories.projections.GameRevenue;
+import com.ludus.repositories.projections.SalesTotal;
+
+public interface DailySalesRepository extends JpaRepository<DailySalesModel, DailySalesModel.Key> {
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO purchase_daily_sales (sale_date, game_id, payment_method, units, revenue)
+    VALUES (:saleDate, :gameId, :paymentMethod, :units, :revenue)
+    ON CONFLICT (sale_date, game_id, payment_method)
+    DO UPDATE SET units = purchase_daily_sales.units + EXCLUDED.units,
+                  revenue = purchase_daily_sales.revenue + EXCLUDED.revenue
+    """, nativeQuery = true)
+    void add(@Param("saleDate") LocalDate saleDate, @Param("gameId") Long gameId,
+             @Param("paymentMethod") String paymentMethod, @Param("units") long units,
+             @Param("revenue") BigDecimal revenue);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.SalesTotal(NULL, COALESCE(SUM(s.units), 0), COALESCE(SUM(s.revenue), 0))
+    FROM DailySalesModel s
+    WHERE (:from IS NULL OR s.saleDate >= :from)
+    AND (:to IS NULL OR s.saleDate <= :to)
+    """)
+    SalesTotal total(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.GameRevenue(g.id, g.name, SUM(s.units), SUM(s.revenue))
+    FROM DailySalesModel s JOIN GameModel g ON g.id = s.gameId
+    WHERE (:from IS NULL OR s.saleDate >= :from)
+    AND (:to IS NULL OR s.saleDate <= :to)
+    GROUP BY g.id, g.name
+    ORDER BY SUM(s.revenue) DESC, g.id ASC
+    """)
+    List<GameRevenue> byGame(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.SalesTotal(g.genre, SUM(s.units), SUM(s.revenue))
+    FROM DailySalesModel s JOIN GameModel g ON g.id = s.gameId
+    WHERE (:from IS NULL OR s.saleDate >= :from)
+    AND (:to IS NULL OR s.saleDate <= :to)
+    GROUP BY g.genre
+    ORDER BY SUM(s.revenue) DESC
+    """)
+    List<SalesTotal> byGenre(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.SalesTotal(s.paymentMethod, SUM(s.units), SUM(s.revenue))
+    FROM DailySalesModel s
+    WHERE (:from IS NULL OR s.saleDate >= :from)
+    AND (:to IS NULL OR s.saleDate <= :to)
+    GROUP BY s.paymentMethod
+    ORDER BY SUM(s.revenue) DESC
+    """)
+    List<SalesTotal> byPaymentMethod(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.SalesTotal(s.saleDate, SUM(s.units), SUM(s.revenue))
+    FROM DailySalesModel s
+    WHERE (:from IS NULL OR s.saleDate >= :from)
+    AND (:to IS NULL OR s.saleDate <= :to)
+    GROUP BY s.saleDate
+    ORDER BY s.saleDate ASC
+    """)
+    List<SalesTotal> byDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
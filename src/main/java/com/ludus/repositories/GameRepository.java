@@ -1,20 +1,114 @@
 package com.ludus.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import com.ludus.dtos.responses.GameDtoResponse;
 import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
 import com.ludus.models.GameModel;
+import com.ludus.repositories.projections.GameVersion;
 
 public interface GameRepository extends JpaRepository<GameModel, Long> {
 
+    @Query(value = """
+    SELECT new com.ludus.dtos.responses.GameDtoResponse(g.id, g.name, g.genre, g.releaseYear, g.platform, g.price)
+    FROM GameModel g
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:name IS NULL OR LOWER(CAST(g.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+    """, countQuery = """
+    SELECT COUNT(g) FROM GameModel g
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:name IS NULL OR LOWER(CAST(g.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+    """)
+    Page<GameDtoResponse> findAll(@Param("genre") GameGenre genre, @Param("name") String name, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.dtos.responses.GameDtoResponse(g.id, g.name, g.genre, g.releaseYear, g.platform, g.price)
+    FROM GameModel g
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:name IS NULL OR LOWER(CAST(g.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+    """)
+    List<GameDtoResponse> findPageContent(@Param("genre") GameGenre genre, @Param("name") String name, Pageable pageable);
+
     @Query("""
-    SELECT g FROM GameModel g
+    SELECT new com.ludus.dtos.responses.GameDtoResponse(g.id, g.name, g.genre, g.releaseYear, g.platform, g.price)
+    FROM GameModel g
     WHERE (:genre IS NULL OR g.genre = :genre)
     AND (:name IS NULL OR LOWER(CAST(g.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+    AND g.id > :afterId
+    ORDER BY g.id ASC
+    """)
+    List<GameDtoResponse> findAllAfter(@Param("genre") GameGenre genre, @Param("name") String name,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.dtos.responses.GameDtoResponse(g.id, g.name, g.genre, g.releaseYear, g.platform, g.price)
+    FROM GameModel g
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:name IS NULL OR LOWER(CAST(g.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+    AND g.id < :beforeId
+    ORDER BY g.id DESC
+    """)
+    List<GameDtoResponse> findAllBefore(@Param("genre") GameGenre genre, @Param("name") String name,
+                                        @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.dtos.responses.GameDtoResponse(g.id, g.name, g.genre, g.releaseYear, g.platform, g.price)
+    FROM GameModel g
+    ORDER BY g.id ASC
+    """)
+    List<GameDtoResponse> findAllEntries();
+
+    @Query("SELECT g.version FROM GameModel g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.ludus.repositories.projections.GameVersion(g.id, g.version) FROM GameModel g")
+    List<GameVersion> findAllVersions();
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+    UPDATE GameModel g SET g.price = :price, g.version = g.version + 1
+    WHERE g.id IN :ids
+    AND (:genre IS NULL OR g.genre = :genre)
+    AND (:platform IS NULL OR g.platform = :platform)
+    """)
+    int updatePriceByIds(@Param("ids") Collection<Long> ids, @Param("genre") GameGenre genre,
+                         @Param("platform") GamePlatform platform, @Param("price") BigDecimal price);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+    UPDATE GameModel g SET g.price = :price, g.version = g.version + 1
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:platform IS NULL OR g.platform = :platform)
+    """)
+    int updatePriceByFilter(@Param("genre") GameGenre genre, @Param("platform") GamePlatform platform,
+                            @Param("price") BigDecimal price);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+    UPDATE GameModel g SET g.price = ROUND(g.price * :factor, 2), g.version = g.version + 1
+    WHERE g.id IN :ids
+    AND (:genre IS NULL OR g.genre = :genre)
+    AND (:platform IS NULL OR g.platform = :platform)
+    """)
+    int scalePriceByIds(@Param("ids") Collection<Long> ids, @Param("genre") GameGenre genre,
+                        @Param("platform") GamePlatform platform, @Param("factor") BigDecimal factor);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+    UPDATE GameModel g SET g.price = ROUND(g.price * :factor, 2), g.version = g.version + 1
+    WHERE (:genre IS NULL OR g.genre = :genre)
+    AND (:platform IS NULL OR g.platform = :platform)
     """)
-    Page<GameModel> findAll(@Param("genre") GameGenre genre, @Param("name") String name, Pageable pageable);
+    int scalePriceByFilter(@Param("genre") GameGenre genre, @Param("platform") GamePlatform platform,
+                           @Param("factor") BigDecimal factor);
 
 }
@@ -0,0 +1,15 @@
+package com.ludus.repositories;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.ludus.models.IdempotencyKeyModel;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyModel, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyModel k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
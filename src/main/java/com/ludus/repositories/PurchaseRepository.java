@@ -1,21 +1,252 @@
 package com.ludus.repositories;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.ludus.enums.PaymentMethod;
 import com.ludus.models.PurchaseModel;
+import com.ludus.repositories.projections.GameSales;
+import com.ludus.repositories.projections.MinuteSales;
+import com.ludus.repositories.projections.PurchaseRef;
+import com.ludus.repositories.projections.PurchaseRow;
 
 public interface PurchaseRepository extends JpaRepository<PurchaseModel, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"game", "user"})
+    Optional<PurchaseModel> findById(Long id);
+
+    // The joined queries drop purchases whose game or user is null, so their count queries test
+    // the foreign keys for NOT NULL rather than joining.
+
+    @Query(value = """
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE (:gameId IS NULL OR g.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    ORDER BY p.id ASC
+    """, countQuery = """
+    SELECT COUNT(p) FROM PurchaseModel p
+    WHERE (:gameId IS NULL OR p.game.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    """)
+    Page<PurchaseRow> findAll(@Param("gameId") Long gameId,
+                              @Param("paymentMethod") PaymentMethod paymentMethod,
+                              @Param("from") LocalDate from, @Param("to") LocalDate to,
+                              Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE (:gameId IS NULL OR g.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRow> findPageContent(@Param("gameId") Long gameId,
+                                      @Param("paymentMethod") PaymentMethod paymentMethod,
+                                      @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                      Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE (:gameId IS NULL OR g.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.id > :afterId
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRow> findAllAfter(@Param("gameId") Long gameId,
+                                   @Param("paymentMethod") PaymentMethod paymentMethod,
+                                   @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE (:gameId IS NULL OR g.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.id < :beforeId
+    ORDER BY p.id DESC
+    """)
+    List<PurchaseRow> findAllBefore(@Param("gameId") Long gameId,
+                                    @Param("paymentMethod") PaymentMethod paymentMethod,
+                                    @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                    @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(value = """
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE u.id = :userId
+    ORDER BY p.id ASC
+    """, countQuery = """
+    SELECT COUNT(p) FROM PurchaseModel p
+    WHERE p.user.id = :userId
+    AND p.game.id IS NOT NULL
+    """)
+    Page<PurchaseRow> findByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE u.id = :userId
+    AND p.id > :afterId
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRow> findByUserAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRow(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        g.id, g.name, g.genre, g.releaseYear, g.platform, g.price, u.id, u.email, u.name)
+    FROM PurchaseModel p JOIN p.game g JOIN p.user u
+    WHERE u.id = :userId
+    AND p.id < :beforeId
+    ORDER BY p.id DESC
+    """)
+    List<PurchaseRow> findByUserBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    // The ref queries below return the same rows as the PurchaseRow ones above, but read the game
+    // and user ids from purchase_model itself instead of joining game_model and user_model.
+
+    @Query(value = """
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE (:gameId IS NULL OR p.game.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    ORDER BY p.id ASC
+    """, countQuery = """
+    SELECT COUNT(p) FROM PurchaseModel p
+    WHERE (:gameId IS NULL OR p.game.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    """)
+    Page<PurchaseRef> findAllRefs(@Param("gameId") Long gameId,
+                                  @Param("paymentMethod") PaymentMethod paymentMethod,
+                                  @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE (:gameId IS NULL OR p.game.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRef> findRefPageContent(@Param("gameId") Long gameId,
+                                         @Param("paymentMethod") PaymentMethod paymentMethod,
+                                         @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                         Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE (:gameId IS NULL OR p.game.id = :gameId)
+    AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    AND p.id > :afterId
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRef> findAllRefsAfter(@Param("gameId") Long gameId,
+                                       @Param("paymentMethod") PaymentMethod paymentMethod,
+                                       @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("""
-    SELECT p FROM PurchaseModel p
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
     WHERE (:gameId IS NULL OR p.game.id = :gameId)
     AND (:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod)
+    AND p.purchaseDate BETWEEN :from AND :to
+    AND p.game.id IS NOT NULL AND p.user.id IS NOT NULL
+    AND p.id < :beforeId
+    ORDER BY p.id DESC
+    """)
+    List<PurchaseRef> findAllRefsBefore(@Param("gameId") Long gameId,
+                                        @Param("paymentMethod") PaymentMethod paymentMethod,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                        @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(value = """
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE p.user.id = :userId
+    AND p.game.id IS NOT NULL
+    ORDER BY p.id ASC
+    """, countQuery = """
+    SELECT COUNT(p) FROM PurchaseModel p
+    WHERE p.user.id = :userId
+    AND p.game.id IS NOT NULL
+    """)
+    Page<PurchaseRef> findRefsByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE p.user.id = :userId
+    AND p.game.id IS NOT NULL
+    AND p.id > :afterId
+    ORDER BY p.id ASC
+    """)
+    List<PurchaseRef> findRefsByUserAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.PurchaseRef(p.id, p.purchaseDate, p.price, p.paymentMethod,
+        p.game.id, p.user.id)
+    FROM PurchaseModel p
+    WHERE p.user.id = :userId
+    AND p.game.id IS NOT NULL
+    AND p.id < :beforeId
+    ORDER BY p.id DESC
+    """)
+    List<PurchaseRef> findRefsByUserBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                           Pageable pageable);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.GameSales(p.game.id, COUNT(p))
+    FROM PurchaseModel p
+    GROUP BY p.game.id
+    """)
+    List<GameSales> countPurchasesByGame();
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.MinuteSales(
+        CAST(FLOOR(EXTRACT(EPOCH FROM p.createdAt) / 60) AS Long), p.game.id, COUNT(p))
+    FROM PurchaseModel p
+    WHERE p.createdAt >= :since
+    GROUP BY CAST(FLOOR(EXTRACT(EPOCH FROM p.createdAt) / 60) AS Long), p.game.id
     """)
-Page<PurchaseModel> findAll(@Param("gameId")Long gameId, 
-                                               @Param("paymentMethod")PaymentMethod paymentMethod, 
-                                               Pageable pageable);
+    List<MinuteSales> countPurchasesByMinuteSince(@Param("since") Instant since);
 }
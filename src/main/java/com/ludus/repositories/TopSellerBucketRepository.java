@@ -0,0 +1,31 @@
+package com.ludus.repositories;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.ludus.models.TopSellerBucketModel;
+import com.ludus.repositories.projections.MinuteSales;
+
+public interface TopSellerBucketRepository extends JpaRepository<TopSellerBucketModel, TopSellerBucketModel.Key> {
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO top_seller_bucket (bucket_minute, game_id, units)
+    VALUES (:minute, :gameId, :units)
+    ON CONFLICT (bucket_minute, game_id) DO UPDATE SET units = EXCLUDED.units
+    """, nativeQuery = true)
+    void put(@Param("minute") long minute, @Param("gameId") Long gameId, @Param("units") long units);
+
+    @Query("""
+    SELECT new com.ludus.repositories.projections.MinuteSales(b.bucketMinute, b.gameId, b.units)
+    FROM TopSellerBucketModel b
+    WHERE b.bucketMinute > :after
+    """)
+    List<MinuteSales> findAfter(@Param("after") long after);
+
+    @Modifying
+    @Query("DELETE FROM TopSellerBucketModel b WHERE b.bucketMinute <= :minute")
+    int deleteUpTo(@Param("minute") long minute);
+}
@@ -7,7 +7,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
+import com.ludus.dtos.responses.UserDtoResponse;
 import com.ludus.models.UserModel;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -17,10 +19,45 @@ public interface UserRepository extends JpaRepository<UserModel, Long> {
 
     Optional<UserModel> findByEmail(String email);
 
+    @Query(value = """
+            SELECT new com.ludus.dtos.responses.UserDtoResponse(u.id, u.email, u.name)
+            FROM UserModel u
+            WHERE (:name IS NULL OR LOWER(CAST(u.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+            AND u.active = true
+            """, countQuery = """
+            SELECT COUNT(u) FROM UserModel u
+            WHERE (:name IS NULL OR LOWER(CAST(u.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+            AND u.active = true
+            """)
+    Page<UserDtoResponse> findAllActiveUsersWithNameFilter(@Param("name") String name, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ludus.dtos.responses.UserDtoResponse(u.id, u.email, u.name)
+            FROM UserModel u
+            WHERE (:name IS NULL OR LOWER(CAST(u.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+            AND u.active = true
+            """)
+    List<UserDtoResponse> findActiveUsersPageContent(@Param("name") String name, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ludus.dtos.responses.UserDtoResponse(u.id, u.email, u.name)
+            FROM UserModel u
+            WHERE (:name IS NULL OR LOWER(CAST(u.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
+            AND u.active = true
+            AND u.id > :afterId
+            ORDER BY u.id ASC
+            """)
+    List<UserDtoResponse> findAllActiveUsersAfter(@Param("name") String name, @Param("afterId") Long afterId,
+            Pageable pageable);
+
     @Query("""
-            SELECT u FROM UserModel u
+            SELECT new com.ludus.dtos.responses.UserDtoResponse(u.id, u.email, u.name)
+            FROM UserModel u
             WHERE (:name IS NULL OR LOWER(CAST(u.name AS string)) LIKE LOWER(CONCAT('%', CAST(:name AS string), '%')))
             AND u.active = true
+            AND u.id < :beforeId
+            ORDER BY u.id DESC
             """)
-    Page<UserModel> findAllActiveUsersWithNameFilter(@Param("name") String name, Pageable pageable);
+    List<UserDtoResponse> findAllActiveUsersBefore(@Param("name") String name, @Param("beforeId") Long beforeId,
+            Pageable pageable);
 }
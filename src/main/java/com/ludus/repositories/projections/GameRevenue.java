@@ -0,0 +1,15 @@
+package com.ludus.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Units and revenue of one game, summed over the sales rollup.
+ */
+public record GameRevenue(
+    Long gameId,
+    String name,
+    Long units,
+    BigDecimal revenue
+) {
+
+}
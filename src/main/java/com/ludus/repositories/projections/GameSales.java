@@ -0,0 +1,11 @@
+package com.ludus.repositories.projections;
+
+/**
+ * Number of purchases of one game.
+ */
+public record GameSales(
+    Long gameId,
+    long purchases
+) {
+
+}
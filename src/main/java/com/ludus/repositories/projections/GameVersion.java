@@ -0,0 +1,11 @@
+package com.ludus.repositories.projections;
+
+/**
+ * The id and optimistic-lock version of one game.
+ */
+public record GameVersion(
+    Long id,
+    Long version
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.ludus.repositories.projections;
+
+/**
+ * Purchases of one game during one minute, counted in minutes since the epoch.
+ */
+public record MinuteSales(
+    long minute,
+    Long gameId,
+    long units
+) {
+
+}
@@ -0,0 +1,20 @@
+package com.ludus.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.ludus.enums.PaymentMethod;
+
+/**
+ * A purchase with its game and user referenced by id, read from purchase_model's own foreign key
+ * columns so the query joins neither table.
+ */
+public record PurchaseRef(
+    Long id,
+    LocalDate purchaseDate,
+    BigDecimal price,
+    PaymentMethod paymentMethod,
+    Long gameId,
+    Long userId
+) {
+
+}
@@ -0,0 +1,29 @@
+package com.ludus.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+import com.ludus.enums.PaymentMethod;
+
+/**
+ * A purchase joined with its game and user, selected column by column so list queries never
+ * load or track the entities.
+ */
+public record PurchaseRow(
+    Long id,
+    LocalDate purchaseDate,
+    BigDecimal price,
+    PaymentMethod paymentMethod,
+    Long gameId,
+    String gameName,
+    GameGenre gameGenre,
+    int gameReleaseYear,
+    GamePlatform gamePlatform,
+    BigDecimal gamePrice,
+    Long userId,
+    String userEmail,
+    String userName
+) {
+
+}
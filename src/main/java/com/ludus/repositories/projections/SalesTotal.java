@@ -0,0 +1,15 @@
+package com.ludus.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Units and revenue summed over one group of the sales rollup; {@code key} is the grouping value
+ * (a genre, payment method or day), or null for a grand total.
+ */
+public record SalesTotal(
+    Object key,
+    Long units,
+    BigDecimal revenue
+) {
+
+}
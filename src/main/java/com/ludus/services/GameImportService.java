@@ -0,0 +1,265 @@
+package com.ludus.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ludus.catalog.GameCatalog;
+import com.ludus.catalog.GameFacets;
+import com.ludus.catalog.GameSearchIndex;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.dtos.requests.GameDtoRequest;
+import com.ludus.dtos.responses.ImportDtoResponse;
+import com.ludus.dtos.responses.ImportErrorDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.GameImportConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+import jakarta.validation.Validator;
+
+/**
+ * Imports games from an NDJSON or CSV stream. Rows are read one line at a time and written in
+ * batches, each in its own transaction, so memory use does not depend on the size of the upload.
+ */
+@Service
+public class GameImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final Logger log = LoggerFactory.getLogger(GameImportService.class);
+    private static final List<String> CSV_COLUMNS = List.of("name", "genre", "releaseYear", "platform", "price");
+
+    private final GameRepository gameRepository;
+    private final GameService gameService;
+    private final GameCatalog gameCatalog;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameSuggester gameSuggester;
+    private final GameFacets gameFacets;
+    private final TotalsCache totalsCache;
+    private final GameImportConfig gameImportConfig;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final SpringValidatorAdapter validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public GameImportService(GameRepository gameRepository, GameService gameService, GameCatalog gameCatalog,
+            GameSearchIndex gameSearchIndex, GameSuggester gameSuggester, GameFacets gameFacets,
+            TotalsCache totalsCache, GameImportConfig gameImportConfig, MessageSource messageSource,
+            ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
+        this.gameCatalog = gameCatalog;
+        this.gameSearchIndex = gameSearchIndex;
+        this.gameSuggester = gameSuggester;
+        this.gameFacets = gameFacets;
+        this.totalsCache = totalsCache;
+        this.gameImportConfig = gameImportConfig;
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        this.validator = new SpringValidatorAdapter(validator);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportDtoResponse importGames(InputStream body, String contentType) throws IOException {
+        boolean csv = contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV);
+        int batchSize = Math.max(1, gameImportConfig.getBatchSize());
+        Report report = new Report(gameImportConfig.getMaxReportedErrors());
+        List<Row> batch = new ArrayList<>(batchSize);
+        long started = System.nanoTime();
+
+        // Batches commit one by one, so whatever committed is published even if a later line or
+        // the upload itself fails.
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            int[] columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+
+                report.rows++;
+                try {
+                    GameDtoRequest gameDTO = csv ? fromCsv(line, columns)
+                            : objectMapper.readValue(line, GameDtoRequest.class);
+                    batch.add(new Row(lineNumber, toModel(gameDTO)));
+                } catch (ValidationException e) {
+                    report.fail(lineNumber, e.getErrors());
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    report.fail(lineNumber, List.of(message("game.import.malformed.row")));
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, report);
+                }
+            }
+            flush(batch, report);
+        } finally {
+            if (report.imported > 0) {
+                gameCatalog.onBulkChange();
+                gameSearchIndex.onBulkChange();
+                gameSuggester.onBulkChange();
+                gameFacets.onBulkChange();
+                totalsCache.invalidate(TotalsCache.GAMES);
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Game import finished: {} rows, {} imported, {} failed in {} ms ({} rows/s)", report.rows,
+                report.imported, report.failed, elapsedMillis, report.rows * 1000 / elapsedMillis);
+        return report.toResponse();
+    }
+
+    private GameModel toModel(GameDtoRequest gameDTO) {
+        if (gameDTO == null) {
+            throw new IllegalArgumentException("Empty row");
+        }
+        BindingResult bindingResult = new BeanPropertyBindingResult(gameDTO, "game");
+        validator.validate(gameDTO, bindingResult);
+        gameService.validateFields(gameDTO, bindingResult);
+
+        GameModel gameModel = new GameModel();
+        gameModel.setName(gameDTO.name());
+        gameModel.setGenre(GameGenre.valueOf(gameDTO.genre().toUpperCase().trim()));
+        gameModel.setReleaseYear(gameDTO.releaseYear());
+        gameModel.setPlatform(GamePlatform.valueOf(gameDTO.platform().toUpperCase().trim()));
+        gameModel.setPrice(BigDecimal.valueOf(gameDTO.price()));
+        return gameModel;
+    }
+
+    private void flush(List<Row> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<GameModel> games = batch.stream().map(Row::game).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> gameRepository.saveAll(games));
+            report.imported += batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Game import batch starting at line {} failed", batch.get(0).line(), e);
+            for (Row row : batch) {
+                report.fail(row.line(), List.of(message("game.import.batch.error")));
+            }
+        }
+        batch.clear();
+    }
+
+    private int[] parseHeader(String line) {
+        List<String> header = splitCsv(line).stream().map(String::trim).toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String column = CSV_COLUMNS.get(i);
+            columns[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).equalsIgnoreCase(column)) {
+                    columns[i] = j;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new ValidationException(List.of(messageSource.getMessage("game.import.csv.header",
+                        new Object[] {String.join(", ", CSV_COLUMNS)}, Locale.getDefault())));
+            }
+        }
+        return columns;
+    }
+
+    private GameDtoRequest fromCsv(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            String value = columns[i] < fields.size() ? fields.get(columns[i]).trim() : "";
+            values[i] = value.isEmpty() ? null : value;
+        }
+        return new GameDtoRequest(values[0], values[1],
+                values[2] != null ? Integer.parseInt(values[2]) : 0,
+                values[3],
+                values[4] != null ? Float.valueOf(values[4]) : null);
+    }
+
+    /**
+     * Splits one CSV record. Fields may be quoted, with {@code ""} standing for a literal quote;
+     * quoted line breaks are not supported.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String message(String key) {
+        return messageSource.getMessage(key, null, Locale.getDefault());
+    }
+
+    private record Row(long line, GameModel game) {
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ImportErrorDtoResponse> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, List<String> details) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDtoResponse(line, details));
+            }
+        }
+
+        ImportDtoResponse toResponse() {
+            return new ImportDtoResponse(rows, imported, failed, errors);
+        }
+    }
+}
@@ -1,31 +1,54 @@
 package com.ludus.services;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.OptionalLong;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import com.ludus.catalog.CatalogSnapshot;
+import com.ludus.catalog.GameCatalog;
+import com.ludus.catalog.GameFacets;
+import com.ludus.catalog.GameSearchIndex;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.catalog.TopSellers;
 import com.ludus.dtos.requests.GameDtoRequest;
 import com.ludus.dtos.requests.GamePatchDtoRequest;
+import com.ludus.dtos.requests.GamePriceUpdateDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.InfoDtoResponse;
 import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameFacetsDtoResponse;
+import com.ludus.dtos.responses.GamePriceUpdateDtoResponse;
+import com.ludus.dtos.responses.GameSuggestionDtoResponse;
+import com.ludus.dtos.responses.TopSellerDtoResponse;
 import com.ludus.enums.GameGenre;
 import com.ludus.enums.GamePlatform;
+import com.ludus.enums.TopSellerWindow;
 import com.ludus.exceptions.NotFoundException;
 import com.ludus.exceptions.RetrievalException;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.InvalidPageException;
+import com.ludus.exceptions.PreconditionFailedException;
 import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.infra.config.SuggestConfig;
+import com.ludus.infra.config.TopSellersConfig;
 import com.ludus.models.GameModel;
 import com.ludus.repositories.GameRepository;
+import com.ludus.utils.PageCursor;
 import com.ludus.utils.UtilHelper;
 
 @Service
@@ -34,51 +57,203 @@ public class GameService {
   private final GameRepository gameRepository;
   private final MessageSource messageSource;
   private final UtilHelper utilHelper;
+  private final GameCatalog gameCatalog;
+  private final TotalsCache totalsCache;
+  private final PaginationConfig paginationConfig;
+  private final GameSearchIndex gameSearchIndex;
+  private final GameSuggester gameSuggester;
+  private final SuggestConfig suggestConfig;
+  private final GameFacets gameFacets;
+  private final TopSellers topSellers;
+  private final TopSellersConfig topSellersConfig;
 
-  public GameService(GameRepository gameRepository, MessageSource messageSource, UtilHelper utilHelper) {
+  public GameService(GameRepository gameRepository, MessageSource messageSource, UtilHelper utilHelper,
+      GameCatalog gameCatalog, TotalsCache totalsCache, PaginationConfig paginationConfig,
+      GameSearchIndex gameSearchIndex, GameSuggester gameSuggester, SuggestConfig suggestConfig,
+      GameFacets gameFacets, TopSellers topSellers, TopSellersConfig topSellersConfig) {
     this.gameRepository = gameRepository;
     this.messageSource = messageSource;
     this.utilHelper = utilHelper;
+    this.gameCatalog = gameCatalog;
+    this.totalsCache = totalsCache;
+    this.paginationConfig = paginationConfig;
+    this.gameSearchIndex = gameSearchIndex;
+    this.gameSuggester = gameSuggester;
+    this.suggestConfig = suggestConfig;
+    this.gameFacets = gameFacets;
+    this.topSellers = topSellers;
+    this.topSellersConfig = topSellersConfig;
   }
 
-  public ApiDtoResponse<GameDtoResponse> getAllGames(int page, String genre, String name) {
+  @Transactional(readOnly = true)
+  public ApiDtoResponse<GameDtoResponse> getAllGames(int page, Integer size, String genre, String name) {
+    return getAllGames(getCatalogSnapshot(), page, size, genre, name);
+  }
+
+  /**
+   * Like {@link #getAllGames(int, Integer, String, String)}, but reads {@code snapshot}, or the
+   * database when it is null.
+   */
+  @Transactional(readOnly = true)
+  public ApiDtoResponse<GameDtoResponse> getAllGames(CatalogSnapshot snapshot, int page, Integer size,
+      String genre, String name) {
     if (page < 1) {
       throw new InvalidPageException("Page number must be greater than 0");
     }
 
     int pageIndex = page - 1;
-    Pageable pageable = PageRequest.of(pageIndex, 10);
+    Pageable pageable = PageRequest.of(pageIndex, UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize()));
 
-    Page<GameModel> gamePage;
+    Page<GameDtoResponse> gamePage;
 
-    GameGenre genreEnum = null;
-    if (genre != null) {
-      try {
-        genreEnum = GameGenre.valueOf(genre.toUpperCase().trim());
-      } catch (IllegalArgumentException e) {
-        throw new NotFoundException(
-            messageSource.getMessage("invalid.genre", null, Locale.getDefault()));
-      }
+    GameGenre genreEnum = parseGenre(genre);
+
+    if (snapshot != null) {
+      Page<GameDtoResponse> catalogPage = gameCatalog.findAll(snapshot, genreEnum, name, pageable);
+      InfoDtoResponse info = utilHelper.buildPageableInfoDto(catalogPage, "/games");
+      return new ApiDtoResponse<>(info, catalogPage.getContent());
     }
 
-    gamePage = gameRepository.findAll(genreEnum, name, pageable);
+    OptionalLong total = totalsCache.getOrEstimate(TotalsCache.GAMES, genreEnum, name);
+    if (total.isPresent()) {
+      gamePage = new PageImpl<>(gameRepository.findPageContent(genreEnum, name, pageable), pageable,
+          total.getAsLong());
+    } else {
+      gamePage = gameRepository.findAll(genreEnum, name, pageable);
+      totalsCache.put(TotalsCache.GAMES, gamePage.getTotalElements(), genreEnum, name);
+    }
 
-    List<GameDtoResponse> gameDTOs =
-        gamePage.getContent().stream().map(this::convertToDTO).collect(Collectors.toList());
     InfoDtoResponse info = utilHelper.buildPageableInfoDto(gamePage, "/games");
-    return new ApiDtoResponse<>(info, gameDTOs);
+    return new ApiDtoResponse<>(info, gamePage.getContent());
+
+  }
+
+  @Transactional(readOnly = true)
+  public ApiDtoResponse<GameDtoResponse> getAllGamesAfter(String after, Integer size, String genre, String name) {
+    return getAllGamesAfter(getCatalogSnapshot(), after, size, genre, name);
+  }
+
+  @Transactional(readOnly = true)
+  public ApiDtoResponse<GameDtoResponse> getAllGamesAfter(CatalogSnapshot snapshot, String after, Integer size,
+      String genre, String name) {
+    PageCursor cursor = PageCursor.decode(after);
+    GameGenre genreEnum = parseGenre(genre);
+    int pageSize = UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize());
+
+    Slice<GameDtoResponse> gameSlice;
+    if (snapshot != null) {
+      gameSlice = gameCatalog.findAll(snapshot, genreEnum, name, cursor, pageSize);
+    } else {
+      long boundary = cursor.id() != null ? cursor.id() : 0L;
+      Pageable limit = PageRequest.ofSize(pageSize + 1);
+      List<GameDtoResponse> rows = cursor.backward()
+          ? gameRepository.findAllBefore(genreEnum, name, boundary, limit)
+          : gameRepository.findAllAfter(genreEnum, name, boundary, limit);
+      gameSlice = utilHelper.toSlice(rows, pageSize, cursor);
+    }
+
+    InfoDtoResponse info = utilHelper.buildPageableInfoDto(gameSlice, cursor, GameDtoResponse::id,
+        "/games", "genre", genre, "name", name, "size", size);
+    return new ApiDtoResponse<>(info, gameSlice.getContent());
+  }
+
+  public ApiDtoResponse<GameDtoResponse> searchGames(String query, int page, Integer size) {
+    if (query == null || query.isBlank()) {
+      throw new ValidationException(List.of(
+          messageSource.getMessage("game.search.query.blank", null, Locale.getDefault())));
+    }
+    if (page < 1) {
+      throw new InvalidPageException("Page number must be greater than 0");
+    }
+
+    Pageable pageable = PageRequest.of(page - 1, UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize()));
+    Page<GameDtoResponse> results = gameSearchIndex.search(query, pageable);
 
+    InfoDtoResponse info = utilHelper.buildPageableInfoDto(results, "/games/search", "q", query);
+    return new ApiDtoResponse<>(info, results.getContent());
   }
 
+  /**
+   * Typeahead suggestions for a partially typed name. A blank query suggests nothing.
+   */
+  public List<GameSuggestionDtoResponse> suggestGames(String query, Integer limit) {
+    if (query == null || query.isBlank()) {
+      return List.of();
+    }
+    int maxResults = suggestConfig.getMaxResults();
+    int resolvedLimit = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+    return gameSuggester.suggest(query, resolvedLimit);
+  }
+
+  public GameFacetsDtoResponse getFacets(String genre, String platform, String priceBand, Integer decade) {
+    GameGenre genreEnum = parseGenre(genre);
+    GamePlatform platformEnum = parsePlatform(platform);
+    if (priceBand != null) {
+      List<String> priceBands = gameFacets.priceBands();
+      if (!priceBands.contains(priceBand.trim())) {
+        throw new ValidationException(List.of(messageSource.getMessage("game.facets.price.band.invalid",
+            new Object[] {String.join(", ", priceBands)}, Locale.getDefault())));
+      }
+      priceBand = priceBand.trim();
+    }
+    return gameFacets.count(genreEnum, platformEnum, priceBand, decade);
+  }
+
+  /**
+   * Most purchased games over the last hour, day or week. Without a window, the last day is used.
+   */
+  public List<TopSellerDtoResponse> getTopSellers(String window, Integer limit) {
+    TopSellerWindow windowEnum = TopSellerWindow.DAY;
+    if (window != null) {
+      try {
+        windowEnum = TopSellerWindow.valueOf(window.toUpperCase().trim());
+      } catch (IllegalArgumentException e) {
+        throw new ValidationException(List.of(messageSource.getMessage("game.top.window.invalid", null,
+            Locale.getDefault())));
+      }
+    }
+    int maxResults = topSellersConfig.getMaxResults();
+    int resolvedLimit = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+    return topSellers.top(windowEnum, resolvedLimit);
+  }
+
+  @Transactional(readOnly = true)
   public GameDtoResponse getGame(Long id) {
     if (id == null || id < 1)
       throw new InvalidIdException();
 
+    if (gameCatalog.isEnabled()) {
+      return gameCatalog.findById(id).orElseThrow(() -> new NotFoundException(
+          messageSource.getMessage("game.not.found", new Object[] {id}, Locale.getDefault())));
+    }
+
     GameModel gameModel = gameRepository.findById(id).orElseThrow(() -> new NotFoundException(
         messageSource.getMessage("game.not.found", new Object[] {id}, Locale.getDefault())));
     return convertToDTO(gameModel);
   }
 
+  public long getGameVersion(Long id) {
+    if (id == null || id < 1)
+      throw new InvalidIdException();
+
+    Optional<Long> version = gameCatalog.isEnabled()
+        ? gameCatalog.findVersion(id)
+        : gameRepository.findVersionById(id);
+    return version.orElseThrow(() -> new NotFoundException(
+        messageSource.getMessage("game.not.found", new Object[] {id}, Locale.getDefault())));
+  }
+
+  /**
+   * The catalog snapshot to serve a list request from, or null when games are read from the database.
+   */
+  public CatalogSnapshot getCatalogSnapshot() {
+    return gameCatalog.isEnabled() ? gameCatalog.snapshot() : null;
+  }
+
+  public String getCatalogVersion(CatalogSnapshot snapshot) {
+    return gameCatalog.catalogVersion(snapshot);
+  }
+
   public void createGame(GameDtoRequest gameDTO, BindingResult bindingResult) {
     validateFields(gameDTO, bindingResult);
 
@@ -90,19 +265,29 @@ public class GameService {
       gameModel.setPlatform(GamePlatform.valueOf(gameDTO.platform().toUpperCase().trim()));
       gameModel.setPrice(BigDecimal.valueOf(gameDTO.price()));
       gameRepository.save(gameModel);
+      gameCatalog.onSaved(gameModel);
+      gameSearchIndex.onSaved(gameModel);
+      gameSuggester.onSaved(gameModel);
+      gameFacets.onSaved(gameModel);
+      totalsCache.invalidate(TotalsCache.GAMES);
     } catch (Exception e) {
       throw new RetrievalException(
           messageSource.getMessage("game.creation.error", null, Locale.getDefault()));
     }
   }
 
-  public void updateGame(Long id, GamePatchDtoRequest gameDTO, BindingResult bindingResult) {
+  public void updateGame(Long id, GamePatchDtoRequest gameDTO, BindingResult bindingResult,
+      String ifMatch) {
     if (id == null || id < 1)
       throw new InvalidIdException();
     validatePatchFields(gameDTO, bindingResult);
 
     GameModel gameModel = gameRepository.findById(id).orElseThrow(() -> new NotFoundException(
         messageSource.getMessage("game.not.found", new Object[] {id}, Locale.getDefault())));
+    if (!matchesVersion(ifMatch, gameModel.getVersion())) {
+      throw new PreconditionFailedException(
+          messageSource.getMessage("game.version.mismatch", new Object[] {id}, Locale.getDefault()));
+    }
     if (gameDTO.name() != null) {
       gameModel.setName(gameDTO.name());
     }
@@ -136,7 +321,14 @@ public class GameService {
     if (gameDTO.name() != null) {
       gameModel.setName(gameDTO.name());
     }
-    gameRepository.save(gameModel);
+    // The game was loaded outside a transaction, so save merges it into a new managed copy and
+    // only that copy carries the bumped version.
+    GameModel saved = gameRepository.save(gameModel);
+    gameCatalog.onSaved(saved);
+    gameSearchIndex.onSaved(saved);
+    gameSuggester.onSaved(saved);
+    gameFacets.onSaved(saved);
+    totalsCache.invalidate(TotalsCache.GAMES);
   }
 
   public void deleteGame(Long id) {
@@ -147,6 +339,11 @@ public class GameService {
       GameModel gameModel = gameRepository.findById(id).orElseThrow(() -> new NotFoundException(
           messageSource.getMessage("game.not.found", new Object[] {id}, Locale.getDefault())));
       gameRepository.delete(gameModel);
+      gameCatalog.onDeleted(id);
+      gameSearchIndex.onDeleted(id);
+      gameSuggester.onDeleted(id);
+      gameFacets.onDeleted(id);
+      totalsCache.invalidate(TotalsCache.GAMES);
     } catch (NotFoundException e) {
       throw e;
     } catch (Exception e) {
@@ -155,6 +352,75 @@ public class GameService {
     }
   }
 
+  @Transactional
+  public GamePriceUpdateDtoResponse updatePrices(GamePriceUpdateDtoRequest priceDTO,
+      BindingResult bindingResult) {
+    validatePriceFields(priceDTO, bindingResult);
+
+    GameGenre genre = parseGenre(priceDTO.genre());
+    GamePlatform platform = parsePlatform(priceDTO.platform());
+    boolean byIds = priceDTO.ids() != null && !priceDTO.ids().isEmpty();
+
+    int updated;
+    if (priceDTO.price() != null) {
+      BigDecimal price = BigDecimal.valueOf(priceDTO.price()).setScale(2, RoundingMode.HALF_UP);
+      updated = byIds
+          ? gameRepository.updatePriceByIds(priceDTO.ids(), genre, platform, price)
+          : gameRepository.updatePriceByFilter(genre, platform, price);
+    } else {
+      BigDecimal factor = BigDecimal.ONE.add(BigDecimal.valueOf(priceDTO.percentage()).movePointLeft(2))
+          .stripTrailingZeros();
+      updated = byIds
+          ? gameRepository.scalePriceByIds(priceDTO.ids(), genre, platform, factor)
+          : gameRepository.scalePriceByFilter(genre, platform, factor);
+    }
+
+    if (updated > 0) {
+      gameCatalog.onBulkChange();
+      gameSearchIndex.onBulkChange();
+      gameFacets.onBulkChange();
+    }
+    return new GamePriceUpdateDtoResponse(updated);
+  }
+
+  private boolean matchesVersion(String ifMatch, long version) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return true;
+    }
+    for (String tag : ifMatch.split(",")) {
+      String value = tag.trim();
+      if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")
+          && value.substring(1, value.length() - 1).equals(String.valueOf(version))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private GameGenre parseGenre(String genre) {
+    if (genre == null) {
+      return null;
+    }
+    try {
+      return GameGenre.valueOf(genre.toUpperCase().trim());
+    } catch (IllegalArgumentException e) {
+      throw new NotFoundException(
+          messageSource.getMessage("invalid.genre", null, Locale.getDefault()));
+    }
+  }
+
+  private GamePlatform parsePlatform(String platform) {
+    if (platform == null) {
+      return null;
+    }
+    try {
+      return GamePlatform.valueOf(platform.toUpperCase().trim());
+    } catch (IllegalArgumentException e) {
+      throw new NotFoundException(
+          messageSource.getMessage("invalid.platform", null, Locale.getDefault()));
+    }
+  }
+
   private GameDtoResponse convertToDTO(GameModel gameModel) {
     return new GameDtoResponse(gameModel.getId(), gameModel.getName(),
         gameModel.getGenre().toString(), gameModel.getReleaseYear(),
@@ -218,4 +484,30 @@ public class GameService {
       throw new ValidationException(errors);
     }
   }
+
+  public void validatePriceFields(GamePriceUpdateDtoRequest priceDTO, BindingResult result) {
+    List<String> errors = new ArrayList<>();
+
+    if (result.hasErrors()) {
+      errors.addAll(result.getFieldErrors().stream().map(FieldError::getDefaultMessage)
+          .toList());
+    }
+
+    if ((priceDTO.price() == null) == (priceDTO.percentage() == null)) {
+      errors.add(messageSource.getMessage("game.price.update.mode", null, Locale.getDefault()));
+    }
+
+    if ((priceDTO.ids() == null || priceDTO.ids().isEmpty()) && priceDTO.genre() == null
+        && priceDTO.platform() == null) {
+      errors.add(messageSource.getMessage("game.price.update.selection", null, Locale.getDefault()));
+    }
+
+    if (priceDTO.percentage() != null && priceDTO.percentage() <= -100) {
+      errors.add(messageSource.getMessage("game.price.update.percentage", null, Locale.getDefault()));
+    }
+
+    if (!errors.isEmpty()) {
+      throw new ValidationException(errors);
+    }
+  }
 }
@@ -1,53 +1,128 @@
 package com.ludus.services;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.ludus.catalog.AfterCommit;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.catalog.PurchaseLedger;
+import com.ludus.catalog.TopSellers;
+import com.ludus.dtos.requests.CheckoutDtoRequest;
 import com.ludus.dtos.requests.PurchaseDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.GameDtoResponse;
 import com.ludus.dtos.responses.InfoDtoResponse;
 import com.ludus.dtos.responses.PurchaseDtoResponse;
+import com.ludus.dtos.responses.SparsePurchaseDtoResponse;
 import com.ludus.dtos.responses.UserDtoResponse;
 import com.ludus.enums.PaymentMethod;
+import com.ludus.enums.PurchaseField;
+import com.ludus.enums.PurchaseView;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.InvalidPageException;
 import com.ludus.exceptions.NotFoundException;
 import com.ludus.exceptions.RetrievalException;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.CheckoutConfig;
+import com.ludus.infra.idempotency.IdempotencyStore;
+import com.ludus.infra.pipeline.PurchaseWritePipeline;
+import com.ludus.infra.config.PaginationConfig;
 import com.ludus.models.GameModel;
 import com.ludus.models.PurchaseModel;
 import com.ludus.models.UserModel;
 import com.ludus.repositories.GameRepository;
 import com.ludus.repositories.PurchaseRepository;
 import com.ludus.repositories.UserRepository;
+import com.ludus.repositories.projections.PurchaseRef;
+import com.ludus.repositories.projections.PurchaseRow;
+import com.ludus.utils.PageCursor;
 import com.ludus.utils.UtilHelper;
 
 @Service
 public class PurchaseService {
 
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    // Open date bounds are replaced by these rather than tested with IS NULL, so Postgres can
+    // prune purchase_model partitions from the bounds even in a cached generic plan.
+    static final LocalDate EARLIEST_PURCHASE_DATE = LocalDate.EPOCH;
+    static final LocalDate LATEST_PURCHASE_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final Set<PurchaseField> FULL_VIEW = EnumSet.of(PurchaseField.ID, PurchaseField.PURCHASE_DATE,
+            PurchaseField.PRICE, PurchaseField.PAYMENT_METHOD, PurchaseField.GAME, PurchaseField.USER);
+    private static final Set<PurchaseField> IDS_VIEW =
+            EnumSet.of(PurchaseField.ID, PurchaseField.GAME_ID, PurchaseField.USER_ID);
+    private static final Map<String, PurchaseField> FIELDS_BY_PARAM = Arrays.stream(PurchaseField.values())
+            .collect(Collectors.toMap(PurchaseField::getParam, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+
     private final MessageSource messageSource;
     private final PurchaseRepository purchaseRepository;
     private final UserRepository userRepository;
     private final GameRepository gameRepository;
     private final UtilHelper utilHelper;
+    private final TotalsCache totalsCache;
+    private final PaginationConfig paginationConfig;
+    private final GameSuggester gameSuggester;
+    private final TopSellers topSellers;
+    private final PurchaseLedger purchaseLedger;
+    private final CheckoutConfig checkoutConfig;
+    private final IdempotencyStore idempotencyStore;
+    private final PurchaseWritePipeline purchaseWritePipeline;
+    private final SalesStatsService salesStatsService;
+    private final TransactionTemplate transactionTemplate;
 
-    public PurchaseService(MessageSource messageSource, PurchaseRepository purchaseRepository, UserRepository userRepository, GameRepository gameRepository, UtilHelper utilHelper) {
+    public PurchaseService(MessageSource messageSource, PurchaseRepository purchaseRepository, UserRepository userRepository, GameRepository gameRepository, UtilHelper utilHelper, TotalsCache totalsCache, PaginationConfig paginationConfig, GameSuggester gameSuggester, CheckoutConfig checkoutConfig, IdempotencyStore idempotencyStore, PurchaseWritePipeline purchaseWritePipeline, SalesStatsService salesStatsService, PlatformTransactionManager transactionManager, TopSellers topSellers, PurchaseLedger purchaseLedger) {
         this.messageSource = messageSource;
         this.purchaseRepository = purchaseRepository;
         this.userRepository = userRepository;
         this.gameRepository = gameRepository;
         this.utilHelper = utilHelper;
+        this.totalsCache = totalsCache;
+        this.paginationConfig = paginationConfig;
+        this.gameSuggester = gameSuggester;
+        this.topSellers = topSellers;
+        this.purchaseLedger = purchaseLedger;
+        this.checkoutConfig = checkoutConfig;
+        this.idempotencyStore = idempotencyStore;
+        this.purchaseWritePipeline = purchaseWritePipeline;
+        this.salesStatsService = salesStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
 
     }
 
-    public ApiDtoResponse<PurchaseDtoResponse> getAllPurchases(int page, Long gameId,
-            String paymentMethod) {
+    /**
+     * A page of purchases with only the fields selected by {@code fields} or {@code view}; without
+     * either, every field of the full response. Games and users are joined in when both are
+     * selected, otherwise purchases are read without joining either and the selected one is
+     * loaded by id.
+     */
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<SparsePurchaseDtoResponse> getAllPurchases(int page, Integer size, Long gameId,
+            String paymentMethod, LocalDate from, LocalDate to, String fields, String view) {
         if (page < 1) {
             throw new InvalidPageException("Page number must be greater than 0");
         }
@@ -55,30 +130,73 @@ public class PurchaseService {
         if (gameId != null && gameId < 1) {
             throw new IllegalArgumentException("Game ID must be greater than 0");
         }
+        validateRange(from, to);
+        Set<PurchaseField> selected = parseFields(fields, view);
 
         int pageIndex = page - 1;
-        Pageable pageable = PageRequest.of(pageIndex, 10);
+        Pageable pageable = PageRequest.of(pageIndex,
+                UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize()));
 
-        Page<PurchaseModel> purchasePage;
+        PaymentMethod paymentMethodEnum = parsePaymentMethod(paymentMethod);
 
-        PaymentMethod paymentMethodEnum = null;
-        if (paymentMethod != null) {
-            try {
-                paymentMethodEnum = PaymentMethod.valueOf(paymentMethod.toUpperCase().trim());
-            } catch (IllegalArgumentException e) {
-                throw new NotFoundException(messageSource
-                        .getMessage("purchase.invalid.payment.method", null, Locale.getDefault()));
-            }
+        LocalDate lower = from != null ? from : EARLIEST_PURCHASE_DATE;
+        LocalDate upper = to != null ? to : LATEST_PURCHASE_DATE;
+
+        boolean dated = from != null || to != null;
+        Page<SparsePurchaseDtoResponse> purchasePage = joinsGameAndUser(selected)
+                ? convertPage(findPage(pageable, gameId, paymentMethodEnum, dated,
+                        p -> purchaseRepository.findPageContent(gameId, paymentMethodEnum, lower, upper, p),
+                        p -> purchaseRepository.findAll(gameId, paymentMethodEnum, lower, upper, p)),
+                        rows -> convertRowsToDTOs(rows, selected))
+                : convertPage(findPage(pageable, gameId, paymentMethodEnum, dated,
+                        p -> purchaseRepository.findRefPageContent(gameId, paymentMethodEnum, lower, upper, p),
+                        p -> purchaseRepository.findAllRefs(gameId, paymentMethodEnum, lower, upper, p)),
+                        refs -> convertToDTOs(refs, selected));
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(purchasePage, "/purchases", "gameId", gameId,
+                "paymentMethod", paymentMethod, "from", from, "to", to, "fields", fields, "view", view);
+        return new ApiDtoResponse<>(info, purchasePage.getContent());
+    }
+
+    /**
+     * Cursor-paginated counterpart of
+     * {@link #getAllPurchases(int, Integer, Long, String, LocalDate, LocalDate, String, String)}.
+     */
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<SparsePurchaseDtoResponse> getAllPurchasesAfter(String after, Integer size, Long gameId,
+            String paymentMethod, LocalDate from, LocalDate to, String fields, String view) {
+        if (gameId != null && gameId < 1) {
+            throw new IllegalArgumentException("Game ID must be greater than 0");
         }
+        validateRange(from, to);
+        Set<PurchaseField> selected = parseFields(fields, view);
+
+        PageCursor cursor = PageCursor.decode(after);
+        PaymentMethod paymentMethodEnum = parsePaymentMethod(paymentMethod);
+        int pageSize = UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize());
+        long boundary = cursor.id() != null ? cursor.id() : 0L;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
 
-        purchasePage = purchaseRepository.findAll(gameId, paymentMethodEnum, pageable);
+        LocalDate lower = from != null ? from : EARLIEST_PURCHASE_DATE;
+        LocalDate upper = to != null ? to : LATEST_PURCHASE_DATE;
 
-        List<PurchaseDtoResponse> purchaseDTOs = purchasePage.getContent().stream()
-                .map(this::convertToDTO).collect(Collectors.toList());
-        InfoDtoResponse info = utilHelper.buildPageableInfoDto(purchasePage, "/purchases");
-        return new ApiDtoResponse<>(info, purchaseDTOs);
+        Object[] filters = {"gameId", gameId, "paymentMethod", paymentMethod, "from", from, "to", to,
+                "size", size, "fields", fields, "view", view};
+        if (joinsGameAndUser(selected)) {
+            List<PurchaseRow> rows = cursor.backward()
+                    ? purchaseRepository.findAllBefore(gameId, paymentMethodEnum, lower, upper, boundary, limit)
+                    : purchaseRepository.findAllAfter(gameId, paymentMethodEnum, lower, upper, boundary, limit);
+            return toResponse(rows, pageSize, cursor, PurchaseRow::id, found -> convertRowsToDTOs(found, selected),
+                    "/purchases", filters);
+        }
+        List<PurchaseRef> refs = cursor.backward()
+                ? purchaseRepository.findAllRefsBefore(gameId, paymentMethodEnum, lower, upper, boundary, limit)
+                : purchaseRepository.findAllRefsAfter(gameId, paymentMethodEnum, lower, upper, boundary, limit);
+        return toResponse(refs, pageSize, cursor, PurchaseRef::id, found -> convertToDTOs(found, selected),
+                "/purchases", filters);
     }
 
+    @Transactional(readOnly = true)
     public PurchaseDtoResponse getPurchase(Long id) {
         if (id == null || id < 1) {
             throw new InvalidIdException();
@@ -90,34 +208,88 @@ public class PurchaseService {
         return convertToDTO(purchaseModel);
     }
 
-    public List<PurchaseDtoResponse> getPurchasesByUser(Long userId) {
-        if (userId == null || userId < 1) {
-            throw new InvalidIdException();
+    /**
+     * A page of the user's purchases with only the selected fields; see
+     * {@link #getAllPurchases(int, Integer, Long, String, LocalDate, LocalDate, String, String)}.
+     */
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<SparsePurchaseDtoResponse> getPurchasesByUser(Long userId, int page, Integer size,
+            String fields, String view) {
+        requireUser(userId);
+        if (page < 1) {
+            throw new InvalidPageException("Page number must be greater than 0");
         }
+        Set<PurchaseField> selected = parseFields(fields, view);
 
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException(messageSource
-                .getMessage("user.not.found", new Object[] {userId}, Locale.getDefault())));
+        Pageable pageable = PageRequest.of(page - 1,
+                UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize()));
+        Page<SparsePurchaseDtoResponse> purchasePage = joinsGameAndUser(selected)
+                ? convertPage(readUserPurchases(() -> purchaseRepository.findByUser(userId, pageable)),
+                        rows -> convertRowsToDTOs(rows, selected))
+                : convertPage(readUserPurchases(() -> purchaseRepository.findRefsByUser(userId, pageable)),
+                        refs -> convertToDTOs(refs, selected));
 
-        try {
-            List<PurchaseDtoResponse> userPurchases = purchaseRepository.findAll().stream()
-                    .filter(purchase -> purchase.getUser().getId().equals(userId))
-                    .map(this::convertToDTO).collect(Collectors.toList());
-            
-            if (userPurchases.isEmpty()) {
-                throw new NotFoundException(messageSource
-                        .getMessage("purchase.not.found", new Object[] {"usuário " + userId}, Locale.getDefault()));
+        if (purchasePage.getTotalElements() == 0) {
+            throw noPurchasesFor(userId);
+        }
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(purchasePage, "/purchases/user/" + userId,
+                "fields", fields, "view", view);
+        return new ApiDtoResponse<>(info, purchasePage.getContent());
+    }
+
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<SparsePurchaseDtoResponse> getPurchasesByUserAfter(Long userId, String after,
+            Integer size, String fields, String view) {
+        requireUser(userId);
+        Set<PurchaseField> selected = parseFields(fields, view);
+
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = UtilHelper.resolvePageSize(size, paginationConfig.getMaxSize());
+        long boundary = cursor.id() != null ? cursor.id() : 0L;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        String endpoint = "/purchases/user/" + userId;
+        if (joinsGameAndUser(selected)) {
+            List<PurchaseRow> rows = readUserPurchases(() -> cursor.backward()
+                    ? purchaseRepository.findByUserBefore(userId, boundary, limit)
+                    : purchaseRepository.findByUserAfter(userId, boundary, limit));
+            if (rows.isEmpty() && cursor.id() == null) {
+                throw noPurchasesFor(userId);
             }
-            
-            return userPurchases;
-        } catch (NotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RetrievalException(
-                    messageSource.getMessage("retrieval.error", null, Locale.getDefault()));
+            return toResponse(rows, pageSize, cursor, PurchaseRow::id, found -> convertRowsToDTOs(found, selected),
+                    endpoint, "size", size, "fields", fields, "view", view);
+        }
+        List<PurchaseRef> refs = readUserPurchases(() -> cursor.backward()
+                ? purchaseRepository.findRefsByUserBefore(userId, boundary, limit)
+                : purchaseRepository.findRefsByUserAfter(userId, boundary, limit));
+        if (refs.isEmpty() && cursor.id() == null) {
+            throw noPurchasesFor(userId);
         }
+        return toResponse(refs, pageSize, cursor, PurchaseRef::id, found -> convertToDTOs(found, selected),
+                endpoint, "size", size, "fields", fields, "view", view);
     }
 
-    public void createPurchase(PurchaseDtoRequest purchaseDTO) {
+    /**
+     * Creates a purchase and returns its id. With an {@code idempotencyKey}, a retry of a request
+     * that already succeeded returns the original purchase id without touching users, games or
+     * purchases again. Without one, the purchase goes through the group-commit pipeline when it
+     * is enabled; keyed purchases are always written directly, in the same transaction as their key.
+     */
+    public Long createPurchase(PurchaseDtoRequest purchaseDTO, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return insertPurchase(purchaseDTO, purchaseWritePipeline.isEnabled());
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ValidationException(List.of(messageSource.getMessage("idempotency.key.invalid",
+                    new Object[] {MAX_IDEMPOTENCY_KEY_LENGTH}, Locale.getDefault())));
+        }
+        String fingerprint = purchaseDTO.userId() + ":" + purchaseDTO.gameId() + ":"
+                + (purchaseDTO.paymentMethod() != null ? purchaseDTO.paymentMethod().toUpperCase().trim() : null);
+        return idempotencyStore.execute(idempotencyKey, fingerprint, () -> insertPurchase(purchaseDTO, false));
+    }
+
+    private Long insertPurchase(PurchaseDtoRequest purchaseDTO, boolean pipelined) {
         if (purchaseDTO.userId() == null || purchaseDTO.userId() < 1) {
             throw new InvalidIdException("User ID must not be null or less than 1");
         }
@@ -149,7 +321,234 @@ public class PurchaseService {
                     null, Locale.getDefault()));
         }
 
-        purchaseRepository.save(purchaseModel);
+        if (pipelined) {
+            // The writer runs the hooks once the batch commits, even if this caller timed out waiting.
+            purchaseWritePipeline.submit(purchaseModel, () -> onPurchased(purchaseModel));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                purchaseRepository.save(purchaseModel);
+                salesStatsService.record(List.of(purchaseModel));
+            });
+            onPurchased(purchaseModel);
+        }
+        return purchaseModel.getId();
+    }
+
+    private void onPurchased(PurchaseModel purchase) {
+        Long gameId = purchase.getGame().getId();
+        // With an Idempotency-Key this runs inside the key's transaction, which may still roll back.
+        AfterCommit.run(() -> totalsCache.increment(TotalsCache.PURCHASES, 1, gameId, purchase.getPaymentMethod()));
+        gameSuggester.onPurchased(gameId);
+        topSellers.onPurchased(gameId);
+        purchaseLedger.onPurchased(purchase);
+    }
+
+    /**
+     * Buys every game in the cart for one user. The games are loaded and priced by a single IN
+     * query, and all purchase rows are inserted as one batch in the same transaction, so either
+     * the whole cart is bought or none of it is.
+     */
+    @Transactional
+    public PurchaseDtoResponse checkout(CheckoutDtoRequest checkoutDTO) {
+        if (checkoutDTO.userId() == null || checkoutDTO.userId() < 1) {
+            throw new InvalidIdException("User ID must not be null or less than 1");
+        }
+        List<Long> gameIds = validateCart(checkoutDTO.gameIds());
+        PaymentMethod paymentMethod = parsePaymentMethod(checkoutDTO.paymentMethod());
+        if (paymentMethod == null) {
+            throw new NotFoundException(messageSource
+                    .getMessage("purchase.invalid.payment.method", null, Locale.getDefault()));
+        }
+
+        UserModel user = userRepository.findById(checkoutDTO.userId())
+                .orElseThrow(() -> new NotFoundException(messageSource
+                        .getMessage("purchase.user.not.found", null, Locale.getDefault())));
+
+        Map<Long, GameModel> games = gameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(GameModel::getId, Function.identity()));
+        if (games.size() < gameIds.size()) {
+            String missing = gameIds.stream().filter(id -> !games.containsKey(id))
+                    .map(String::valueOf).collect(Collectors.joining(", "));
+            throw new NotFoundException(messageSource.getMessage("purchase.checkout.games.not.found",
+                    new Object[] {missing}, Locale.getDefault()));
+        }
+
+        LocalDate purchaseDate = LocalDate.now();
+        BigDecimal total = BigDecimal.ZERO;
+        List<PurchaseModel> purchases = new ArrayList<>(gameIds.size());
+        List<GameDtoResponse> gameDTOs = new ArrayList<>(gameIds.size());
+        for (Long gameId : gameIds) {
+            GameModel game = games.get(gameId);
+            PurchaseModel purchaseModel = new PurchaseModel();
+            purchaseModel.setUser(user);
+            purchaseModel.setGame(game);
+            purchaseModel.setPurchaseDate(purchaseDate);
+            purchaseModel.setPrice(game.getPrice());
+            purchaseModel.setPaymentMethod(paymentMethod);
+            purchases.add(purchaseModel);
+
+            total = total.add(game.getPrice());
+            gameDTOs.add(new GameDtoResponse(game.getId(), game.getName(), game.getGenre().toString(),
+                    game.getReleaseYear(), game.getPlatform().toString(), game.getPrice()));
+        }
+
+        purchaseRepository.saveAll(purchases);
+        salesStatsService.record(purchases);
+        AfterCommit.run(() -> gameIds.forEach(gameId ->
+                totalsCache.increment(TotalsCache.PURCHASES, 1, gameId, paymentMethod)));
+        for (Long gameId : gameIds) {
+            gameSuggester.onPurchased(gameId);
+            topSellers.onPurchased(gameId);
+        }
+        purchases.forEach(purchaseLedger::onPurchased);
+
+        // Each game is stored as its own purchase, so the cart as a whole has no id.
+        return new PurchaseDtoResponse(null, purchaseDate, total, paymentMethod.toString(), gameDTOs,
+                List.of(new UserDtoResponse(user.getId(), user.getEmail(), user.getName())));
+    }
+
+    private List<Long> validateCart(List<Long> gameIds) {
+        if (gameIds == null || gameIds.isEmpty()) {
+            throw new ValidationException(List.of(
+                    messageSource.getMessage("purchase.checkout.empty", null, Locale.getDefault())));
+        }
+        if (gameIds.size() > checkoutConfig.getMaxItems()) {
+            throw new ValidationException(List.of(messageSource.getMessage("purchase.checkout.too.many",
+                    new Object[] {checkoutConfig.getMaxItems()}, Locale.getDefault())));
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (Long gameId : gameIds) {
+            if (gameId == null || gameId < 1) {
+                throw new InvalidIdException("Game ID must not be null or less than 1");
+            }
+            if (!seen.add(gameId)) {
+                throw new ValidationException(List.of(messageSource.getMessage(
+                        "purchase.checkout.duplicate.game", new Object[] {gameId}, Locale.getDefault())));
+            }
+        }
+        return gameIds;
+    }
+
+    /**
+     * A page of purchase rows. Unless the page is date-bounded, its total comes from
+     * {@link TotalsCache}, which is kept per game and payment method only, and {@code content}
+     * loads just the rows; otherwise {@code counted} loads them along with a count.
+     */
+    private <R> Page<R> findPage(Pageable pageable, Long gameId, PaymentMethod paymentMethod, boolean dated,
+            Function<Pageable, List<R>> content, Function<Pageable, Page<R>> counted) {
+        OptionalLong total = dated ? OptionalLong.empty()
+                : totalsCache.getOrEstimate(TotalsCache.PURCHASES, gameId, paymentMethod);
+        if (total.isPresent()) {
+            return new PageImpl<>(content.apply(pageable), pageable, total.getAsLong());
+        }
+        Page<R> page = counted.apply(pageable);
+        if (!dated) {
+            totalsCache.put(TotalsCache.PURCHASES, page.getTotalElements(), gameId, paymentMethod);
+        }
+        return page;
+    }
+
+    private <R> Page<SparsePurchaseDtoResponse> convertPage(Page<R> page,
+            Function<List<R>, List<SparsePurchaseDtoResponse>> convert) {
+        return new PageImpl<>(convert.apply(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Trims {@code rows}, fetched one past the page size, to a keyset page. The cursor links are
+     * built from the rows' ids, which the response only carries when {@code id} is selected.
+     */
+    private <R> ApiDtoResponse<SparsePurchaseDtoResponse> toResponse(List<R> rows, int pageSize, PageCursor cursor,
+            ToLongFunction<R> idOf, Function<List<R>, List<SparsePurchaseDtoResponse>> convert, String endpoint,
+            Object... filters) {
+        Slice<R> slice = utilHelper.toSlice(rows, pageSize, cursor);
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(slice, cursor, idOf, endpoint, filters);
+        return new ApiDtoResponse<>(info, convert.apply(slice.getContent()));
+    }
+
+    private <R> R readUserPurchases(Supplier<R> query) {
+        try {
+            return query.get();
+        } catch (Exception e) {
+            throw new RetrievalException(
+                    messageSource.getMessage("retrieval.error", null, Locale.getDefault()));
+        }
+    }
+
+    private static boolean joinsGameAndUser(Set<PurchaseField> fields) {
+        return fields.contains(PurchaseField.GAME) && fields.contains(PurchaseField.USER);
+    }
+
+    /**
+     * The fields to return, from a comma-separated {@code fields} list or a {@code view}. Without
+     * either, or with {@code view=full}, every field of the full response is returned.
+     */
+    private Set<PurchaseField> parseFields(String fields, String view) {
+        PurchaseView purchaseView;
+        try {
+            purchaseView = view != null ? PurchaseView.valueOf(view.toUpperCase().trim()) : PurchaseView.FULL;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(List.of(messageSource.getMessage("purchase.view.invalid",
+                    new Object[] {utilHelper.getEnumValues(PurchaseView.class)}, Locale.getDefault())));
+        }
+
+        if (fields == null || fields.isBlank()) {
+            return purchaseView == PurchaseView.IDS ? IDS_VIEW : FULL_VIEW;
+        }
+        if (purchaseView == PurchaseView.IDS) {
+            throw new ValidationException(List.of(
+                    messageSource.getMessage("purchase.fields.view.conflict", null, Locale.getDefault())));
+        }
+
+        Set<PurchaseField> selected = EnumSet.noneOf(PurchaseField.class);
+        List<String> errors = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            PurchaseField field = FIELDS_BY_PARAM.get(name.trim());
+            if (field != null) {
+                selected.add(field);
+            } else if (!name.isBlank()) {
+                errors.add(messageSource.getMessage("purchase.fields.invalid",
+                        new Object[] {name.trim(), String.join(", ", FIELDS_BY_PARAM.keySet())}, Locale.getDefault()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return selected;
+    }
+
+    private void requireUser(Long userId) {
+        if (userId == null || userId < 1) {
+            throw new InvalidIdException();
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(messageSource
+                    .getMessage("user.not.found", new Object[] {userId}, Locale.getDefault()));
+        }
+    }
+
+    private NotFoundException noPurchasesFor(Long userId) {
+        return new NotFoundException(messageSource
+                .getMessage("purchase.not.found", new Object[] {"usuário " + userId}, Locale.getDefault()));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException(List.of(messageSource.getMessage("purchase.range.invalid",
+                    new Object[] {from, to}, Locale.getDefault())));
+        }
+    }
+
+    private PaymentMethod parsePaymentMethod(String paymentMethod) {
+        if (paymentMethod == null) {
+            return null;
+        }
+        try {
+            return PaymentMethod.valueOf(paymentMethod.toUpperCase().trim());
+        } catch (IllegalArgumentException e) {
+            throw new NotFoundException(messageSource
+                    .getMessage("purchase.invalid.payment.method", null, Locale.getDefault()));
+        }
     }
 
     private PurchaseDtoResponse convertToDTO(PurchaseModel purchaseModel) {
@@ -164,4 +563,44 @@ public class PurchaseService {
                 List.of(new UserDtoResponse(purchaseModel.getUser().getId(),
                         purchaseModel.getUser().getEmail(), purchaseModel.getUser().getName())));
     }
+
+    private List<SparsePurchaseDtoResponse> convertRowsToDTOs(List<PurchaseRow> rows, Set<PurchaseField> fields) {
+        return rows.stream().map(row -> convertToDTO(
+                new PurchaseRef(row.id(), row.purchaseDate(), row.price(), row.paymentMethod(), row.gameId(),
+                        row.userId()),
+                new GameDtoResponse(row.gameId(), row.gameName(), row.gameGenre(), row.gameReleaseYear(),
+                        row.gamePlatform(), row.gamePrice()),
+                new UserDtoResponse(row.userId(), row.userEmail(), row.userName()), fields))
+                .collect(Collectors.toList());
+    }
+
+    private List<SparsePurchaseDtoResponse> convertToDTOs(List<PurchaseRef> rows, Set<PurchaseField> fields) {
+        Map<Long, GameDtoResponse> games = fields.contains(PurchaseField.GAME)
+                ? gameRepository.findAllById(rows.stream().map(PurchaseRef::gameId).collect(Collectors.toSet()))
+                        .stream().collect(Collectors.toMap(GameModel::getId, game -> new GameDtoResponse(game.getId(),
+                                game.getName(), game.getGenre().toString(), game.getReleaseYear(),
+                                game.getPlatform().toString(), game.getPrice())))
+                : Map.of();
+        Map<Long, UserDtoResponse> users = fields.contains(PurchaseField.USER)
+                ? userRepository.findAllById(rows.stream().map(PurchaseRef::userId).collect(Collectors.toSet()))
+                        .stream().collect(Collectors.toMap(UserModel::getId,
+                                user -> new UserDtoResponse(user.getId(), user.getEmail(), user.getName())))
+                : Map.of();
+
+        return rows.stream().map(row -> convertToDTO(row, games.get(row.gameId()), users.get(row.userId()), fields))
+                .collect(Collectors.toList());
+    }
+
+    private SparsePurchaseDtoResponse convertToDTO(PurchaseRef row, GameDtoResponse game, UserDtoResponse user,
+            Set<PurchaseField> fields) {
+        return new SparsePurchaseDtoResponse(
+                fields.contains(PurchaseField.ID) ? row.id() : null,
+                fields.contains(PurchaseField.PURCHASE_DATE) ? row.purchaseDate() : null,
+                fields.contains(PurchaseField.PRICE) ? row.price() : null,
+                fields.contains(PurchaseField.PAYMENT_METHOD) ? row.paymentMethod().toString() : null,
+                fields.contains(PurchaseField.GAME_ID) ? row.gameId() : null,
+                fields.contains(PurchaseField.USER_ID) ? row.userId() : null,
+                fields.contains(PurchaseField.GAME) && game != null ? List.of(game) : null,
+                fields.contains(PurchaseField.USER) && user != null ? List.of(user) : null);
+    }
 }
@@ -0,0 +1,149 @@
+package com.ludus.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.springframework.context.MessageSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import com.ludus.dtos.requests.ReportDtoRequest;
+import com.ludus.dtos.responses.ReportJobDtoResponse;
+import com.ludus.enums.ExportFormat;
+import com.ludus.enums.ReportStatus;
+import com.ludus.enums.ReportType;
+import com.ludus.exceptions.NotFoundException;
+import com.ludus.exceptions.ReportNotReadyException;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.report.ReportJob;
+import com.ludus.infra.report.ReportJobs;
+import com.ludus.infra.report.ReportSpec;
+
+/**
+ * Finance reports that are too large to build inside a request. A report is submitted as a job,
+ * polled for progress and downloaded once complete; see {@link ReportJobs}. Rows are streamed from
+ * the database through the export cursor, and the expected row count is read from the
+ * purchase_daily_sales rollup so progress costs no extra scan of purchases.
+ */
+@Service
+public class ReportService {
+
+    private static final LocalDate EARLIEST_DATE = LocalDate.EPOCH;
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final String PURCHASES_SQL = """
+            SELECT id, purchase_date, price, payment_method, game_id, user_id
+            FROM purchase_model
+            WHERE purchase_date BETWEEN ? AND ?
+            ORDER BY id
+            """;
+    private static final String PURCHASES_COUNT_SQL =
+            "SELECT COALESCE(SUM(units), 0) FROM purchase_daily_sales WHERE sale_date BETWEEN ? AND ?";
+    private static final List<String> PURCHASE_COLUMNS =
+            List.of("id", "purchaseDate", "price", "paymentMethod", "gameId", "userId");
+
+    private static final String DAILY_SALES_SQL = """
+            SELECT d.sale_date, d.game_id, g.name, d.payment_method, d.units, d.revenue
+            FROM purchase_daily_sales d JOIN game_model g ON g.id = d.game_id
+            WHERE d.sale_date BETWEEN ? AND ?
+            ORDER BY d.sale_date, d.game_id, d.payment_method
+            """;
+    private static final String DAILY_SALES_COUNT_SQL =
+            "SELECT COUNT(*) FROM purchase_daily_sales WHERE sale_date BETWEEN ? AND ?";
+    private static final List<String> DAILY_SALES_COLUMNS =
+            List.of("saleDate", "gameId", "gameName", "paymentMethod", "units", "revenue");
+
+    private final ReportJobs reportJobs;
+    private final ExportService exportService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageSource messageSource;
+
+    public ReportService(ReportJobs reportJobs, ExportService exportService, DataSource dataSource,
+            MessageSource messageSource) {
+        this.reportJobs = reportJobs;
+        this.exportService = exportService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * Queues the report, or returns the job already queued or running for the same request.
+     */
+    public ReportJobDtoResponse submit(ReportDtoRequest request) {
+        ReportType type = parseType(request.type());
+        ExportFormat format = exportService.parseFormat(request.format());
+        if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+            throw new ValidationException(List.of(messageSource.getMessage("stats.range.invalid",
+                    new Object[] {request.from(), request.to()}, Locale.getDefault())));
+        }
+
+        ReportSpec spec = new ReportSpec(type, format, request.from(), request.to());
+        return convertToDTO(reportJobs.submit(spec, (job, out) -> write(spec, job, out)));
+    }
+
+    public ReportJobDtoResponse getJob(String id) {
+        return convertToDTO(findJob(id));
+    }
+
+    /**
+     * The job with this id, whose file is complete and ready to download.
+     */
+    public ReportJob getCompletedJob(String id) {
+        ReportJob job = findJob(id);
+        if (job.getStatus() != ReportStatus.COMPLETED) {
+            throw new ReportNotReadyException(messageSource.getMessage("report.not.ready",
+                    new Object[] {job.getStatus()}, Locale.getDefault()));
+        }
+        return job;
+    }
+
+    /**
+     * Cancels a queued or running report, or deletes a finished one and its file.
+     */
+    public void cancel(String id) {
+        if (!reportJobs.cancel(id)) {
+            throw notFound();
+        }
+    }
+
+    private void write(ReportSpec spec, ReportJob job, OutputStream out) throws IOException {
+        LocalDate from = spec.from() != null ? spec.from() : EARLIEST_DATE;
+        LocalDate to = spec.to() != null ? spec.to() : LATEST_DATE;
+        boolean purchases = spec.type() == ReportType.PURCHASES;
+
+        Long expected = jdbcTemplate.queryForObject(purchases ? PURCHASES_COUNT_SQL : DAILY_SALES_COUNT_SQL,
+                Long.class, from, to);
+        job.setExpectedRows(expected != null ? expected : -1);
+        exportService.stream(purchases ? PURCHASES_SQL : DAILY_SALES_SQL, new Object[] {from, to},
+                purchases ? PURCHASE_COLUMNS : DAILY_SALES_COLUMNS, spec.format(), out, job::rowWritten);
+    }
+
+    private ReportJob findJob(String id) {
+        return reportJobs.get(id).orElseThrow(this::notFound);
+    }
+
+    private NotFoundException notFound() {
+        return new NotFoundException(messageSource.getMessage("report.not.found", null, Locale.getDefault()));
+    }
+
+    private ReportType parseType(String type) {
+        try {
+            if (type != null) {
+                return ReportType.valueOf(type.toUpperCase().trim());
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below, like a missing type.
+        }
+        throw new ValidationException(List.of(
+                messageSource.getMessage("report.type.invalid", null, Locale.getDefault())));
+    }
+
+    private static ReportJobDtoResponse convertToDTO(ReportJob job) {
+        ReportSpec spec = job.getSpec();
+        return new ReportJobDtoResponse(job.getId(), spec.type().toString(), spec.format().toString(), spec.from(),
+                spec.to(), job.getStatus().toString(), job.getRows(), job.getProgress(), job.getCreatedAt(),
+                job.getFinishedAt(), job.getError());
+    }
+}
@@ -0,0 +1,166 @@
+package com.ludus.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.ludus.catalog.PurchaseLedger;
+import com.ludus.dtos.responses.GameSalesStatsDtoResponse;
+import com.ludus.dtos.responses.SalesStatsDtoResponse;
+import com.ludus.enums.PaymentMethod;
+import com.ludus.enums.SalesGrouping;
+import com.ludus.exceptions.NotFoundException;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.models.DailySalesModel;
+import com.ludus.models.PurchaseModel;
+import com.ludus.repositories.DailySalesRepository;
+import com.ludus.repositories.projections.SalesTotal;
+import com.ludus.utils.UtilHelper;
+
+/**
+ * Revenue and units sold, read from the purchase_daily_sales rollup rather than from purchases,
+ * so a stats request costs the same however long the sales history grows. Ad hoc queries that
+ * the rollup cannot answer, such as one user's spending, scan the in-memory purchase ledger.
+ */
+@Service
+public class SalesStatsService {
+
+    // Rollup rows are upserted in key order so concurrent batches lock them in the same order.
+    private static final Comparator<DailySalesModel.Key> KEY_ORDER = Comparator
+            .comparing(DailySalesModel.Key::saleDate)
+            .thenComparing(DailySalesModel.Key::gameId)
+            .thenComparing(DailySalesModel.Key::paymentMethod);
+
+    private final DailySalesRepository dailySalesRepository;
+    private final MessageSource messageSource;
+    private final PaginationConfig paginationConfig;
+    private final PurchaseLedger purchaseLedger;
+
+    public SalesStatsService(DailySalesRepository dailySalesRepository, MessageSource messageSource,
+            PaginationConfig paginationConfig, PurchaseLedger purchaseLedger) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.messageSource = messageSource;
+        this.paginationConfig = paginationConfig;
+        this.purchaseLedger = purchaseLedger;
+    }
+
+    /**
+     * Adds {@code purchases} to the rollup, one upsert per day, game and payment method. Runs in
+     * the caller's transaction so the rollup commits, or rolls back, with the purchases.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<PurchaseModel> purchases) {
+        Map<DailySalesModel.Key, DailySalesModel> rows = new TreeMap<>(KEY_ORDER);
+        for (PurchaseModel purchase : purchases) {
+            DailySalesModel row = rows.computeIfAbsent(new DailySalesModel.Key(purchase.getPurchaseDate(),
+                    purchase.getGame().getId(), purchase.getPaymentMethod()), key -> {
+                        DailySalesModel sales = new DailySalesModel();
+                        sales.setRevenue(BigDecimal.ZERO);
+                        return sales;
+                    });
+            row.setUnits(row.getUnits() + 1);
+            row.setRevenue(row.getRevenue().add(purchase.getPrice()));
+        }
+        rows.forEach((key, row) -> dailySalesRepository.add(key.saleDate(), key.gameId(),
+                key.paymentMethod().name(), row.getUnits(), row.getRevenue()));
+    }
+
+    @Transactional(readOnly = true)
+    public SalesStatsDtoResponse getTotals(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        SalesTotal total = dailySalesRepository.total(from, to);
+        return new SalesStatsDtoResponse("total", total.units(), total.revenue());
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameSalesStatsDtoResponse> getByGame(LocalDate from, LocalDate to, Integer limit) {
+        validateRange(from, to);
+        int size = UtilHelper.resolvePageSize(limit, paginationConfig.getMaxSize());
+        return dailySalesRepository.byGame(from, to, PageRequest.ofSize(size)).stream()
+                .map(row -> new GameSalesStatsDtoResponse(row.gameId(), row.name(), row.units(), row.revenue()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesStatsDtoResponse> getByGenre(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return toDTOs(dailySalesRepository.byGenre(from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesStatsDtoResponse> getByPaymentMethod(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return toDTOs(dailySalesRepository.byPaymentMethod(from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesStatsDtoResponse> getByDay(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return toDTOs(dailySalesRepository.byDay(from, to));
+    }
+
+    /**
+     * Units sold and revenue of the purchases matching every given filter, grouped by
+     * {@code groupBy} (TOTAL by default). Grouped by game, at most {@code limit} games are returned.
+     */
+    public List<SalesStatsDtoResponse> query(String groupBy, LocalDate from, LocalDate to, Long gameId, Long userId,
+            String paymentMethod, Integer limit) {
+        validateRange(from, to);
+        SalesGrouping grouping = parseGrouping(groupBy);
+        PaymentMethod paymentMethodEnum = parsePaymentMethod(paymentMethod);
+        int size = grouping == SalesGrouping.GAME
+                ? UtilHelper.resolvePageSize(limit, paginationConfig.getMaxSize())
+                : Integer.MAX_VALUE;
+
+        List<SalesStatsDtoResponse> rows =
+                purchaseLedger.aggregate(grouping, from, to, gameId, userId, paymentMethodEnum);
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+
+    private SalesGrouping parseGrouping(String groupBy) {
+        if (groupBy == null) {
+            return SalesGrouping.TOTAL;
+        }
+        try {
+            return SalesGrouping.valueOf(groupBy.toUpperCase().trim());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(List.of(messageSource.getMessage("stats.group.invalid", null,
+                    Locale.getDefault())));
+        }
+    }
+
+    private PaymentMethod parsePaymentMethod(String paymentMethod) {
+        if (paymentMethod == null) {
+            return null;
+        }
+        try {
+            return PaymentMethod.valueOf(paymentMethod.toUpperCase().trim());
+        } catch (IllegalArgumentException e) {
+            throw new NotFoundException(messageSource
+                    .getMessage("purchase.invalid.payment.method", null, Locale.getDefault()));
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException(List.of(messageSource.getMessage("stats.range.invalid",
+                    new Object[] {from, to}, Locale.getDefault())));
+        }
+    }
+
+    private static List<SalesStatsDtoResponse> toDTOs(List<SalesTotal> totals) {
+        return totals.stream()
+                .map(total -> new SalesStatsDtoResponse(total.key().toString(), total.units(), total.revenue()))
+                .toList();
+    }
+}
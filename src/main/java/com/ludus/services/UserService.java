@@ -3,11 +3,12 @@ package com.ludus.services;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.OptionalLong;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import com.ludus.dtos.requests.UserDtoRequest;
@@ -21,13 +22,18 @@ import com.ludus.exceptions.InvalidPageException;
 import com.ludus.exceptions.NotFoundException;
 import com.ludus.exceptions.RetrievalException;
 import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.PaginationConfig;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import com.ludus.models.UserModel;
 import com.ludus.repositories.UserRepository;
+import com.ludus.utils.PageCursor;
 import com.ludus.utils.UtilHelper;
 
 @Service
@@ -36,33 +42,60 @@ public class UserService {
     private final UserRepository userRepository;
     private final MessageSource messageSource;
     private final UtilHelper utilHelper;
+    private final TotalsCache totalsCache;
+    private final PaginationConfig paginationConfig;
 
     public UserService(UserRepository userRepository, MessageSource messageSource,
-            UtilHelper utilHelper) {
+            UtilHelper utilHelper, TotalsCache totalsCache, PaginationConfig paginationConfig) {
         this.userRepository = userRepository;
         this.messageSource = messageSource;
         this.utilHelper = utilHelper;
+        this.totalsCache = totalsCache;
+        this.paginationConfig = paginationConfig;
     }
 
-    public ApiDtoResponse<UserDtoResponse> getAllUsers(int page, String name) {
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<UserDtoResponse> getAllUsers(int page, Integer size, String name) {
         if (page < 1) {
             throw new InvalidPageException("Page number must be greater than 0");
         }
 
         int pageIndex = page - 1;
-        Pageable pageable = PageRequest.of(pageIndex, 10);
-        Page<UserModel> userPage;
-
-        userPage = this.userRepository.findAllActiveUsersWithNameFilter(name, pageable);
-
-
-        List<UserDtoResponse> userDTOs =
-                userPage.getContent().stream().map(this::convertToDTO).collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(pageIndex,
+                UtilHelper.resolvePageSize(size, this.paginationConfig.getMaxSize()));
+        Page<UserDtoResponse> userPage;
+
+        OptionalLong total = this.totalsCache.get(TotalsCache.USERS, name);
+        if (total.isPresent()) {
+            userPage = new PageImpl<>(this.userRepository.findActiveUsersPageContent(name, pageable),
+                    pageable, total.getAsLong());
+        } else {
+            userPage = this.userRepository.findAllActiveUsersWithNameFilter(name, pageable);
+            this.totalsCache.put(TotalsCache.USERS, userPage.getTotalElements(), name);
+        }
 
         InfoDtoResponse info = this.utilHelper.buildPageableInfoDto(userPage, "/users");
-        return new ApiDtoResponse<>(info, userDTOs);
+        return new ApiDtoResponse<>(info, userPage.getContent());
+    }
+
+    @Transactional(readOnly = true)
+    public ApiDtoResponse<UserDtoResponse> getAllUsersAfter(String after, Integer size, String name) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = UtilHelper.resolvePageSize(size, this.paginationConfig.getMaxSize());
+        long boundary = cursor.id() != null ? cursor.id() : 0L;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<UserDtoResponse> rows = cursor.backward()
+                ? this.userRepository.findAllActiveUsersBefore(name, boundary, limit)
+                : this.userRepository.findAllActiveUsersAfter(name, boundary, limit);
+        Slice<UserDtoResponse> userSlice = this.utilHelper.toSlice(rows, pageSize, cursor);
+
+        InfoDtoResponse info = this.utilHelper.buildPageableInfoDto(userSlice, cursor,
+                UserDtoResponse::id, "/users", "name", name, "size", size);
+        return new ApiDtoResponse<>(info, userSlice.getContent());
     }
 
+    @Transactional(readOnly = true)
     public UserDtoResponse getUserById(Long id) {
         if (id == null || id < 1) {
             throw new InvalidIdException();
@@ -89,6 +122,7 @@ public class UserService {
             userModel.setPassword(encryptedPassword);
             userModel.setRole(UserRole.USER);
             this.userRepository.save(userModel);
+            adjustActiveTotals(userModel.getName(), 1);
         } catch (Exception e) {
             throw new RetrievalException(
                     messageSource.getMessage("user.creation.error", null, Locale.getDefault()));
@@ -105,6 +139,7 @@ public class UserService {
 
         validatePatchFields(userDTO, bindingResult, id);
 
+        String previousName = userModel.getName();
         try {
             if (userDTO.email() != null) {
                 userModel.setEmail(userDTO.email());
@@ -117,6 +152,10 @@ public class UserService {
                 userModel.setPassword(encryptedPassword);
             }
             this.userRepository.save(userModel);
+            if (userModel.isActive() && !userModel.getName().equals(previousName)) {
+                adjustActiveTotals(previousName, -1);
+                adjustActiveTotals(userModel.getName(), 1);
+            }
         } catch (Exception e) {
             throw new RetrievalException(
                     this.messageSource.getMessage("user.update.error", null, Locale.getDefault()));
@@ -132,14 +171,24 @@ public class UserService {
                         .getMessage("user.not.found", new Object[] {id}, Locale.getDefault())));
 
         try {
+            boolean wasActive = userModel.isActive();
             userModel.setActive(false);
             this.userRepository.save(userModel);
+            if (wasActive) {
+                adjustActiveTotals(userModel.getName(), -1);
+            }
         } catch (Exception e) {
             throw new RetrievalException(this.messageSource.getMessage("user.deletion.error", null,
                     Locale.getDefault()));
         }
     }
 
+    private void adjustActiveTotals(String userName, long delta) {
+        String lowerName = userName.toLowerCase(Locale.ROOT);
+        this.totalsCache.adjust(TotalsCache.USERS, delta, filters -> filters.get(0) == null
+                || lowerName.contains(filters.get(0).toString().toLowerCase(Locale.ROOT)));
+    }
+
     private UserDtoResponse convertToDTO(UserModel userModel) {
         return new UserDtoResponse(userModel.getId(), userModel.getEmail(), userModel.getName());
     }
@@ -0,0 +1,45 @@
+package com.ludus.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import com.ludus.exceptions.InvalidPageException;
+
+/**
+ * Opaque keyset position. Results are always ordered by id, so the id of the boundary row is the
+ * whole sort key; {@code backward} marks cursors that walk towards smaller ids.
+ */
+public record PageCursor(Long id, boolean backward) {
+
+    public static final PageCursor START = new PageCursor(null, false);
+
+    public static PageCursor after(long id) {
+        return new PageCursor(id, false);
+    }
+
+    public static PageCursor before(long id) {
+        return new PageCursor(id, true);
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String direction = raw.substring(0, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            if (id < 0 || !("a".equals(direction) || "b".equals(direction))) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new PageCursor(id, "b".equals(direction));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidPageException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = (backward ? "b:" : "a:") + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
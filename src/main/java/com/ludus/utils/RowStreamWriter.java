@@ -0,0 +1,122 @@
+package com.ludus.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ludus.enums.ExportFormat;
+
+/**
+ * Writes flat rows straight to an output stream, one line per row, without building any
+ * intermediate objects. Values are written as numbers when they are numbers and as strings
+ * otherwise.
+ */
+public abstract class RowStreamWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final List<String> columns;
+    private long rows;
+
+    protected RowStreamWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static RowStreamWriter of(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return format == ExportFormat.CSV ? new Csv(out, columns) : new Ndjson(out, columns);
+    }
+
+    public void writeRow(Object[] values) throws IOException {
+        write(values);
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    protected abstract void write(Object[] values) throws IOException;
+
+    private static final class Ndjson extends RowStreamWriter {
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends RowStreamWriter {
+        private final Writer writer;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            writeLine(values);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -1,26 +1,112 @@
 package com.ludus.utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
 import com.ludus.dtos.responses.InfoDtoResponse;
+import com.ludus.exceptions.InvalidPageException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.beans.factory.annotation.Value;
 
 @Component
 public class UtilHelper {
+    public static final int PAGE_SIZE = 10;
+
     @Value("${api.base_url}")
     private String baseUrl;
 
-    public InfoDtoResponse buildPageableInfoDto(Page<?> responsePage, String endpoint) {
-        String normalizedEndpoint = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+    /**
+     * Page size requested by the client: {@link #PAGE_SIZE} when absent, capped at {@code maxSize}.
+     */
+    public static int resolvePageSize(Integer size, int maxSize) {
+        if (size == null) {
+            return PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidPageException("Page size must be greater than 0");
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /**
+     * Builds the info block for a numbered page. {@code filters} are name/value pairs that are
+     * carried over to the next/prev links; null values are skipped.
+     */
+    public InfoDtoResponse buildPageableInfoDto(Page<?> responsePage, String endpoint, Object... filters) {
+        Integer size = responsePage.getPageable().isPaged() && responsePage.getSize() != PAGE_SIZE
+            ? responsePage.getSize()
+            : null;
+        Object[] params = Arrays.copyOf(filters, filters.length + 2);
+        params[filters.length] = "size";
+        params[filters.length + 1] = size;
 
         return new InfoDtoResponse(
             responsePage.getTotalElements(),
-            responsePage.getTotalPages(),
-            responsePage.hasNext() ? baseUrl + "/" + normalizedEndpoint + "?page=" + (responsePage.getNumber() + 1) : null,
-            responsePage.hasPrevious() ? baseUrl + "/" + normalizedEndpoint + "?page=" + (responsePage.getNumber() - 1) : null
+            (long) responsePage.getTotalPages(),
+            // getNumber() is 0-based, the page parameter is 1-based.
+            responsePage.hasNext() ? buildLink(endpoint, "page", responsePage.getNumber() + 2, params) : null,
+            responsePage.hasPrevious() ? buildLink(endpoint, "page", responsePage.getNumber(), params) : null
         );
     }
 
+    /**
+     * Builds the info block for a keyset page. {@code filters} are name/value pairs that are
+     * carried over to the next/prev links; null values are skipped.
+     */
+    public <T> InfoDtoResponse buildPageableInfoDto(Slice<T> slice, PageCursor cursor, ToLongFunction<T> idOf,
+            String endpoint, Object... filters) {
+        List<T> content = slice.getContent();
+        String next = null;
+        String prev = null;
+
+        if (!content.isEmpty()) {
+            boolean hasLater = cursor.backward() || slice.hasNext();
+            boolean hasEarlier = cursor.backward() ? slice.hasNext() : cursor.id() != null;
+            if (hasLater) {
+                next = buildCursorLink(endpoint, PageCursor.after(idOf.applyAsLong(content.get(content.size() - 1))), filters);
+            }
+            if (hasEarlier) {
+                prev = buildCursorLink(endpoint, PageCursor.before(idOf.applyAsLong(content.get(0))), filters);
+            }
+        }
+
+        return new InfoDtoResponse(null, null, next, prev);
+    }
+
+    /**
+     * Trims a seek query result fetched with {@code size + 1} rows into a slice in ascending id order.
+     */
+    public <T> Slice<T> toSlice(List<T> rows, int size, PageCursor cursor) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+        if (cursor.backward()) {
+            Collections.reverse(content);
+        }
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasMore);
+    }
+
+    private String buildCursorLink(String endpoint, PageCursor cursor, Object... filters) {
+        return buildLink(endpoint, "after", cursor.encode(), filters);
+    }
+
+    private String buildLink(String endpoint, String position, Object value, Object... filters) {
+        String normalizedEndpoint = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + "/" + normalizedEndpoint);
+        for (int i = 0; i + 1 < filters.length; i += 2) {
+            if (filters[i + 1] != null) {
+                builder.queryParam(filters[i].toString(), filters[i + 1]);
+            }
+        }
+        return builder.queryParam(position, value).encode().build().toUriString();
+    }
+
     public String getEnumValues(Class<?> enumClass) {
         if (enumClass.isEnum()) {
             StringBuilder sb = new StringBuilder();
@@ -0,0 +1,38 @@
+-- Starting schema for new databases. It follows what Hibernate generated (ddl-auto=update),
+-- except for game_model: there ddl-auto made id an identity column and had no version column,
+-- while here id is a plain BIGINT fed by game_model_seq and version is already present.
+-- Databases created by ddl-auto are baselined at this version and start from V2, which adds
+-- version, and V8 converts their identity id to the sequence.
+
+CREATE TABLE game_model (
+    id           BIGINT         NOT NULL,
+    name         VARCHAR(100),
+    genre        VARCHAR(30)    NOT NULL,
+    release_year INTEGER        NOT NULL,
+    platform     VARCHAR(30)    NOT NULL,
+    price        NUMERIC(38, 2),
+    version      BIGINT         DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE game_model_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_model (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    active   BOOLEAN      NOT NULL,
+    email    VARCHAR(100) NOT NULL UNIQUE,
+    name     VARCHAR(100) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    role     SMALLINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE purchase_model (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    purchase_date  DATE           NOT NULL,
+    price          NUMERIC(38, 2) NOT NULL,
+    payment_method VARCHAR(20)    NOT NULL,
+    game_id        BIGINT REFERENCES game_model (id),
+    user_id        BIGINT REFERENCES user_model (id),
+    PRIMARY KEY (id)
+);
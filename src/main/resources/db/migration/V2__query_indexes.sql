@@ -0,0 +1,23 @@
+-- Databases baselined from ddl-auto may predate the pooled game id sequence.
+CREATE SEQUENCE IF NOT EXISTS game_model_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('game_model_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM game_model),
+                                         (SELECT last_value FROM game_model_seq)));
+
+-- They may also predate the @Version column behind game ETags and If-Match.
+ALTER TABLE game_model ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Substring filters use LOWER(name) LIKE '%...%', which only a trigram index can serve.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- GameRepository: genre filter, seek pagination on id, name search
+CREATE INDEX IF NOT EXISTS idx_game_genre_id ON game_model (genre, id);
+CREATE INDEX IF NOT EXISTS idx_game_name_trgm ON game_model USING gin (LOWER(name) gin_trgm_ops);
+
+-- PurchaseRepository: game and/or payment method filters with seek pagination, per-user lookups
+CREATE INDEX IF NOT EXISTS idx_purchase_game_payment_id ON purchase_model (game_id, payment_method, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_payment_id ON purchase_model (payment_method, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_user_id ON purchase_model (user_id, id);
+
+-- UserRepository: every list query is restricted to active users
+CREATE INDEX IF NOT EXISTS idx_user_active_id ON user_model (id) WHERE active;
+CREATE INDEX IF NOT EXISTS idx_user_active_name_trgm ON user_model USING gin (LOWER(name) gin_trgm_ops) WHERE active;
@@ -0,0 +1,5 @@
+-- Identity ids force Hibernate to insert purchases one row at a time. A pooled sequence, like the
+-- one game_model uses, lets a checkout write all of its rows in a single JDBC batch.
+ALTER TABLE purchase_model ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS purchase_model_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('purchase_model_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM purchase_model));
@@ -0,0 +1,11 @@
+-- Idempotency-Key values sent with POST /purchases, kept for idempotency.ttl so retries from any
+-- instance return the original purchase instead of charging again.
+CREATE TABLE idempotency_key (
+    request_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(255) NOT NULL,
+    purchase_id BIGINT REFERENCES purchase_model (id),
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (request_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,20 @@
+-- Sales rollup per day, game and payment method, kept current by the application in the same
+-- transaction as each purchase. Stats read this table, whose size grows with days and games
+-- rather than with the number of purchases.
+CREATE TABLE purchase_daily_sales (
+    sale_date      DATE           NOT NULL,
+    game_id        BIGINT         NOT NULL REFERENCES game_model (id),
+    payment_method VARCHAR(20)    NOT NULL,
+    units          BIGINT         NOT NULL,
+    revenue        NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (sale_date, game_id, payment_method)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_sales_game ON purchase_daily_sales (game_id);
+
+-- One-time backfill from the purchases made so far.
+INSERT INTO purchase_daily_sales (sale_date, game_id, payment_method, units, revenue)
+SELECT purchase_date, game_id, payment_method, COUNT(*), SUM(price)
+FROM purchase_model
+WHERE game_id IS NOT NULL
+GROUP BY purchase_date, game_id, payment_method;
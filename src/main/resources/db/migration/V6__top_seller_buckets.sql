@@ -0,0 +1,16 @@
+-- Purchase creation time, to the minute and beyond, for time-windowed rankings. Rows written
+-- before this migration only have a purchase date and stay NULL, so they never count towards
+-- a window.
+ALTER TABLE purchase_model ADD COLUMN created_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE purchase_model ALTER COLUMN created_at SET DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_purchase_created_at ON purchase_model (created_at);
+
+-- Settled per-minute purchase counts for the top-sellers leaderboard, snapshotted from memory
+-- so a restart only replays the purchases made since the last snapshot.
+CREATE TABLE top_seller_bucket (
+    bucket_minute BIGINT NOT NULL,
+    game_id       BIGINT NOT NULL REFERENCES game_model (id),
+    units         BIGINT NOT NULL,
+    PRIMARY KEY (bucket_minute, game_id)
+);
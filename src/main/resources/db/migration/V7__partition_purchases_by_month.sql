@@ -0,0 +1,65 @@
+-- purchase_model becomes a table partitioned by month of purchase_date, so date-bounded queries
+-- only read the months they cover, and old months can be detached for archiving.
+--
+-- The primary key of a partitioned table must include the partition key, so it becomes
+-- (id, purchase_date). Ids still come from purchase_model_seq and stay unique on their own, but
+-- idempotency_key can no longer reference purchase_model (id) with a foreign key.
+ALTER TABLE idempotency_key DROP CONSTRAINT IF EXISTS idempotency_key_purchase_id_fkey;
+
+ALTER TABLE purchase_model RENAME TO purchase_model_unpartitioned;
+ALTER INDEX IF EXISTS purchase_model_pkey RENAME TO purchase_model_unpartitioned_pkey;
+
+-- No DEFAULT partition: it would have to be scanned whenever a month is added, and it rules out
+-- DETACH PARTITION ... CONCURRENTLY. Months are created ahead of time instead.
+CREATE TABLE purchase_model (
+    id             BIGINT         NOT NULL,
+    purchase_date  DATE           NOT NULL,
+    price          NUMERIC(38, 2) NOT NULL,
+    payment_method VARCHAR(20)    NOT NULL,
+    game_id        BIGINT REFERENCES game_model (id),
+    user_id        BIGINT REFERENCES user_model (id),
+    created_at     TIMESTAMP WITH TIME ZONE DEFAULT now(),
+    PRIMARY KEY (id, purchase_date)
+) PARTITION BY RANGE (purchase_date);
+
+-- Creates the missing monthly partitions, named purchase_model_YYYY_MM, for every month from
+-- from_month through to_month, and returns how many it created. Called here for the existing
+-- data and by the application to keep months ahead of today available.
+CREATE OR REPLACE FUNCTION create_purchase_partitions(from_month DATE, to_month DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_month DATE := date_trunc('month', from_month)::date;
+    partition_name  TEXT;
+    created         INTEGER := 0;
+BEGIN
+    -- Instances maintaining partitions at the same time would race to create the same table.
+    PERFORM pg_advisory_xact_lock(hashtext('create_purchase_partitions'));
+    WHILE partition_month <= to_month LOOP
+        partition_name := 'purchase_model_' || to_char(partition_month, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF purchase_model FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_month, (partition_month + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+SELECT create_purchase_partitions(
+    COALESCE((SELECT MIN(purchase_date) FROM purchase_model_unpartitioned), CURRENT_DATE),
+    (GREATEST((SELECT MAX(purchase_date) FROM purchase_model_unpartitioned), CURRENT_DATE)
+        + INTERVAL '3 months')::date);
+
+INSERT INTO purchase_model (id, purchase_date, price, payment_method, game_id, user_id, created_at)
+SELECT id, purchase_date, price, payment_method, game_id, user_id, created_at
+FROM purchase_model_unpartitioned;
+
+DROP TABLE purchase_model_unpartitioned;
+
+-- Same indexes as before (V2, V6), now created on every partition.
+CREATE INDEX IF NOT EXISTS idx_purchase_game_payment_id ON purchase_model (game_id, payment_method, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_payment_id ON purchase_model (payment_method, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_user_id ON purchase_model (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_purchase_created_at ON purchase_model (created_at);
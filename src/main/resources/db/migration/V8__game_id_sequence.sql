@@ -0,0 +1,7 @@
+-- game_model ids come from the pooled game_model_seq, so bulk imports insert in JDBC batches.
+-- Databases created by ddl-auto have an identity column instead, and ddl-auto=update may have
+-- added game_model_seq starting at 1, below ids already in use. Drop the identity and move the
+-- sequence past the highest existing id, as V3 does for purchase_model.
+ALTER TABLE game_model ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS game_model_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('game_model_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM game_model));
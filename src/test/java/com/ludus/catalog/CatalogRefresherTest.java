@@ -0,0 +1,77 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.CatalogConfig;
+import com.ludus.repositories.GameRepository;
+import com.ludus.repositories.projections.GameVersion;
+
+public class CatalogRefresherTest {
+
+    private GameRepository gameRepository;
+    private GameCatalog gameCatalog;
+    private GameSearchIndex gameSearchIndex;
+    private GameSuggester gameSuggester;
+    private GameFacets gameFacets;
+    private TotalsCache totalsCache;
+    private CatalogRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = mock(GameRepository.class);
+        gameCatalog = mock(GameCatalog.class);
+        gameSearchIndex = mock(GameSearchIndex.class);
+        gameSuggester = mock(GameSuggester.class);
+        gameFacets = mock(GameFacets.class);
+        totalsCache = mock(TotalsCache.class);
+        refresher = new CatalogRefresher(gameRepository, new CatalogConfig(), gameCatalog, gameSearchIndex,
+                gameSuggester, gameFacets, totalsCache);
+
+        when(gameCatalog.isEnabled()).thenReturn(true);
+        when(gameCatalog.snapshot()).thenReturn(CatalogSnapshot.of(List.of(
+            new GameDtoResponse(1L, "Test Game", "ACTION", 2023, "PC", BigDecimal.TEN)
+        ), Map.of(1L, 2L), 0));
+    }
+
+    @Test
+    void refresh_DatabaseMatchesSnapshot_KeepsEverything() {
+        when(gameRepository.findAllVersions()).thenReturn(List.of(new GameVersion(1L, 2L)));
+
+        assertFalse(refresher.refresh());
+        verify(gameCatalog, never()).onBulkChange();
+        verifyNoInteractions(gameSearchIndex, gameSuggester, gameFacets, totalsCache);
+    }
+
+    @Test
+    void refresh_GameChangedElsewhere_ReloadsEveryView() {
+        when(gameRepository.findAllVersions()).thenReturn(List.of(new GameVersion(1L, 3L)));
+
+        assertTrue(refresher.refresh());
+        verify(gameCatalog).onBulkChange();
+        verify(gameSearchIndex).onBulkChange();
+        verify(gameSuggester).onBulkChange();
+        verify(gameFacets).onBulkChange();
+        verify(totalsCache).invalidate(TotalsCache.GAMES);
+    }
+
+    @Test
+    void refresh_ReadModelDisabled_ComparesWithThePreviousCheck() {
+        when(gameCatalog.isEnabled()).thenReturn(false);
+        when(gameRepository.findAllVersions())
+            .thenReturn(List.of(new GameVersion(1L, 2L)))
+            .thenReturn(List.of(new GameVersion(1L, 2L)))
+            .thenReturn(List.of(new GameVersion(1L, 2L), new GameVersion(2L, 0L)));
+
+        assertFalse(refresher.refresh());
+        assertFalse(refresher.refresh());
+        assertTrue(refresher.refresh());
+        verify(gameSearchIndex).onBulkChange();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.ludus.catalog.CatalogResponseCache.CachedResponse;
+import com.ludus.infra.config.ResponseCacheConfig;
+
+public class CatalogResponseCacheTest {
+
+    private ResponseCacheConfig responseCacheConfig;
+    private CatalogResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        responseCacheConfig = new ResponseCacheConfig();
+        cache = new CatalogResponseCache(responseCacheConfig);
+    }
+
+    @Test
+    void get_NewerGeneration_Misses() {
+        cache.put(1L, "page-1", bytes(10), false);
+
+        assertNotNull(cache.get(1L, "page-1"));
+        assertNull(cache.get(2L, "page-1"));
+    }
+
+    @Test
+    void put_NewerGeneration_DropsOldEntries() {
+        cache.put(1L, "page-1", bytes(10), false);
+        cache.put(2L, "page-2", bytes(20), false);
+
+        assertEquals(20, cache.totalBytes());
+        assertNull(cache.get(2L, "page-1"));
+    }
+
+    @Test
+    void put_OlderGeneration_IsNotCachedAndKeepsNewerEntries() {
+        cache.put(2L, "page-1", bytes(10), false);
+        CachedResponse late = cache.put(1L, "page-2", bytes(20), false);
+
+        assertEquals(20, late.body().length);
+        assertNotNull(cache.get(2L, "page-1"));
+        assertNull(cache.get(1L, "page-2"));
+        assertEquals(10, cache.totalBytes());
+    }
+
+    @Test
+    void put_OverByteBudget_EvictsLeastRecentlyUsed() {
+        responseCacheConfig.setMaxBytes(100);
+        cache.put(1L, "a", bytes(40), false);
+        cache.put(1L, "b", bytes(40), false);
+        cache.get(1L, "a");
+        cache.put(1L, "c", bytes(40), false);
+
+        assertNotNull(cache.get(1L, "a"));
+        assertNull(cache.get(1L, "b"));
+        assertNotNull(cache.get(1L, "c"));
+        assertEquals(80, cache.totalBytes());
+    }
+
+    @Test
+    void put_AcceptsGzip_StoresCompressedBodyThatRoundTrips() throws IOException {
+        byte[] json = "{\"results\":[]}".repeat(200).getBytes(StandardCharsets.UTF_8);
+        CachedResponse cached = cache.put(1L, "a", json, true);
+
+        assertTrue(cached.gzipped());
+        assertTrue(cached.body().length < json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(cached.body()))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(cached, response);
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(cached.body(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void acceptsGzip_ParsesAcceptEncoding() {
+        assertTrue(CatalogResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CatalogResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(CatalogResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogResponseCache.acceptsGzip("identity"));
+        assertFalse(CatalogResponseCache.acceptsGzip(null));
+    }
+
+    private static byte[] bytes(int size) {
+        return new byte[size];
+    }
+}
@@ -0,0 +1,86 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+
+public class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogSnapshot.of(List.of(
+            new GameDtoResponse(2L, "Another Game", "ADVENTURE", 2022, "PLAYSTATION", BigDecimal.valueOf(49.99)),
+            new GameDtoResponse(1L, "Test Game", "ACTION", 2023, "PC", BigDecimal.valueOf(59.99))
+        ), Map.of(1L, 0L, 2L, 3L), 0);
+    }
+
+    @Test
+    void of_SortsById_AndBuildsIndexes() {
+        assertEquals(List.of(1L, 2L), snapshot.all().stream().map(GameDtoResponse::id).toList());
+        assertEquals(1, snapshot.byGenre(GameGenre.ACTION).size());
+        assertEquals(1, snapshot.byPlatform(GamePlatform.PLAYSTATION).size());
+        assertTrue(snapshot.byGenre(GameGenre.HORROR).isEmpty());
+    }
+
+    @Test
+    void select_FiltersByGenreAndCaseInsensitiveName() {
+        assertEquals(2, snapshot.select(null, "game").size());
+        assertEquals(1, snapshot.select(null, "ANOTHER").size());
+        assertEquals(0, snapshot.select(GameGenre.ACTION, "another").size());
+    }
+
+    @Test
+    void with_ReplacesExistingGame_WithoutMutatingOriginal() {
+        GameDtoResponse updated = new GameDtoResponse(1L, "Test Game", "HORROR", 2023, "PC", BigDecimal.ONE);
+        CatalogSnapshot next = snapshot.with(updated, 1L);
+
+        assertEquals(2, next.size());
+        assertEquals(updated, next.get(1L));
+        assertEquals(1L, next.version(1L));
+        assertEquals(0L, snapshot.version(1L));
+        assertEquals(1L, next.generation());
+        assertEquals(1, next.byGenre(GameGenre.HORROR).size());
+        assertEquals("ACTION", snapshot.get(1L).genre());
+    }
+
+    @Test
+    void without_RemovesGame() {
+        CatalogSnapshot next = snapshot.without(2L);
+
+        assertNull(next.get(2L));
+        assertNull(next.version(2L));
+        assertEquals(1, next.size());
+        assertSame(next, next.without(99L));
+    }
+
+    @Test
+    void with_MovesGameBetweenGenreLists_AndSharesTheOthers() {
+        GameDtoResponse added = new GameDtoResponse(3L, "Third Game", "ADVENTURE", 2021, "PC", BigDecimal.TEN);
+        CatalogSnapshot next = snapshot.with(added, 0L);
+
+        assertEquals(List.of(1L, 2L, 3L), next.all().stream().map(GameDtoResponse::id).toList());
+        assertEquals(List.of(2L, 3L), next.byGenre(GameGenre.ADVENTURE).stream().map(GameDtoResponse::id).toList());
+        assertSame(snapshot.byGenre(GameGenre.ACTION), next.byGenre(GameGenre.ACTION));
+        assertEquals(List.of(added), next.select(null, "third"));
+        assertTrue(snapshot.select(null, "third").isEmpty());
+    }
+
+    @Test
+    void fingerprint_DependsOnlyOnIdsAndVersions() {
+        GameDtoResponse renamed = new GameDtoResponse(2L, "Renamed", "ADVENTURE", 2022, "PLAYSTATION", BigDecimal.ONE);
+        CatalogSnapshot written = snapshot.with(renamed, 4L).without(1L);
+        CatalogSnapshot loaded = CatalogSnapshot.of(List.of(renamed), Map.of(2L, 4L), 0);
+
+        assertEquals(loaded.fingerprint(), written.fingerprint());
+        assertNotEquals(snapshot.fingerprint(), written.fingerprint());
+        assertEquals(snapshot.fingerprint(), snapshot.with(snapshot.get(1L), 0L).fingerprint());
+    }
+}
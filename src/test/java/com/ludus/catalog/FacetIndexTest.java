@@ -0,0 +1,83 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameFacetsDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+
+public class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex(List.of(BigDecimal.valueOf(20), BigDecimal.valueOf(10)));
+        index.put(game(1L, "RPG", 1998, "PC", "9.99"));
+        index.put(game(2L, "RPG", 2015, "PC", "39.99"));
+        index.put(game(3L, "ACTION", 2019, "XBOX", "10.00"));
+        index.put(game(4L, "RPG", 2021, "NINTENDO", "59.99"));
+    }
+
+    private static GameDtoResponse game(Long id, String genre, int year, String platform, String price) {
+        return new GameDtoResponse(id, "Game " + id, genre, year, platform, new BigDecimal(price));
+    }
+
+    @Test
+    void labels_DescribeSortedBands() {
+        assertEquals(List.of("0-10", "10-20", "20+"), index.bandLabels());
+        assertEquals(List.of("0+"), FacetIndex.labels(List.of()));
+        assertEquals(1990, FacetIndex.decade(1998));
+    }
+
+    @Test
+    void count_WithoutFilters_CountsWholeCatalog() {
+        GameFacetsDtoResponse facets = index.count(null, null, null, null);
+
+        assertEquals(4, facets.count());
+        assertEquals(3L, facets.genres().get("RPG"));
+        assertEquals(0L, facets.genres().get("HORROR"));
+        assertEquals(2L, facets.platforms().get("PC"));
+        assertEquals(List.of(1L, 1L, 2L), List.copyOf(facets.priceBands().values()));
+        assertEquals(List.of("1990", "2010", "2020"), List.copyOf(facets.decades().keySet()));
+    }
+
+    @Test
+    void count_EachFacetIgnoresItsOwnFilter() {
+        GameFacetsDtoResponse facets = index.count(GameGenre.RPG, GamePlatform.PC, null, null);
+
+        assertEquals(2, facets.count());
+        // Genres are counted on PC games, platforms on RPGs.
+        assertEquals(2L, facets.genres().get("RPG"));
+        assertEquals(0L, facets.genres().get("ACTION"));
+        assertEquals(2L, facets.platforms().get("PC"));
+        assertEquals(1L, facets.platforms().get("NINTENDO"));
+        assertEquals(1L, facets.decades().get("1990"));
+        assertEquals(0L, facets.decades().get("2020"));
+    }
+
+    @Test
+    void count_UnknownDecadeMatchesNothing() {
+        GameFacetsDtoResponse facets = index.count(null, null, null, 1970);
+
+        assertEquals(0, facets.count());
+        assertEquals(0L, facets.genres().get("RPG"));
+        assertEquals(1L, facets.decades().get("2020"));
+    }
+
+    @Test
+    void putAndRemove_MoveGamesBetweenBitmaps() {
+        index.put(game(1L, "HORROR", 2001, "PC", "25.00"));
+        index.remove(4L);
+
+        GameFacetsDtoResponse facets = index.count(null, null, 2, null);
+        assertEquals(2, facets.count());
+        assertEquals(1L, facets.genres().get("HORROR"));
+        assertEquals(List.of("2000", "2010"), List.copyOf(facets.decades().keySet()));
+        assertEquals(3, index.size());
+    }
+}
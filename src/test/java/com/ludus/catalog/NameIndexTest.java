@@ -0,0 +1,59 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class NameIndexTest {
+
+    private final NameIndex index = new NameIndex(new long[] {10, 20, 30, 40, 50}, Arrays.asList(
+        "The Witcher 3", "Hollow Knight", null, "Witchcraft Tycoon", "Knights of Honor"));
+
+    @Test
+    void search_MatchesSubstringCaseInsensitively() {
+        assertArrayEquals(new long[] {10, 40}, index.search("WITCH"));
+        assertArrayEquals(new long[] {20, 50}, index.search("knight"));
+        assertArrayEquals(new long[] {50}, index.search("s of h"));
+    }
+
+    @Test
+    void search_VerifiesCandidatesAgainstFullNeedle() {
+        // "cher" and "craf" share trigrams with names that do not contain the whole needle
+        assertArrayEquals(new long[] {10}, index.search("tcher"));
+        assertArrayEquals(new long[0], index.search("witcher craft"));
+    }
+
+    @Test
+    void search_ShortNeedlesFallBackToScan() {
+        assertArrayEquals(new long[] {20, 40, 50}, index.search("o"));
+        assertArrayEquals(new long[] {10, 20, 40, 50}, index.search(""));
+    }
+
+    @Test
+    void search_UnknownTrigramReturnsEmpty() {
+        assertEquals(0, index.search("zzz").length);
+        assertEquals(0, new NameIndex(new long[0], List.of()).search("abc").length);
+    }
+
+    @Test
+    void with_RenamesAndInserts_LikeAFreshBuild() {
+        NameIndex patched = index.with(20, "Witch Hunt").with(35, "Night Knight").with(30, "Hollow");
+        NameIndex rebuilt = new NameIndex(new long[] {10, 20, 30, 35, 40, 50}, Arrays.asList(
+            "The Witcher 3", "Witch Hunt", "Hollow", "Night Knight", "Witchcraft Tycoon", "Knights of Honor"));
+
+        for (String needle : List.of("witch", "knight", "hollow", "ght", "o", "unt")) {
+            assertArrayEquals(rebuilt.search(needle), patched.search(needle), needle);
+        }
+        assertArrayEquals(new long[] {20, 50}, index.search("knight"));
+    }
+
+    @Test
+    void without_DropsTheNameFromItsPostings() {
+        NameIndex patched = index.without(10).without(99);
+
+        assertArrayEquals(new long[] {40}, patched.search("witch"));
+        assertEquals(0, patched.search("3").length);
+        assertArrayEquals(new long[] {10, 40}, index.search("witch"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.catalog.PurchaseColumns.Filter;
+import com.ludus.catalog.PurchaseColumns.Key;
+import com.ludus.catalog.PurchaseColumns.Totals;
+
+public class PurchaseColumnsTest {
+
+    private static final Filter ALL = new Filter(Integer.MIN_VALUE, Integer.MAX_VALUE, -1, -1, -1);
+
+    private PurchaseColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        // Two rows per chunk, so every test spans several chunks.
+        columns = new PurchaseColumns(1);
+        columns.append(100, 1999, 1, 10, (byte) 0);
+        columns.append(100, 500, 2, 11, (byte) 2);
+        columns.append(101, 1999, 1, 11, (byte) 2);
+        columns.append(103, 2500, 3, 10, (byte) 0);
+        columns.append(103, 500, 2, 10, (byte) 1);
+    }
+
+    @Test
+    void append_TracksSizeAndBounds() {
+        assertEquals(5, columns.size());
+        assertEquals(100, columns.minDay());
+        assertEquals(103, columns.maxDay());
+        assertEquals(3, columns.maxGameId());
+    }
+
+    @Test
+    void aggregate_NoKey_SumsEveryRowInRange() {
+        Totals all = columns.aggregate(ALL, Key.NONE, 0, 1, columns.size());
+        assertEquals(5, all.units[0]);
+        assertEquals(7498, all.cents[0]);
+
+        Totals dated = columns.aggregate(new Filter(101, 103, -1, -1, -1), Key.NONE, 0, 1, columns.size());
+        assertEquals(3, dated.units[0]);
+        assertEquals(4999, dated.cents[0]);
+    }
+
+    @Test
+    void aggregate_ByGame_AppliesEveryFilter() {
+        Totals totals = columns.aggregate(new Filter(100, 103, -1, 10, -1), Key.GAME, 0, 4, columns.size());
+
+        assertArrayEquals(new long[] {0, 1, 1, 1}, totals.units);
+        assertArrayEquals(new long[] {0, 1999, 500, 2500}, totals.cents);
+
+        Totals paid = columns.aggregate(new Filter(100, 103, 2, -1, 2), Key.GAME, 0, 4, columns.size());
+        assertArrayEquals(new long[] {0, 0, 1, 0}, paid.units);
+    }
+
+    @Test
+    void aggregate_ByDay_UsesOffset() {
+        Totals totals = columns.aggregate(ALL, Key.DAY, 100, 4, columns.size());
+
+        assertArrayEquals(new long[] {2, 1, 0, 2}, totals.units);
+        assertArrayEquals(new long[] {2499, 1999, 0, 3000}, totals.cents);
+    }
+
+    @Test
+    void aggregate_OnlyReadsGivenRows() {
+        Totals totals = columns.aggregate(ALL, Key.PAYMENT_METHOD, 0, 3, 3);
+
+        assertArrayEquals(new long[] {1, 0, 2}, totals.units);
+        assertArrayEquals(new long[] {1999, 0, 2499}, totals.cents);
+    }
+}
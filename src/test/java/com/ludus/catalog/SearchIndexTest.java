@@ -0,0 +1,91 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import com.ludus.dtos.responses.GameDtoResponse;
+
+public class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex(50);
+        index.put(game(1L, "The Witcher 3: Wild Hunt", "RPG", "PC"));
+        index.put(game(2L, "Hollow Knight", "ADVENTURE", "NINTENDO"));
+        index.put(game(3L, "Witchcraft Tycoon", "SIMULATION", "PC"));
+        index.put(game(4L, "Knights of Honor", "STRATEGY", "PC"));
+        index.put(game(5L, "Pokémon Legends", "RPG", "NINTENDO"));
+    }
+
+    private static GameDtoResponse game(Long id, String name, String genre, String platform) {
+        return new GameDtoResponse(id, name, genre, 2020, platform, BigDecimal.TEN);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, PageRequest.of(0, 10)).getContent().stream().map(GameDtoResponse::id).toList();
+    }
+
+    @Test
+    void search_RanksGamesMatchingMoreTermsFirst() {
+        assertEquals(List.of(2L, 4L), ids("hollow knight"));
+        assertEquals(List.of(1L, 5L), ids("rpg witcher"));
+    }
+
+    @Test
+    void search_MatchesNameGenreAndPlatformWithoutAccents() {
+        assertEquals(List.of(5L), ids("POKEMON"));
+        assertEquals(List.of(2L, 5L), ids("nintendo"));
+    }
+
+    @Test
+    void search_LastTermMatchesAsPrefix() {
+        assertEquals(List.of(3L), ids("witchc"));
+        assertEquals(List.of(1L, 3L), ids("witcher wi"));
+    }
+
+    @Test
+    void search_ToleratesOneTypo() {
+        assertEquals(List.of(1L), ids("witchr"));
+        assertEquals(List.of(2L), ids("holow"));
+        assertEquals(List.of(4L), ids("knigts honr"));
+        assertTrue(ids("xyzzy").isEmpty());
+    }
+
+    @Test
+    void search_PagesThroughRankedMatches() {
+        Page<GameDtoResponse> page = index.search("pc", PageRequest.of(1, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(1L), page.getContent().stream().map(GameDtoResponse::id).toList());
+        assertTrue(index.search("pc", PageRequest.of(5, 2)).getContent().isEmpty());
+    }
+
+    @Test
+    void putAndRemove_UpdateIndexInPlace() {
+        index.put(game(3L, "Stardew Valley", "SIMULATION", "PC"));
+        index.remove(2L);
+        index.remove(99L);
+
+        assertEquals(4, index.size());
+        assertTrue(ids("witchcraft").isEmpty());
+        assertEquals(List.of(3L), ids("stardew"));
+        assertEquals(List.of(4L), ids("knight"));
+        index.put(game(6L, "Hollow Knight: Silksong", "ADVENTURE", "PC"));
+        assertEquals(List.of(6L), ids("silksong"));
+    }
+
+    @Test
+    void withinOneEdit_CoversInsertDeleteAndSubstitute() {
+        assertTrue(SearchIndex.withinOneEdit("halo", "hallo"));
+        assertTrue(SearchIndex.withinOneEdit("hallo", "halo"));
+        assertTrue(SearchIndex.withinOneEdit("halo", "hale"));
+        assertFalse(SearchIndex.withinOneEdit("halo", "hole"));
+        assertFalse(SearchIndex.withinOneEdit("halo", "halo22"));
+    }
+}
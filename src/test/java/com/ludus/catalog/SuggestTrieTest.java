@@ -0,0 +1,82 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.catalog.SuggestTrie.Entry;
+
+public class SuggestTrieTest {
+
+    private static final int K = 2;
+
+    private SuggestTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        List<String> keys = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : List.of(
+                new Entry(1L, "The Witcher 3", "PC", 50),
+                new Entry(2L, "Witchcraft Tycoon", "PC", 5),
+                new Entry(3L, "Wild Arms", "NINTENDO", 20),
+                new Entry(4L, "Witcher", "XBOX", 50))) {
+            for (String key : GameSuggester.keys(entry.name())) {
+                keys.add(key);
+                entries.add(entry);
+            }
+        }
+        trie = SuggestTrie.build(keys, entries, K);
+    }
+
+    private static List<Long> ids(List<Entry> entries) {
+        return entries.stream().map(Entry::id).toList();
+    }
+
+    @Test
+    void keys_StartAtEveryWord() {
+        assertEquals(List.of("the witcher 3", "witcher 3", "3"), List.copyOf(GameSuggester.keys("The Witcher: 3")));
+        assertEquals("pokemon", GameSuggester.normalize("  Pokémon "));
+    }
+
+    @Test
+    void lookup_ReturnsMostPopularFirst_UpToK() {
+        assertEquals(List.of(1L, 4L), ids(trie.lookup("wi")));
+        assertEquals(List.of(1L, 4L), ids(trie.lookup("witch")));
+        assertEquals(List.of(2L), ids(trie.lookup("witchc")));
+        assertEquals(List.of(1L), ids(trie.lookup("the")));
+    }
+
+    @Test
+    void lookup_EndsInsideOrPastAnEdge() {
+        assertEquals(List.of(3L), ids(trie.lookup("wild a")));
+        assertTrue(trie.lookup("wilx").isEmpty());
+        assertTrue(trie.lookup("wild arms 2").isEmpty());
+        assertTrue(trie.lookup("z").isEmpty());
+    }
+
+    @Test
+    void insertAndRemove_ReturnNewTrie_LeavingOriginalUntouched() {
+        SuggestTrie next = trie.insert("wind waker", new Entry(5L, "Wind Waker", "NINTENDO", 99))
+                .insert("waker", new Entry(5L, "Wind Waker", "NINTENDO", 99));
+
+        assertEquals(List.of(5L, 1L), ids(next.lookup("wi")));
+        assertEquals(List.of(5L), ids(next.lookup("wa")));
+        assertEquals(List.of(1L, 4L), ids(trie.lookup("wi")));
+
+        SuggestTrie removed = next.remove("wind waker", 5L).remove("witcher", 4L).remove("missing", 1L);
+        assertEquals(List.of(1L, 3L), ids(removed.lookup("wi")));
+        assertEquals(List.of(5L), ids(removed.lookup("waker")));
+        assertTrue(removed.lookup("wind").isEmpty());
+    }
+
+    @Test
+    void insert_IntoEmptyTrie() {
+        SuggestTrie single = SuggestTrie.empty(K).insert("halo", new Entry(9L, "Halo", "XBOX", 0));
+
+        assertEquals(List.of(9L), ids(single.lookup("h")));
+        assertEquals(List.of(9L), ids(single.lookup("halo")));
+        assertTrue(single.remove("halo", 9L).lookup("h").isEmpty());
+    }
+}
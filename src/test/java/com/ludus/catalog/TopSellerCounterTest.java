@@ -0,0 +1,80 @@
+package com.ludus.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.ludus.catalog.TopSellerCounter.Ranked;
+
+public class TopSellerCounterTest {
+
+    private static final int SHORT = 0;
+    private static final int LONG = 1;
+    private static final long START = 1_000;
+
+    private TopSellerCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new TopSellerCounter(START, 3, 10);
+    }
+
+    @Test
+    void top_RanksByUnitsThenId_UpToK() {
+        counter.add(START, 7L, 1);
+        counter.add(START, 3L, 2);
+        counter.add(START, 5L, 2);
+        counter.add(START, 9L, 1);
+
+        assertEquals(List.of(new Ranked(3L, 2), new Ranked(5L, 2), new Ranked(7L, 1)), counter.top(SHORT, 3));
+        assertEquals(4, counter.top(LONG, 10).size());
+    }
+
+    @Test
+    void advance_DropsMinutesThatLeaveEachWindow() {
+        counter.add(START, 1L, 5);
+        counter.add(START + 2, 2L, 3);
+
+        counter.advance(START + 3);
+        assertEquals(List.of(new Ranked(2L, 3)), counter.top(SHORT, 5));
+        assertEquals(List.of(new Ranked(1L, 5), new Ranked(2L, 3)), counter.top(LONG, 5));
+
+        counter.advance(START + 10);
+        assertTrue(counter.top(SHORT, 5).isEmpty());
+        assertEquals(List.of(new Ranked(2L, 3)), counter.top(LONG, 5));
+    }
+
+    @Test
+    void add_IgnoresMinutesOutsideEveryWindow_AndCountsLateMinutesInTheirWindows() {
+        counter.add(START - 10, 1L, 4);
+        counter.add(START - 5, 2L, 1);
+
+        assertTrue(counter.top(SHORT, 5).isEmpty());
+        assertEquals(List.of(new Ranked(2L, 1)), counter.top(LONG, 5));
+        assertTrue(counter.counts(START - 10).isEmpty());
+    }
+
+    @Test
+    void advance_PastTheLargestWindow_ClearsEverything() {
+        counter.add(START, 1L, 2);
+
+        counter.advance(START + 1_000);
+        counter.add(START + 1_000 - 9, 2L, 1);
+
+        assertEquals(List.of(new Ranked(2L, 1)), counter.top(LONG, 5));
+        assertTrue(counter.counts(START).isEmpty());
+    }
+
+    @Test
+    void replace_SetsMinuteToGivenCounts() {
+        counter.add(START - 1, 1L, 2);
+        counter.add(START - 1, 2L, 1);
+
+        counter.replace(START - 1, Map.of(1L, 5L, 3L, 1L));
+
+        assertEquals(Map.of(1L, 5L, 3L, 1L), counter.counts(START - 1));
+        assertEquals(List.of(new Ranked(1L, 5), new Ranked(3L, 1)), counter.top(SHORT, 5));
+        assertEquals(List.of(new Ranked(1L, 5), new Ranked(3L, 1)), counter.top(LONG, 5));
+    }
+}
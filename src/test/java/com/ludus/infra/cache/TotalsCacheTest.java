@@ -0,0 +1,89 @@
+package com.ludus.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.time.Duration;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.ludus.enums.PaymentMethod;
+import com.ludus.infra.config.TotalsConfig;
+
+public class TotalsCacheTest {
+
+    private TotalsConfig totalsConfig;
+    private JdbcTemplate jdbcTemplate;
+    private TotalsCache totalsCache;
+
+    @BeforeEach
+    void setUp() {
+        totalsConfig = new TotalsConfig();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        totalsCache = new TotalsCache(totalsConfig, jdbcTemplate);
+    }
+
+    @Test
+    void increment_AdjustsOnlyMatchingFilterCombinations() {
+        totalsCache.put(TotalsCache.PURCHASES, 10, null, null);
+        totalsCache.put(TotalsCache.PURCHASES, 4, 1L, null);
+        totalsCache.put(TotalsCache.PURCHASES, 3, 2L, null);
+        totalsCache.put(TotalsCache.PURCHASES, 2, 1L, PaymentMethod.PIX);
+
+        totalsCache.increment(TotalsCache.PURCHASES, 1, 1L, PaymentMethod.PIX);
+
+        assertEquals(OptionalLong.of(11), totalsCache.get(TotalsCache.PURCHASES, null, null));
+        assertEquals(OptionalLong.of(5), totalsCache.get(TotalsCache.PURCHASES, 1L, null));
+        assertEquals(OptionalLong.of(3), totalsCache.get(TotalsCache.PURCHASES, 2L, null));
+        assertEquals(OptionalLong.of(3), totalsCache.get(TotalsCache.PURCHASES, 1L, PaymentMethod.PIX));
+        assertTrue(totalsCache.get(TotalsCache.PURCHASES, null, PaymentMethod.PIX).isEmpty());
+    }
+
+    @Test
+    void get_ExpiredCounter_ReturnsNull() {
+        totalsConfig.setTtl(Duration.ZERO);
+        totalsCache.put(TotalsCache.USERS, 3, (Object) null);
+
+        assertTrue(totalsCache.get(TotalsCache.USERS, (Object) null).isEmpty());
+    }
+
+    @Test
+    void put_Full_EvictsExpiredCountersToMakeRoom() throws InterruptedException {
+        totalsConfig.setMaxEntries(2);
+        totalsConfig.setTtl(Duration.ofMillis(200));
+        totalsCache.put(TotalsCache.PURCHASES, 1, 1L, null);
+        totalsCache.put(TotalsCache.PURCHASES, 2, 2L, null);
+        totalsCache.put(TotalsCache.PURCHASES, 3, 3L, null);
+        assertTrue(totalsCache.get(TotalsCache.PURCHASES, 3L, null).isEmpty());
+
+        Thread.sleep(250);
+        totalsCache.put(TotalsCache.PURCHASES, 3, 3L, null);
+
+        assertEquals(OptionalLong.of(3), totalsCache.get(TotalsCache.PURCHASES, 3L, null));
+    }
+
+    @Test
+    void invalidate_DropsOnlyThatTable() {
+        totalsCache.put(TotalsCache.GAMES, 3, null, null);
+        totalsCache.put(TotalsCache.USERS, 5, (Object) null);
+
+        totalsCache.invalidate(TotalsCache.GAMES);
+
+        assertTrue(totalsCache.get(TotalsCache.GAMES, null, null).isEmpty());
+        assertEquals(OptionalLong.of(5), totalsCache.get(TotalsCache.USERS, (Object) null));
+    }
+
+    @Test
+    void getOrEstimate_UsesPlannerStatisticsOnlyForLargeUnfilteredTables() {
+        totalsConfig.setEstimateEnabled(true);
+        totalsConfig.setEstimateThreshold(1000);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(TotalsCache.PURCHASES))).thenReturn(5000L);
+
+        assertEquals(OptionalLong.of(5000), totalsCache.getOrEstimate(TotalsCache.PURCHASES, null, null));
+        assertTrue(totalsCache.getOrEstimate(TotalsCache.PURCHASES, 1L, null).isEmpty());
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(TotalsCache.PURCHASES))).thenReturn(10L);
+        assertTrue(totalsCache.getOrEstimate(TotalsCache.PURCHASES, null, null).isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package com.ludus.infra.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import com.ludus.exceptions.IdempotencyConflictException;
+import com.ludus.exceptions.NotFoundException;
+import com.ludus.infra.config.IdempotencyConfig;
+import com.ludus.models.IdempotencyKeyModel;
+import com.ludus.repositories.IdempotencyKeyRepository;
+
+public class IdempotencyStoreTest {
+
+    private IdempotencyKeyRepository repository;
+    private IdempotencyConfig idempotencyConfig;
+    private IdempotencyStore store;
+    private AtomicInteger writes;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyKeyRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        MessageSource messageSource = mock(MessageSource.class);
+        when(messageSource.getMessage(anyString(), any(), any())).thenReturn("conflict");
+
+        idempotencyConfig = new IdempotencyConfig();
+        store = new IdempotencyStore(repository, idempotencyConfig, messageSource, transactionManager);
+        writes = new AtomicInteger();
+    }
+
+    private Supplier<Long> write(long id) {
+        return () -> {
+            writes.incrementAndGet();
+            return id;
+        };
+    }
+
+    private static IdempotencyKeyModel stored(String key, String fingerprint, Long purchaseId) {
+        IdempotencyKeyModel model = new IdempotencyKeyModel(key, fingerprint, Instant.now());
+        model.setPurchaseId(purchaseId);
+        return model;
+    }
+
+    @Test
+    void execute_RetryReturnsOriginalIdWithoutWritingAgain() {
+        assertEquals(7L, store.execute("k1", "1:1:PIX", write(7L)));
+        assertEquals(7L, store.execute("k1", "1:1:PIX", write(8L)));
+
+        assertEquals(1, writes.get());
+        verify(repository, times(1)).findById("k1");
+        verify(repository).saveAndFlush(argThat(model -> model.getRequestKey().equals("k1")
+                && model.getPurchaseId() == 7L));
+    }
+
+    @Test
+    void execute_SameKeyForDifferentRequest_Conflicts() {
+        store.execute("k1", "1:1:PIX", write(7L));
+
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("k1", "1:2:PIX", write(8L)));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = executor.submit(() -> store.execute("k1", "f", () -> {
+                started.countDown();
+                await(release);
+                writes.incrementAndGet();
+                return 7L;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Long> second = executor.submit(() -> store.execute("k1", "f", write(8L)));
+
+            release.countDown();
+            assertEquals(7L, first.get(5, TimeUnit.SECONDS));
+            assertEquals(7L, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, writes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_FailedWriteIsNotRemembered() {
+        assertThrows(NotFoundException.class, () -> store.execute("k1", "f", () -> {
+            throw new NotFoundException("Game not found for purchase");
+        }));
+
+        assertEquals(9L, store.execute("k1", "f", write(9L)));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_KeyStoredByAnotherInstance_ReplaysWithoutWriting() {
+        when(repository.findById("k1")).thenReturn(Optional.of(stored("k1", "f", 5L)));
+
+        assertEquals(5L, store.execute("k1", "f", write(9L)));
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void execute_LosingTheClaimRace_ReplaysTheWinner() {
+        when(repository.findById("k1")).thenReturn(Optional.empty(), Optional.of(stored("k1", "f", 5L)));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertEquals(5L, store.execute("k1", "f", write(9L)));
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void execute_EvictsOldestKeyWhenFull() {
+        idempotencyConfig.setMaxEntries(1);
+        store.execute("k1", "f", write(1L));
+        store.execute("k2", "f", write(2L));
+
+        store.execute("k1", "f", write(3L));
+
+        // k1 was evicted from memory, so it is looked up in the table again.
+        verify(repository, times(2)).findById("k1");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ludus.infra.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.infra.config.PurchasePipelineConfig;
+import com.ludus.models.PurchaseModel;
+import com.ludus.repositories.PurchaseRepository;
+import com.ludus.services.SalesStatsService;
+
+public class PurchaseWritePipelineTest {
+
+    private PurchaseRepository purchaseRepository;
+    private SalesStatsService salesStatsService;
+    private PurchasePipelineConfig pipelineConfig;
+    private PlatformTransactionManager transactionManager;
+    private MessageSource messageSource;
+    private PurchaseWritePipeline pipeline;
+    private ExecutorService executor;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository = mock(PurchaseRepository.class);
+        when(purchaseRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<PurchaseModel> purchases = invocation.getArgument(0);
+            purchases.forEach(purchase -> purchase.setId(ids.incrementAndGet()));
+            return purchases;
+        });
+        salesStatsService = mock(SalesStatsService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        messageSource = mock(MessageSource.class);
+        when(messageSource.getMessage(anyString(), any(), any())).thenReturn("busy");
+
+        pipelineConfig = new PurchasePipelineConfig();
+        pipelineConfig.setEnabled(true);
+        pipelineConfig.setBatchSize(3);
+        pipelineConfig.setLinger(Duration.ofSeconds(2));
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    private void startPipeline() {
+        pipeline = new PurchaseWritePipeline(purchaseRepository, salesStatsService, pipelineConfig, messageSource, transactionManager);
+        pipeline.start();
+    }
+
+    private List<Future<Long>> submitAll(int count) {
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(executor.submit(() -> pipeline.submit(new PurchaseModel(), () -> { })));
+        }
+        return results;
+    }
+
+    @Test
+    void submit_FullBatchIsWrittenWithOneSaveAllAndOneCommit() throws Exception {
+        startPipeline();
+
+        List<Future<Long>> results = submitAll(3);
+
+        List<Long> written = new ArrayList<>();
+        for (Future<Long> result : results) {
+            written.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(1L, 2L, 3L), written.stream().sorted().toList());
+        verify(purchaseRepository).saveAll(argThat(batch -> ((List<?>) batch).size() == 3));
+        verify(salesStatsService).record(argThat(batch -> batch.size() == 3));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void submit_PartialBatchIsWrittenAfterLinger() throws Exception {
+        pipelineConfig.setLinger(Duration.ofMillis(20));
+        startPipeline();
+
+        assertEquals(1L, submitAll(1).get(0).get(5, TimeUnit.SECONDS));
+        verify(purchaseRepository).saveAll(argThat(batch -> ((List<?>) batch).size() == 1));
+    }
+
+    @Test
+    void submit_FailedBatchFallsBackToSingleWrites() throws Exception {
+        when(purchaseRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("fk"));
+        when(purchaseRepository.save(any(PurchaseModel.class))).thenAnswer(invocation -> {
+            PurchaseModel purchase = invocation.getArgument(0);
+            if (ids.incrementAndGet() == 2) {
+                throw new DataIntegrityViolationException("game was deleted");
+            }
+            purchase.setId(ids.get());
+            return purchase;
+        });
+        startPipeline();
+
+        List<Future<Long>> results = submitAll(3);
+
+        int failed = 0;
+        for (Future<Long> result : results) {
+            try {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+                failed++;
+            }
+        }
+        assertEquals(1, failed);
+        verify(purchaseRepository, times(3)).save(any(PurchaseModel.class));
+    }
+
+    @Test
+    void submit_FullQueueTurnsCallersAway() throws Exception {
+        pipelineConfig.setBatchSize(1);
+        pipelineConfig.setQueueCapacity(1);
+        pipelineConfig.setOfferTimeout(Duration.ofMillis(50));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(purchaseRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        startPipeline();
+
+        // The first purchase holds the writer and the second fills the queue.
+        Future<Long> first = submitAll(1).get(0);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Future<Long> second = submitAll(1).get(0);
+        Thread.sleep(50);
+
+        assertThrows(ServiceBusyException.class, () -> pipeline.submit(new PurchaseModel(), () -> { }));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submit_WriterInterruptedWhileLingering_FailsTakenPurchases() throws Exception {
+        startPipeline();
+        Future<Long> result = submitAll(1).get(0);
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("purchase-writer")).findFirst().orElseThrow();
+        // Let the writer take the purchase and start waiting for the batch to fill.
+        Thread.sleep(200);
+
+        writer.interrupt();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceBusyException.class, e.getCause());
+        verify(purchaseRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void submit_BatchNotCommittedInTime_TurnsCallerAway_ButStillRunsCommitHook() throws Exception {
+        pipelineConfig.setBatchSize(1);
+        pipelineConfig.setCommitTimeout(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(purchaseRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        startPipeline();
+
+        assertThrows(ServiceBusyException.class, () -> pipeline.submit(new PurchaseModel(), committed::countDown));
+        release.countDown();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_Disabled_TurnsCallersAway() {
+        pipelineConfig.setEnabled(false);
+        startPipeline();
+
+        assertFalse(pipeline.isEnabled());
+        assertThrows(ServiceBusyException.class, () -> pipeline.submit(new PurchaseModel(), () -> { }));
+    }
+}
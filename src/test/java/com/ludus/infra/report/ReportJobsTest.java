@@ -0,0 +1,187 @@
+package com.ludus.infra.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.MessageSource;
+import com.ludus.enums.ExportFormat;
+import com.ludus.enums.ReportStatus;
+import com.ludus.enums.ReportType;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.infra.config.ReportConfig;
+
+public class ReportJobsTest {
+
+    private static final ReportSpec JANUARY = new ReportSpec(ReportType.PURCHASES, ExportFormat.CSV,
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+    private static final ReportSpec FEBRUARY = new ReportSpec(ReportType.PURCHASES, ExportFormat.CSV,
+            LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+
+    @TempDir
+    private Path directory;
+
+    private ReportConfig reportConfig;
+    private ReportJobs reportJobs;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reportConfig = new ReportConfig();
+        reportConfig.setDirectory(directory.toString());
+        reportConfig.setMaxConcurrent(1);
+        reportConfig.setMaxQueued(2);
+        Files.writeString(directory.resolve("leftover.csv"), "stale");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        reportJobs.stop();
+    }
+
+    private void startJobs() throws IOException {
+        MessageSource messageSource = mock(MessageSource.class);
+        when(messageSource.getMessage(anyString(), any(), any())).thenReturn("message");
+        reportJobs = new ReportJobs(reportConfig, messageSource);
+        reportJobs.start();
+    }
+
+    private ReportJobs.Task blocked() {
+        return (job, out) -> {
+            job.setExpectedRows(4);
+            job.rowWritten();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            while (true) {
+                job.rowWritten();
+                Thread.onSpinWait();
+            }
+        };
+    }
+
+    private static void awaitStatus(ReportJob job, ReportStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    @Test
+    void start_DeletesLeftoverFiles() throws IOException {
+        startJobs();
+
+        assertFalse(Files.exists(directory.resolve("leftover.csv")));
+    }
+
+    @Test
+    void submit_WritesFileAndCompletes() throws Exception {
+        startJobs();
+
+        ReportJob job = reportJobs.submit(JANUARY, (j, out) -> {
+            j.setExpectedRows(2);
+            out.write("a\n".getBytes(StandardCharsets.UTF_8));
+            j.rowWritten();
+            out.write("b\n".getBytes(StandardCharsets.UTF_8));
+            j.rowWritten();
+        });
+
+        awaitStatus(job, ReportStatus.COMPLETED);
+        assertEquals("a\nb\n", Files.readString(job.getFile()));
+        assertEquals(2, job.getRows());
+        assertEquals(100, job.getProgress());
+        assertEquals("purchases-from-2025-01-01-to-2025-01-31.csv", job.getSpec().fileName());
+        assertSame(job, reportJobs.get(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void submit_SameSpecWhileRunning_ReturnsRunningJob_OthersWaitForAWriter() throws Exception {
+        startJobs();
+
+        ReportJob first = reportJobs.submit(JANUARY, blocked());
+        awaitStatus(first, ReportStatus.RUNNING);
+        ReportJob same = reportJobs.submit(JANUARY, (job, out) -> fail("duplicate report ran"));
+        ReportJob other = reportJobs.submit(FEBRUARY, (job, out) -> job.rowWritten());
+
+        assertSame(first, same);
+        assertEquals(25, first.getProgress());
+        Thread.sleep(50);
+        assertEquals(ReportStatus.QUEUED, other.getStatus());
+        assertThrows(ServiceBusyException.class, () -> reportJobs.submit(
+                new ReportSpec(ReportType.DAILY_SALES, ExportFormat.CSV, null, null), (job, out) -> { }));
+
+        assertTrue(reportJobs.cancel(first.getId()));
+        release.countDown();
+        awaitStatus(first, ReportStatus.CANCELLED);
+        awaitStatus(other, ReportStatus.COMPLETED);
+    }
+
+    @Test
+    void cancel_RunningJob_StopsItAndDeletesPartialFile() throws Exception {
+        startJobs();
+        ReportJob job = reportJobs.submit(JANUARY, blocked());
+        awaitStatus(job, ReportStatus.RUNNING);
+        release.countDown();
+
+        assertTrue(reportJobs.cancel(job.getId()));
+
+        awaitStatus(job, ReportStatus.CANCELLED);
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        assertNotSame(job, reportJobs.submit(JANUARY, (j, out) -> { }));
+    }
+
+    @Test
+    void cancel_QueuedJob_NeverRunsIt() throws Exception {
+        startJobs();
+        ReportJob running = reportJobs.submit(JANUARY, blocked());
+        awaitStatus(running, ReportStatus.RUNNING);
+        ReportJob queued = reportJobs.submit(FEBRUARY, (job, out) -> fail("cancelled report ran"));
+
+        assertTrue(reportJobs.cancel(queued.getId()));
+
+        awaitStatus(queued, ReportStatus.CANCELLED);
+        reportJobs.cancel(running.getId());
+    }
+
+    @Test
+    void cancel_FinishedJob_ForgetsItAndItsFile() throws Exception {
+        startJobs();
+        ReportJob job = reportJobs.submit(JANUARY, (j, out) -> out.write(1));
+        awaitStatus(job, ReportStatus.COMPLETED);
+
+        assertTrue(reportJobs.cancel(job.getId()));
+
+        assertTrue(reportJobs.get(job.getId()).isEmpty());
+        assertFalse(Files.exists(job.getFile()));
+        assertFalse(reportJobs.cancel(job.getId()));
+    }
+
+    @Test
+    void submit_FailingTask_MarksJobFailed() throws Exception {
+        startJobs();
+
+        ReportJob job = reportJobs.submit(JANUARY, (j, out) -> {
+            throw new IOException("disk full");
+        });
+
+        awaitStatus(job, ReportStatus.FAILED);
+        assertEquals("message", job.getError());
+        assertFalse(Files.exists(job.getFile()));
+    }
+}
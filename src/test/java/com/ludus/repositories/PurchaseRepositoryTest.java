@@ -0,0 +1,230 @@
+package com.ludus.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.GamePlatform;
+import com.ludus.enums.PaymentMethod;
+import com.ludus.enums.UserRole;
+import com.ludus.models.GameModel;
+import com.ludus.models.PurchaseModel;
+import com.ludus.models.UserModel;
+import com.ludus.repositories.projections.MinuteSales;
+import com.ludus.repositories.projections.PurchaseRef;
+import com.ludus.repositories.projections.PurchaseRow;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements behind purchase reads, so a change that brings back per-row game or
+ * user selects fails here rather than in production latency.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class PurchaseRepositoryTest {
+
+    private static final int PURCHASES = 12;
+    private static final LocalDate EARLIEST = LocalDate.EPOCH;
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstPurchaseId;
+    private GameModel lastGame;
+    private UserModel lastUser;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PURCHASES; i++) {
+            GameModel game = new GameModel();
+            game.setName("Game " + i);
+            game.setGenre(GameGenre.RPG);
+            game.setReleaseYear(2020);
+            game.setPlatform(GamePlatform.PC);
+            game.setPrice(BigDecimal.TEN);
+            entityManager.persist(game);
+
+            UserModel user = new UserModel();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(UserRole.USER);
+            entityManager.persist(user);
+
+            PurchaseModel purchase = new PurchaseModel();
+            purchase.setGame(game);
+            purchase.setUser(user);
+            purchase.setPurchaseDate(LocalDate.now());
+            purchase.setPrice(BigDecimal.TEN);
+            purchase.setPaymentMethod(PaymentMethod.PIX);
+            entityManager.persist(purchase);
+            if (firstPurchaseId == null) {
+                firstPurchaseId = purchase.getId();
+            }
+            lastGame = game;
+            lastUser = user;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageContent_LoadsGamesAndUsersInOneStatement() {
+        List<PurchaseRow> rows = purchaseRepository.findPageContent(null, PaymentMethod.PIX, EARLIEST, LATEST,
+                PageRequest.of(0, 10));
+
+        assertEquals(10, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findRefPageContent_NumberedPagesFollowIdOrder() {
+        List<Long> first = purchaseRepository.findRefPageContent(null, null, EARLIEST, LATEST, PageRequest.of(0, 5))
+                .stream().map(PurchaseRef::id).toList();
+        List<Long> second = purchaseRepository.findRefPageContent(null, null, EARLIEST, LATEST, PageRequest.of(1, 5))
+                .stream().map(PurchaseRef::id).toList();
+
+        assertEquals(firstPurchaseId, first.get(0));
+        assertEquals(first.stream().sorted().toList(), first);
+        assertEquals(second.stream().sorted().toList(), second);
+        assertTrue(first.get(4) < second.get(0));
+    }
+
+    @Test
+    void findAll_AddsOnlyTheCountStatement() {
+        Page<PurchaseRow> page = purchaseRepository.findAll(null, null, EARLIEST, LATEST, PageRequest.of(0, 10));
+
+        assertEquals(PURCHASES, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_PurchaseWithoutGame_IsLeftOutOfContentAndCount() {
+        PurchaseModel orphan = new PurchaseModel();
+        orphan.setUser(entityManager.find(UserModel.class, lastUser.getId()));
+        orphan.setPurchaseDate(LocalDate.now());
+        orphan.setPrice(BigDecimal.TEN);
+        orphan.setPaymentMethod(PaymentMethod.PIX);
+        entityManager.persist(orphan);
+        entityManager.flush();
+
+        // Full first pages, so the totals come from the count queries.
+        Page<PurchaseRow> all = purchaseRepository.findAll(null, null, EARLIEST, LATEST, PageRequest.of(0, 5));
+        Page<PurchaseRow> byUser = purchaseRepository.findByUser(lastUser.getId(), PageRequest.of(0, 1));
+
+        assertEquals(PURCHASES, all.getTotalElements());
+        assertEquals(1, byUser.getTotalElements());
+    }
+
+    @Test
+    void findAll_DateRange_IsInclusive() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(PURCHASES, purchaseRepository.findAll(null, null, today, today, PageRequest.of(0, 10))
+                .getTotalElements());
+        assertEquals(0, purchaseRepository.findAll(null, null, today.plusDays(1), LATEST, PageRequest.of(0, 10))
+                .getTotalElements());
+    }
+
+    @Test
+    void findAllRefs_ReadsIdsWithoutLoadingGamesOrUsers() {
+        Page<PurchaseRef> page = purchaseRepository.findAllRefs(null, PaymentMethod.PIX, EARLIEST, LATEST,
+                PageRequest.of(0, 10));
+
+        assertEquals(PURCHASES, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(row -> row.gameId() != null && row.userId() != null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findRefsByUserAfter_SeeksPastTheCursor() {
+        List<PurchaseRef> rows = purchaseRepository.findRefsByUserAfter(lastUser.getId(), firstPurchaseId,
+                PageRequest.ofSize(10));
+
+        assertEquals(1, rows.size());
+        assertEquals(lastGame.getId(), rows.get(0).gameId());
+        assertTrue(purchaseRepository.findRefsByUserAfter(lastUser.getId(), rows.get(0).id(), PageRequest.ofSize(10))
+                .isEmpty());
+    }
+
+    @Test
+    void findById_FetchesGameAndUserWithThePurchase() {
+        PurchaseModel purchase = purchaseRepository.findById(firstPurchaseId).orElseThrow();
+
+        assertEquals("Game 0", purchase.getGame().getName());
+        assertEquals("User 0", purchase.getUser().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAll_InsertsCartInOneBatch() {
+        List<PurchaseModel> cart = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PurchaseModel purchase = new PurchaseModel();
+            purchase.setGame(entityManager.getEntityManager().getReference(GameModel.class, lastGame.getId()));
+            purchase.setUser(entityManager.getEntityManager().getReference(UserModel.class, lastUser.getId()));
+            purchase.setPurchaseDate(LocalDate.now());
+            purchase.setPrice(BigDecimal.ONE);
+            purchase.setPaymentMethod(PaymentMethod.PIX);
+            cart.add(purchase);
+        }
+
+        purchaseRepository.saveAll(cart);
+        entityManager.flush();
+
+        assertEquals(5, statistics.getEntityInsertCount());
+        // Ids come from the pooled sequence already fetched in setUp, so only the insert is prepared.
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void countPurchasesByMinuteSince_GroupsByMinuteAndGame() {
+        PurchaseModel repeat = new PurchaseModel();
+        repeat.setGame(entityManager.getEntityManager().getReference(GameModel.class, lastGame.getId()));
+        repeat.setUser(entityManager.getEntityManager().getReference(UserModel.class, lastUser.getId()));
+        repeat.setPurchaseDate(LocalDate.now());
+        repeat.setPrice(BigDecimal.ONE);
+        repeat.setPaymentMethod(PaymentMethod.PIX);
+        entityManager.persistAndFlush(repeat);
+
+        Instant minute = Instant.parse("2025-01-15T10:30:00Z");
+        entityManager.getEntityManager().createQuery("UPDATE PurchaseModel p SET p.createdAt = :at")
+                .setParameter("at", minute.plusSeconds(59)).executeUpdate();
+        entityManager.getEntityManager().createQuery("UPDATE PurchaseModel p SET p.createdAt = :at WHERE p.id = :id")
+                .setParameter("at", minute.minusSeconds(1)).setParameter("id", firstPurchaseId).executeUpdate();
+
+        List<MinuteSales> rows = purchaseRepository.countPurchasesByMinuteSince(minute);
+
+        assertEquals(PURCHASES - 1, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.minute() == minute.getEpochSecond() / 60));
+        assertEquals(2, rows.stream().filter(row -> row.gameId().equals(lastGame.getId()))
+                .findFirst().orElseThrow().units());
+    }
+}
@@ -0,0 +1,207 @@
+package com.ludus.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ludus.catalog.GameCatalog;
+import com.ludus.catalog.GameFacets;
+import com.ludus.catalog.GameSearchIndex;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.catalog.TopSellers;
+import com.ludus.dtos.responses.ImportDtoResponse;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.GameImportConfig;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.infra.config.SuggestConfig;
+import com.ludus.infra.config.TopSellersConfig;
+import com.ludus.models.GameModel;
+import com.ludus.repositories.GameRepository;
+import com.ludus.utils.UtilHelper;
+
+@ExtendWith(MockitoExtension.class)
+public class GameImportServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private GameCatalog gameCatalog;
+
+    @Mock
+    private GameSearchIndex gameSearchIndex;
+
+    @Mock
+    private GameSuggester gameSuggester;
+
+    @Mock
+    private GameFacets gameFacets;
+
+    @Mock
+    private TotalsCache totalsCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LocalValidatorFactoryBean validator;
+    private GameImportConfig gameImportConfig;
+    private GameImportService gameImportService;
+
+    @BeforeEach
+    void setUp() {
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        gameImportConfig = new GameImportConfig();
+        gameImportConfig.setBatchSize(2);
+        lenient().when(messageSource.getMessage(anyString(), any(), any())).thenAnswer(inv -> inv.getArgument(0));
+
+        GameService gameService = new GameService(gameRepository, messageSource, mock(UtilHelper.class),
+                gameCatalog, totalsCache, new PaginationConfig(), gameSearchIndex, gameSuggester, new SuggestConfig(),
+                gameFacets, mock(TopSellers.class), new TopSellersConfig());
+        gameImportService = new GameImportService(gameRepository, gameService, gameCatalog, gameSearchIndex,
+                gameSuggester, gameFacets, totalsCache, gameImportConfig, messageSource, new ObjectMapper(), validator,
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importGames_Ndjson_WritesValidRowsInBatches_AndReportsInvalidOnes() throws IOException {
+        String body = """
+            {"name":"Game One","genre":"ACTION","releaseYear":2020,"platform":"PC","price":10.0}
+            {"name":"Game Two","genre":"RPG","releaseYear":2021,"platform":"TOASTER","price":20.0}
+
+            {"name":"Game Three","genre":"HORROR","releaseYear":2022,"platform":"XBOX","price":30.0}
+            not json
+            {"name":"Game Four","genre":"SPORTS","releaseYear":2023,"platform":"MOBILE","price":0}
+            """;
+
+        ImportDtoResponse report = gameImportService.importGames(stream(body), GameImportService.NDJSON);
+
+        assertEquals(5, report.rows());
+        assertEquals(3, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(2, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).details().contains("invalid.platform"));
+        assertEquals(5, report.errors().get(1).line());
+        assertEquals(List.of("game.import.malformed.row"), report.errors().get(1).details());
+
+        ArgumentCaptor<List<GameModel>> batches = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository, times(2)).saveAll(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals("Game Four", batches.getAllValues().get(1).get(0).getName());
+        verify(totalsCache).invalidate(TotalsCache.GAMES);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importGames_Csv_MapsColumnsByHeader_AndHandlesQuotedFields() throws IOException {
+        String body = """
+            price,platform,name,genre,releaseYear
+            59.99,PC,"Warhammer 40,000: Dawn of War",STRATEGY,2004
+            9.99,PC,"The ""Quoted"" Game",ADVENTURE,1899
+            """;
+
+        ImportDtoResponse report = gameImportService.importGames(stream(body), "text/csv; charset=UTF-8");
+
+        assertEquals(2, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals(List.of("releaseYear.Min"), report.errors().get(0).details());
+
+        ArgumentCaptor<List<GameModel>> batch = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository).saveAll(batch.capture());
+        assertEquals("Warhammer 40,000: Dawn of War", batch.getValue().get(0).getName());
+    }
+
+    @Test
+    void importGames_Csv_WithoutRequiredColumn_ThrowsValidationException() {
+        String body = "name,genre,platform,price\nGame,ACTION,PC,1\n";
+
+        assertThrows(ValidationException.class,
+                () -> gameImportService.importGames(stream(body), GameImportService.CSV));
+        verify(gameRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importGames_BatchRejectedByDatabase_ReportsEveryRowOfThatBatch() throws IOException {
+        when(gameRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("boom"));
+        String body = """
+            {"name":"Game One","genre":"ACTION","releaseYear":2020,"platform":"PC","price":10.0}
+            {"name":"Game Two","genre":"RPG","releaseYear":2021,"platform":"PC","price":20.0}
+            """;
+
+        ImportDtoResponse report = gameImportService.importGames(stream(body), GameImportService.NDJSON);
+
+        assertEquals(0, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of("game.import.batch.error"), report.errors().get(1).details());
+        verify(totalsCache, never()).invalidate(any());
+    }
+
+    @Test
+    void importGames_StreamFailsAfterCommittedBatch_StillPublishesImportedGames() {
+        byte[] rows = """
+            {"name":"Game One","genre":"ACTION","releaseYear":2020,"platform":"PC","price":10.0}
+            {"name":"Game Two","genre":"RPG","releaseYear":2021,"platform":"PC","price":20.0}
+            """.getBytes(StandardCharsets.UTF_8);
+        InputStream body = new SequenceInputStream(new ByteArrayInputStream(rows), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        assertThrows(IOException.class, () -> gameImportService.importGames(body, GameImportService.NDJSON));
+        verify(gameRepository).saveAll(any());
+        verify(gameCatalog).onBulkChange();
+        verify(gameSearchIndex).onBulkChange();
+        verify(gameSuggester).onBulkChange();
+        verify(gameFacets).onBulkChange();
+        verify(totalsCache).invalidate(TotalsCache.GAMES);
+    }
+
+    @Test
+    void importGames_StopsListingErrorsAfterLimit_ButKeepsCounting() throws IOException {
+        gameImportConfig.setMaxReportedErrors(1);
+
+        ImportDtoResponse report = gameImportService.importGames(stream("x\ny\nz\n"), GameImportService.NDJSON);
+
+        assertEquals(3, report.failed());
+        assertEquals(1, report.errors().size());
+    }
+
+    @Test
+    void splitCsv_HandlesEmptyAndQuotedFields() {
+        assertEquals(List.of("a", "", "b,c", "d\"e"), GameImportService.splitCsv("a,,\"b,c\",\"d\"\"e\""));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
@@ -20,15 +21,30 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import com.ludus.catalog.CatalogSnapshot;
+import com.ludus.catalog.GameCatalog;
+import com.ludus.catalog.GameFacets;
+import com.ludus.catalog.GameSearchIndex;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.catalog.TopSellers;
 import com.ludus.dtos.requests.GameDtoRequest;
+import com.ludus.dtos.requests.GamePatchDtoRequest;
+import com.ludus.dtos.requests.GamePriceUpdateDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.GameDtoResponse;
+import com.ludus.dtos.responses.GameSuggestionDtoResponse;
 import com.ludus.dtos.responses.InfoDtoResponse;
 import com.ludus.enums.GameGenre;
 import com.ludus.enums.GamePlatform;
+import com.ludus.enums.TopSellerWindow;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.InvalidPageException;
 import com.ludus.exceptions.NotFoundException;
+import com.ludus.exceptions.PreconditionFailedException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.infra.config.SuggestConfig;
+import com.ludus.infra.config.TopSellersConfig;
 import com.ludus.exceptions.ValidationException;
 import com.ludus.models.GameModel;
 import com.ludus.repositories.GameRepository;
@@ -49,6 +65,33 @@ public class GameServiceTest {
     @Mock
     private BindingResult bindingResult;
     
+    @Mock
+    private GameCatalog gameCatalog;
+    
+    @Mock
+    private TotalsCache totalsCache;
+    
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+    
+    @Mock
+    private GameSearchIndex gameSearchIndex;
+    
+    @Mock
+    private GameSuggester gameSuggester;
+    
+    @Spy
+    private SuggestConfig suggestConfig = new SuggestConfig();
+    
+    @Mock
+    private GameFacets gameFacets;
+
+    @Mock
+    private TopSellers topSellers;
+
+    @Spy
+    private TopSellersConfig topSellersConfig = new TopSellersConfig();
+    
     @InjectMocks
     private GameService gameService;
     
@@ -89,12 +132,14 @@ public class GameServiceTest {
     
     @Test
     void getAllGames_ValidParameters_ReturnsApiDtoResponse() {
-        Page<GameModel> gamePage = new PageImpl<>(gameList);
+        Page<GameDtoResponse> gamePage = new PageImpl<>(List.of(
+            new GameDtoResponse(1L, "Test Game", GameGenre.ACTION, 2023, GamePlatform.PC, BigDecimal.valueOf(59.99)),
+            new GameDtoResponse(2L, "Another Game", GameGenre.ADVENTURE, 2022, GamePlatform.PLAYSTATION, BigDecimal.valueOf(49.99))));
         InfoDtoResponse mockInfo = new InfoDtoResponse(2L, 1L, null, null);
         
         when(gameRepository.findAll(any(), any(), any(Pageable.class))).thenReturn(gamePage);
         when(utilHelper.buildPageableInfoDto(any(), anyString())).thenReturn(mockInfo);
-        ApiDtoResponse<GameDtoResponse> result = gameService.getAllGames(1, null, null);
+        ApiDtoResponse<GameDtoResponse> result = gameService.getAllGames(1, null, null, null);
         
         assertNotNull(result);
         assertEquals(2, result.results().size());
@@ -107,10 +152,45 @@ public class GameServiceTest {
         verify(utilHelper).buildPageableInfoDto(eq(gamePage), eq("/games"));
     }
     
+    @Test
+    void getAllGames_CatalogEnabled_DoesNotQueryRepository() {
+        GameDtoResponse catalogGame = new GameDtoResponse(1L, "Test Game", "ACTION", 2023, "PC", BigDecimal.valueOf(59.99));
+        Page<GameDtoResponse> catalogPage = new PageImpl<>(List.of(catalogGame));
+        InfoDtoResponse mockInfo = new InfoDtoResponse(1L, 1L, null, null);
+        
+        CatalogSnapshot snapshot = mock(CatalogSnapshot.class);
+        when(gameCatalog.isEnabled()).thenReturn(true);
+        when(gameCatalog.snapshot()).thenReturn(snapshot);
+        when(gameCatalog.findAll(same(snapshot), eq(GameGenre.ACTION), eq("test"), any(Pageable.class)))
+            .thenReturn(catalogPage);
+        when(utilHelper.buildPageableInfoDto(any(), anyString())).thenReturn(mockInfo);
+        ApiDtoResponse<GameDtoResponse> result = gameService.getAllGames(1, null, "action", "test");
+        
+        assertEquals(List.of(catalogGame), result.results());
+        assertEquals(mockInfo, result.info());
+        verifyNoInteractions(gameRepository);
+    }
+    
+    @Test
+    void getAllGames_RequestedSize_IsCappedByServerMaximum() {
+        when(gameRepository.findAll(any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+        
+        gameService.getAllGames(2, 500, null, null);
+        
+        verify(gameRepository).findAll(eq(null), eq(null),
+            argThat((Pageable pageable) -> pageable.getPageSize() == 100 && pageable.getPageNumber() == 1));
+    }
+    
+    @Test
+    void getAllGames_NonPositiveSize_ThrowsInvalidPageException() {
+        assertThrows(InvalidPageException.class, () -> gameService.getAllGames(1, 0, null, null));
+        verifyNoInteractions(gameRepository);
+    }
+    
     @Test
     void getAllGames_InvalidPage_ThrowsInvalidPageException() {
-        assertThrows(InvalidPageException.class, () -> gameService.getAllGames(0, null, null));
-        assertThrows(InvalidPageException.class, () -> gameService.getAllGames(-1, null, null));
+        assertThrows(InvalidPageException.class, () -> gameService.getAllGames(0, null, null, null));
+        assertThrows(InvalidPageException.class, () -> gameService.getAllGames(-1, null, null, null));
     }
     
     @Test
@@ -118,7 +198,93 @@ public class GameServiceTest {
         when(messageSource.getMessage(eq("invalid.genre"), any(), any(Locale.class)))
             .thenReturn("Invalid genre");
         
-        assertThrows(NotFoundException.class, () -> gameService.getAllGames(1, "INVALID_GENRE", null));
+        assertThrows(NotFoundException.class, () -> gameService.getAllGames(1, null, "INVALID_GENRE", null));
+    }
+    
+    @Test
+    void searchGames_ValidQuery_ReturnsIndexResultsWithQueryInLinks() {
+        GameDtoResponse hit = new GameDtoResponse(1L, "The Witcher 3", "RPG", 2015, "PC", BigDecimal.valueOf(39.99));
+        Page<GameDtoResponse> hits = new PageImpl<>(List.of(hit));
+        InfoDtoResponse mockInfo = new InfoDtoResponse(1L, 1L, null, null);
+        
+        when(gameSearchIndex.search(eq("witcher"), any(Pageable.class))).thenReturn(hits);
+        when(utilHelper.buildPageableInfoDto(hits, "/games/search", "q", "witcher")).thenReturn(mockInfo);
+        ApiDtoResponse<GameDtoResponse> result = gameService.searchGames("witcher", 1, 20);
+        
+        assertEquals(List.of(hit), result.results());
+        assertEquals(mockInfo, result.info());
+        verify(gameSearchIndex).search(eq("witcher"), argThat((Pageable pageable) -> pageable.getPageSize() == 20));
+        verifyNoInteractions(gameRepository);
+    }
+    
+    @Test
+    void searchGames_BlankQuery_ThrowsValidationException() {
+        when(messageSource.getMessage(eq("game.search.query.blank"), any(), any(Locale.class)))
+            .thenReturn("Search query cannot be blank");
+        
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> gameService.searchGames("  ", 1, null));
+        
+        assertEquals(List.of("Search query cannot be blank"), exception.getErrors());
+        verifyNoInteractions(gameSearchIndex);
+    }
+    
+    @Test
+    void suggestGames_CapsLimitAtConfiguredMaximum() {
+        List<GameSuggestionDtoResponse> suggestions = List.of(new GameSuggestionDtoResponse(1L, "Test Game", "PC"));
+        when(gameSuggester.suggest("te", 10)).thenReturn(suggestions);
+        
+        assertEquals(suggestions, gameService.suggestGames("te", 50));
+        gameService.suggestGames("te", null);
+        gameService.suggestGames("te", 0);
+        
+        verify(gameSuggester, times(2)).suggest("te", 10);
+        verify(gameSuggester).suggest("te", 1);
+    }
+    
+    @Test
+    void suggestGames_BlankQuery_ReturnsNothing() {
+        assertTrue(gameService.suggestGames(" ", null).isEmpty());
+        verifyNoInteractions(gameSuggester);
+    }
+    
+    @Test
+    void getFacets_ParsesFiltersAndDelegates() {
+        when(gameFacets.priceBands()).thenReturn(List.of("0-10", "10+"));
+        
+        gameService.getFacets("rpg", "pc", " 10+ ", 1995);
+        
+        verify(gameFacets).count(GameGenre.RPG, GamePlatform.PC, "10+", 1995);
+    }
+    
+    @Test
+    void getFacets_UnknownPriceBand_ThrowsValidationException() {
+        when(gameFacets.priceBands()).thenReturn(List.of("0-10", "10+"));
+        when(messageSource.getMessage(eq("game.facets.price.band.invalid"), any(), any(Locale.class)))
+            .thenReturn("Invalid price band. Valid options are: 0-10, 10+");
+        
+        assertThrows(ValidationException.class, () -> gameService.getFacets(null, null, "5-15", null));
+        verify(gameFacets, never()).count(any(), any(), any(), any());
+    }
+    
+    @Test
+    void getTopSellers_DefaultsToDayAndCapsLimit() {
+        gameService.getTopSellers(null, null);
+        gameService.getTopSellers(" week ", 50);
+        gameService.getTopSellers("hour", 0);
+        
+        verify(topSellers).top(TopSellerWindow.DAY, 10);
+        verify(topSellers).top(TopSellerWindow.WEEK, 10);
+        verify(topSellers).top(TopSellerWindow.HOUR, 1);
+    }
+    
+    @Test
+    void getTopSellers_UnknownWindow_ThrowsValidationException() {
+        when(messageSource.getMessage(eq("game.top.window.invalid"), any(), any(Locale.class)))
+            .thenReturn("Invalid window. Valid options are: HOUR, DAY, WEEK");
+        
+        assertThrows(ValidationException.class, () -> gameService.getTopSellers("month", null));
+        verifyNoInteractions(topSellers);
     }
     
     @Test
@@ -138,6 +304,16 @@ public class GameServiceTest {
         verify(gameRepository).findById(1L);
     }
     
+    @Test
+    void getGame_CatalogEnabled_DoesNotQueryRepository() {
+        GameDtoResponse catalogGame = new GameDtoResponse(1L, "Test Game", "ACTION", 2023, "PC", BigDecimal.valueOf(59.99));
+        when(gameCatalog.isEnabled()).thenReturn(true);
+        when(gameCatalog.findById(1L)).thenReturn(Optional.of(catalogGame));
+        
+        assertEquals(catalogGame, gameService.getGame(1L));
+        verifyNoInteractions(gameRepository);
+    }
+    
     @Test
     void getGame_InvalidId_ThrowsInvalidIdException() {
         assertThrows(InvalidIdException.class, () -> gameService.getGame(null));
@@ -160,6 +336,7 @@ public class GameServiceTest {
         when(bindingResult.hasErrors()).thenReturn(false);
         gameService.createGame(validGameRequest, bindingResult);
         verify(gameRepository).save(any(GameModel.class));
+        verify(gameCatalog).onSaved(any(GameModel.class));
     }
     
     @Test
@@ -191,6 +368,60 @@ public class GameServiceTest {
         assertThrows(ValidationException.class, () -> gameService.createGame(validGameRequest, bindingResult));
     }
     
+    @Test
+    void updateGame_IfMatchCurrentVersion_SavesGame() {
+        testGame.setVersion(3L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+        
+        gameService.updateGame(1L, new GamePatchDtoRequest("Renamed", null, null, null, null), bindingResult, "\"3\"");
+        
+        assertEquals("Renamed", testGame.getName());
+        verify(gameRepository).save(testGame);
+    }
+    
+    @Test
+    void updateGame_PublishesSavedCopyWithBumpedVersion() {
+        testGame.setVersion(3L);
+        GameModel merged = new GameModel();
+        merged.setId(1L);
+        merged.setName("Renamed");
+        merged.setVersion(4L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+        when(gameRepository.save(testGame)).thenReturn(merged);
+
+        gameService.updateGame(1L, new GamePatchDtoRequest("Renamed", null, null, null, null), bindingResult, "\"3\"");
+
+        verify(gameCatalog).onSaved(merged);
+        verify(gameSearchIndex).onSaved(merged);
+        verify(gameSuggester).onSaved(merged);
+        verify(gameFacets).onSaved(merged);
+    }
+    
+    @Test
+    void updateGame_IfMatchStaleVersion_ThrowsPreconditionFailedException() {
+        testGame.setVersion(4L);
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+        when(messageSource.getMessage(eq("game.version.mismatch"), any(), any(Locale.class)))
+            .thenReturn("Game modified");
+        
+        GamePatchDtoRequest patch = new GamePatchDtoRequest("Renamed", null, null, null, null);
+        assertThrows(PreconditionFailedException.class, () -> gameService.updateGame(1L, patch, bindingResult, "\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> gameService.updateGame(1L, patch, bindingResult, "W/\"4\""));
+        verify(gameRepository, never()).save(any());
+    }
+    
+    @Test
+    void getGameVersion_CatalogEnabled_DoesNotQueryRepository() {
+        when(gameCatalog.isEnabled()).thenReturn(true);
+        when(gameCatalog.findVersion(1L)).thenReturn(Optional.of(7L));
+        
+        assertEquals(7L, gameService.getGameVersion(1L));
+        verifyNoInteractions(gameRepository);
+    }
+    
     @Test
     void deleteGame_ExistingId_DeletesGame() {
         when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
@@ -199,6 +430,10 @@ public class GameServiceTest {
         
         verify(gameRepository).findById(1L);
         verify(gameRepository).delete(testGame);
+        verify(gameCatalog).onDeleted(1L);
+        verify(gameSearchIndex).onDeleted(1L);
+        verify(gameSuggester).onDeleted(1L);
+        verify(gameFacets).onDeleted(1L);
     }
     
     @Test
@@ -217,4 +452,39 @@ public class GameServiceTest {
         assertThrows(NotFoundException.class, () -> gameService.deleteGame(999L));
         verify(gameRepository).findById(999L);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void updatePrices_FixedPriceByIds_RunsOneUpdate_AndReloadsCatalogOnce() {
+        when(gameRepository.updatePriceByIds(List.of(1L, 2L), null, GamePlatform.PC, new BigDecimal("19.99")))
+            .thenReturn(2);
+        
+        var result = gameService.updatePrices(
+            new GamePriceUpdateDtoRequest(List.of(1L, 2L), null, "pc", 19.99f, null), bindingResult);
+        
+        assertEquals(2, result.updated());
+        verify(gameCatalog, times(1)).onBulkChange();
+        verify(gameRepository, never()).save(any());
+    }
+    
+    @Test
+    void updatePrices_PercentageByGenre_ScalesWithFactor() {
+        when(gameRepository.scalePriceByFilter(GameGenre.ACTION, null, new BigDecimal("0.75"))).thenReturn(0);
+        
+        var result = gameService.updatePrices(
+            new GamePriceUpdateDtoRequest(null, "ACTION", null, null, -25f), bindingResult);
+        
+        assertEquals(0, result.updated());
+        verify(gameCatalog, never()).onBulkChange();
+    }
+    
+    @Test
+    void updatePrices_WithoutSelectionOrWithBothModes_ThrowsValidationException() {
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenAnswer(inv -> inv.getArgument(0));
+        
+        ValidationException exception = assertThrows(ValidationException.class, () -> gameService.updatePrices(
+            new GamePriceUpdateDtoRequest(List.of(), null, null, 10f, 10f), bindingResult));
+        
+        assertEquals(List.of("game.price.update.mode", "game.price.update.selection"), exception.getErrors());
+        verifyNoInteractions(gameRepository);
+    }
+}
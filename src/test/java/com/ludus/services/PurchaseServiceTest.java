@@ -9,20 +9,32 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.ludus.catalog.GameSuggester;
+import com.ludus.catalog.PurchaseLedger;
+import com.ludus.catalog.TopSellers;
+import com.ludus.dtos.requests.CheckoutDtoRequest;
 import com.ludus.dtos.requests.PurchaseDtoRequest;
 import com.ludus.dtos.responses.ApiDtoResponse;
 import com.ludus.dtos.responses.InfoDtoResponse;
 import com.ludus.dtos.responses.PurchaseDtoResponse;
+import com.ludus.dtos.responses.SparsePurchaseDtoResponse;
 import com.ludus.enums.GameGenre;
 import com.ludus.enums.GamePlatform;
 import com.ludus.enums.PaymentMethod;
@@ -30,12 +42,22 @@ import com.ludus.enums.UserRole;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.InvalidPageException;
 import com.ludus.exceptions.NotFoundException;
+import com.ludus.exceptions.ServiceBusyException;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.CheckoutConfig;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.infra.idempotency.IdempotencyStore;
+import com.ludus.infra.pipeline.PurchaseWritePipeline;
 import com.ludus.models.GameModel;
 import com.ludus.models.PurchaseModel;
 import com.ludus.models.UserModel;
 import com.ludus.repositories.GameRepository;
 import com.ludus.repositories.PurchaseRepository;
 import com.ludus.repositories.UserRepository;
+import com.ludus.repositories.projections.PurchaseRef;
+import com.ludus.repositories.projections.PurchaseRow;
+import com.ludus.utils.PageCursor;
 import com.ludus.utils.UtilHelper;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +78,36 @@ public class PurchaseServiceTest {
     @Mock
     private UtilHelper utilHelper;
 
+    @Mock
+    private TotalsCache totalsCache;
+
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+
+    @Mock
+    private GameSuggester gameSuggester;
+
+    @Spy
+    private CheckoutConfig checkoutConfig = new CheckoutConfig();
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private PurchaseWritePipeline purchaseWritePipeline;
+
+    @Mock
+    private SalesStatsService salesStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TopSellers topSellers;
+
+    @Mock
+    private PurchaseLedger purchaseLedger;
+
     @InjectMocks
     private PurchaseService purchaseService;
 
@@ -63,6 +115,8 @@ public class PurchaseServiceTest {
     private GameModel testGame;
     private PurchaseModel testPurchase;
     private List<PurchaseModel> purchaseList;
+    private List<PurchaseRow> purchaseRows;
+    private List<PurchaseRef> purchaseRefs;
     private PurchaseDtoRequest validPurchaseRequest;
 
     @BeforeEach
@@ -103,37 +157,117 @@ public class PurchaseServiceTest {
         purchaseList.add(testPurchase);
         purchaseList.add(anotherPurchase);
 
+        purchaseRows = purchaseList.stream()
+                .map(purchase -> new PurchaseRow(purchase.getId(), purchase.getPurchaseDate(), purchase.getPrice(),
+                        purchase.getPaymentMethod(), testGame.getId(), testGame.getName(), testGame.getGenre(),
+                        testGame.getReleaseYear(), testGame.getPlatform(), testGame.getPrice(), testUser.getId(),
+                        testUser.getEmail(), testUser.getName()))
+                .toList();
+        purchaseRefs = purchaseList.stream()
+                .map(purchase -> new PurchaseRef(purchase.getId(), purchase.getPurchaseDate(), purchase.getPrice(),
+                        purchase.getPaymentMethod(), testGame.getId(), testUser.getId()))
+                .toList();
+
         validPurchaseRequest = new PurchaseDtoRequest(1L, 1L, "CREDIT_CARD");
     }
 
     @Test
     void getAllPurchases_ValidParameters_ReturnsApiDtoResponse() {
-        Page<PurchaseModel> purchasePage = new PageImpl<>(purchaseList);
+        Page<PurchaseRow> purchasePage = new PageImpl<>(purchaseRows);
         InfoDtoResponse mockInfo = new InfoDtoResponse(2L, 1L, null, null);
-        when(purchaseRepository.findAll(any(), any(), any(Pageable.class))).thenReturn(purchasePage);
-        when(utilHelper.buildPageableInfoDto(any(), anyString())).thenReturn(mockInfo);
+        when(purchaseRepository.findAll(any(), any(), any(), any(), any(Pageable.class))).thenReturn(purchasePage);
+        when(utilHelper.buildPageableInfoDto(any(), anyString(), any(Object[].class))).thenReturn(mockInfo);
 
-        ApiDtoResponse<PurchaseDtoResponse> result = purchaseService.getAllPurchases(1, null, null);
+        ApiDtoResponse<SparsePurchaseDtoResponse> result = purchaseService.getAllPurchases(1, null, null, null, null, null, null, null);
         assertNotNull(result);
         assertEquals(2, result.results().size());
         assertEquals(1L, result.results().get(0).id());
         assertEquals("CREDIT_CARD", result.results().get(0).paymentMethod());
         assertEquals(mockInfo, result.info());
 
-        verify(purchaseRepository).findAll(eq(null), eq(null), any(Pageable.class));
-        verify(utilHelper).buildPageableInfoDto(eq(purchasePage), eq("/purchases"));
+        verify(purchaseRepository).findAll(eq(null), eq(null), any(), any(), any(Pageable.class));
+        verify(utilHelper).buildPageableInfoDto(any(Page.class), eq("/purchases"), eq("gameId"), isNull(),
+                eq("paymentMethod"), isNull(), eq("from"), isNull(), eq("to"), isNull(), eq("fields"), isNull(),
+                eq("view"), isNull());
+    }
+
+    @Test
+    void getAllPurchases_CachedTotal_SkipsCountQuery() {
+        when(totalsCache.getOrEstimate(TotalsCache.PURCHASES, null, PaymentMethod.PIX)).thenReturn(OptionalLong.of(25));
+        when(purchaseRepository.findPageContent(eq(null), eq(PaymentMethod.PIX), any(), any(), any(Pageable.class))).thenReturn(purchaseRows);
+
+        purchaseService.getAllPurchases(1, null, null, "pix", null, null, null, null);
+
+        verify(purchaseRepository, never()).findAll(any(), any(), any(), any(), any(Pageable.class));
+        verify(utilHelper).buildPageableInfoDto(argThat((Page<?> page) -> page.getTotalElements() == 25L), eq("/purchases"),
+                eq("gameId"), isNull(), eq("paymentMethod"), eq("pix"), eq("from"), isNull(), eq("to"), isNull(),
+                eq("fields"), isNull(), eq("view"), isNull());
+    }
+
+    @Test
+    void getAllPurchases_NoCachedTotal_SeedsCounter() {
+        Page<PurchaseRow> purchasePage = new PageImpl<>(purchaseRows);
+        when(purchaseRepository.findAll(any(), any(), any(), any(), any(Pageable.class))).thenReturn(purchasePage);
+
+        purchaseService.getAllPurchases(1, null, 1L, null, null, null, null, null);
+
+        verify(totalsCache).put(TotalsCache.PURCHASES, 2L, 1L, null);
+    }
+
+    @Test
+    void getAllPurchases_DateRange_BoundsQueryAndSkipsCachedTotal() {
+        Page<PurchaseRow> purchasePage = new PageImpl<>(purchaseRows);
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        when(purchaseRepository.findAll(any(), any(), any(), any(), any(Pageable.class))).thenReturn(purchasePage);
+
+        purchaseService.getAllPurchases(1, null, null, null, from, null, null, null);
+
+        verify(purchaseRepository).findAll(eq(null), eq(null), eq(from),
+                eq(PurchaseService.LATEST_PURCHASE_DATE), any(Pageable.class));
+        verifyNoInteractions(totalsCache);
+        verify(utilHelper).buildPageableInfoDto(any(Page.class), eq("/purchases"), any(Object[].class));
+    }
+
+    @Test
+    void getAllPurchases_FromAfterTo_ThrowsValidationException() {
+        when(messageSource.getMessage(eq("purchase.range.invalid"), any(), any(Locale.class)))
+                .thenReturn("Invalid date range");
+
+        assertThrows(ValidationException.class, () -> purchaseService.getAllPurchases(1, null, null, null,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null));
+        verifyNoInteractions(purchaseRepository);
+    }
+
+    @Test
+    void getAllPurchasesAfter_Cursor_UsesSeekQueryWithoutCount() {
+        InfoDtoResponse mockInfo = new InfoDtoResponse(null, null, null, null);
+        when(purchaseRepository.findAllAfter(any(), any(), any(), any(), eq(5L), any(Pageable.class))).thenReturn(purchaseRows);
+        when(utilHelper.toSlice(anyList(), anyInt(), any())).thenCallRealMethod();
+        when(utilHelper.buildPageableInfoDto(any(Slice.class), any(), any(), anyString(), any(Object[].class))).thenReturn(mockInfo);
+
+        ApiDtoResponse<SparsePurchaseDtoResponse> result = purchaseService.getAllPurchasesAfter(PageCursor.after(5L).encode(), null, null, null, null, null, null, null);
+
+        assertEquals(2, result.results().size());
+        assertEquals(mockInfo, result.info());
+        verify(purchaseRepository, never()).findAll(any(), any(), any(), any(), any(Pageable.class));
+        verify(purchaseRepository, never()).findAllBefore(any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllPurchasesAfter_InvalidCursor_ThrowsInvalidPageException() {
+        assertThrows(InvalidPageException.class, () -> purchaseService.getAllPurchasesAfter("not-a-cursor", null, null, null, null, null, null, null));
     }
 
     @Test
     void getAllPurchases_InvalidPage_ThrowsInvalidPageException() {
-        assertThrows(InvalidPageException.class, () -> purchaseService.getAllPurchases(0, null, null));
-        assertThrows(InvalidPageException.class, () -> purchaseService.getAllPurchases(-1, null, null));
+        assertThrows(InvalidPageException.class, () -> purchaseService.getAllPurchases(0, null, null, null, null, null, null, null));
+        assertThrows(InvalidPageException.class, () -> purchaseService.getAllPurchases(-1, null, null, null, null, null, null, null));
     }
 
     @Test
     void getAllPurchases_InvalidGameId_ThrowsIllegalArgumentException() {
-        assertThrows(IllegalArgumentException.class, () -> purchaseService.getAllPurchases(1, 0L, null));
-        assertThrows(IllegalArgumentException.class, () -> purchaseService.getAllPurchases(1, -1L, null));
+        assertThrows(IllegalArgumentException.class, () -> purchaseService.getAllPurchases(1, null, 0L, null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> purchaseService.getAllPurchases(1, null, -1L, null, null, null, null, null));
     }
 
     @Test
@@ -141,7 +275,54 @@ public class PurchaseServiceTest {
         when(messageSource.getMessage(eq("purchase.invalid.payment.method"), any(), any(Locale.class)))
             .thenReturn("Invalid payment method");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.getAllPurchases(1, null, "INVALID_METHOD"));
+        assertThrows(NotFoundException.class, () -> purchaseService.getAllPurchases(1, null, null, "INVALID_METHOD", null, null, null, null));
+    }
+
+    @Test
+    void getAllPurchases_IdsView_ReadsRefsWithoutLoadingGamesOrUsers() {
+        Page<PurchaseRef> purchasePage = new PageImpl<>(purchaseRefs);
+        when(purchaseRepository.findAllRefs(any(), any(), any(), any(), any(Pageable.class))).thenReturn(purchasePage);
+
+        ApiDtoResponse<SparsePurchaseDtoResponse> result =
+                purchaseService.getAllPurchases(1, null, null, null, null, null, null, "ids");
+
+        assertEquals(new SparsePurchaseDtoResponse(1L, null, null, null, 1L, 1L, null, null), result.results().get(0));
+        verify(purchaseRepository, never()).findAll(any(), any(), any(), any(), any(Pageable.class));
+        verifyNoInteractions(gameRepository);
+        verify(userRepository, never()).findAllById(any());
+        verify(utilHelper).buildPageableInfoDto(any(Page.class), eq("/purchases"), any(Object[].class));
+    }
+
+    @Test
+    void getAllPurchases_Fields_LoadsOnlySelectedAssociationsOnce() {
+        when(totalsCache.getOrEstimate(TotalsCache.PURCHASES, null, null)).thenReturn(OptionalLong.of(2));
+        when(purchaseRepository.findRefPageContent(any(), any(), any(), any(), any(Pageable.class))).thenReturn(purchaseRefs);
+        when(gameRepository.findAllById(Set.of(1L))).thenReturn(List.of(testGame));
+
+        ApiDtoResponse<SparsePurchaseDtoResponse> result =
+                purchaseService.getAllPurchases(1, null, null, null, null, null, "price, game", null);
+
+        SparsePurchaseDtoResponse first = result.results().get(0);
+        assertNull(first.id());
+        assertEquals(BigDecimal.valueOf(59.99), first.price());
+        assertEquals("Test Game", first.game().get(0).name());
+        assertNull(first.user());
+        verify(gameRepository).findAllById(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAllPurchases_InvalidFieldsOrView_ThrowsValidationException() {
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenReturn("Invalid");
+
+        ValidationException unknown = assertThrows(ValidationException.class,
+                () -> purchaseService.getAllPurchases(1, null, null, null, null, null, "id,email,secret", null));
+        assertEquals(2, unknown.getErrors().size());
+        assertThrows(ValidationException.class,
+                () -> purchaseService.getAllPurchases(1, null, null, null, null, null, null, "tiny"));
+        assertThrows(ValidationException.class,
+                () -> purchaseService.getAllPurchasesAfter("", null, null, null, null, null, "id", "ids"));
+        verifyNoInteractions(purchaseRepository);
     }
 
     @Test
@@ -183,57 +364,254 @@ public class PurchaseServiceTest {
     }
 
     @Test
-    void getPurchasesByUser_ExistingUserId_ReturnsListOfPurchaseDtoResponse() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(purchaseRepository.findAll()).thenReturn(purchaseList);
-
-        List<PurchaseDtoResponse> result = purchaseService.getPurchasesByUser(1L);
+    void getPurchasesByUser_ExistingUserId_ReturnsPageFromUserQuery() {
+        Page<PurchaseRow> purchasePage = new PageImpl<>(purchaseRows);
+        InfoDtoResponse mockInfo = new InfoDtoResponse(2L, 1L, null, null);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(purchaseRepository.findByUser(eq(1L), any(Pageable.class))).thenReturn(purchasePage);
+        when(utilHelper.buildPageableInfoDto(any(Page.class), eq("/purchases/user/1"), any(Object[].class))).thenReturn(mockInfo);
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(1L, result.get(0).id());
-        assertEquals("CREDIT_CARD", result.get(0).paymentMethod());
+        ApiDtoResponse<SparsePurchaseDtoResponse> result = purchaseService.getPurchasesByUser(1L, 1, null, null, null);
 
-        verify(userRepository).findById(1L);
-        verify(purchaseRepository).findAll();
+        assertEquals(2, result.results().size());
+        assertEquals(1L, result.results().get(0).id());
+        assertEquals("CREDIT_CARD", result.results().get(0).paymentMethod());
+        assertEquals(mockInfo, result.info());
+        verify(purchaseRepository, never()).findAll();
     }
 
     @Test
     void getPurchasesByUser_InvalidUserId_ThrowsInvalidIdException() {
-        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUser(null));
-        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUser(0L));
-        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUser(-1L));
+        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUser(null, 1, null, null, null));
+        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUser(0L, 1, null, null, null));
+        assertThrows(InvalidIdException.class, () -> purchaseService.getPurchasesByUserAfter(-1L, "", null, null, null));
+    }
+
+    @Test
+    void getPurchasesByUser_InvalidPage_ThrowsInvalidPageException() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(InvalidPageException.class, () -> purchaseService.getPurchasesByUser(1L, 0, null, null, null));
     }
 
     @Test
     void getPurchasesByUser_NonExistingUserId_ThrowsNotFoundException() {
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999L)).thenReturn(false);
         when(messageSource.getMessage(eq("user.not.found"), any(), any(Locale.class)))
             .thenReturn("User not found");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.getPurchasesByUser(999L));
-        verify(userRepository).findById(999L);
+        assertThrows(NotFoundException.class, () -> purchaseService.getPurchasesByUser(999L, 1, null, null, null));
+        verify(purchaseRepository, never()).findByUser(any(), any(Pageable.class));
     }
 
     @Test
     void getPurchasesByUser_UserWithNoPurchases_ThrowsNotFoundException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(purchaseRepository.findAll()).thenReturn(new ArrayList<>());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(purchaseRepository.findByUser(eq(1L), any(Pageable.class))).thenReturn(Page.empty());
+        when(purchaseRepository.findByUserAfter(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of());
         when(messageSource.getMessage(eq("purchase.not.found"), any(), any(Locale.class)))
             .thenReturn("Purchase not found");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.getPurchasesByUser(1L));
+        assertThrows(NotFoundException.class, () -> purchaseService.getPurchasesByUser(1L, 1, null, null, null));
+        assertThrows(NotFoundException.class, () -> purchaseService.getPurchasesByUserAfter(1L, "", null, null, null));
+    }
+
+    @Test
+    void getPurchasesByUserAfter_Cursor_UsesSeekQuery() {
+        InfoDtoResponse mockInfo = new InfoDtoResponse(null, null, null, null);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(purchaseRepository.findByUserBefore(eq(1L), eq(9L), any(Pageable.class))).thenReturn(purchaseRows);
+        when(utilHelper.toSlice(anyList(), anyInt(), any())).thenCallRealMethod();
+        when(utilHelper.buildPageableInfoDto(any(Slice.class), any(), any(), eq("/purchases/user/1"), any(Object[].class)))
+            .thenReturn(mockInfo);
+
+        ApiDtoResponse<SparsePurchaseDtoResponse> result =
+            purchaseService.getPurchasesByUserAfter(1L, PageCursor.before(9L).encode(), null, null, null);
+
+        assertEquals(List.of(2L, 1L), result.results().stream().map(SparsePurchaseDtoResponse::id).toList());
+        assertEquals(mockInfo, result.info());
+        verify(purchaseRepository, never()).findByUser(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getPurchasesByUserAfter_FullView_JoinsGameAndUserInsteadOfLoadingThem() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(purchaseRepository.findByUserAfter(eq(1L), eq(0L), any(Pageable.class))).thenReturn(purchaseRows);
+        when(utilHelper.toSlice(anyList(), anyInt(), any())).thenCallRealMethod();
+
+        ApiDtoResponse<SparsePurchaseDtoResponse> result =
+            purchaseService.getPurchasesByUserAfter(1L, "", null, null, "full");
+
+        SparsePurchaseDtoResponse first = result.results().get(0);
+        assertEquals(1L, first.id());
+        assertEquals("CREDIT_CARD", first.paymentMethod());
+        assertNull(first.gameId());
+        assertEquals("Test Game", first.game().get(0).name());
+        assertEquals("test@example.com", first.user().get(0).email());
+        verify(purchaseRepository, never()).findRefsByUserAfter(any(), any(), any(Pageable.class));
+        verify(gameRepository, never()).findAllById(any());
+        verify(userRepository, never()).findAllById(any());
     }
 
     @Test
     void createPurchase_ValidData_SavesPurchase() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
-        purchaseService.createPurchase(validPurchaseRequest);
+        purchaseService.createPurchase(validPurchaseRequest, null);
 
         verify(userRepository).findById(1L);
         verify(gameRepository).findById(1L);
         verify(purchaseRepository).save(any(PurchaseModel.class));
+        verify(salesStatsService).record(argThat(purchases -> purchases.size() == 1));
+        verify(topSellers).onPurchased(1L);
+        verify(purchaseLedger).onPurchased(any(PurchaseModel.class));
+        verify(transactionManager).commit(any());
+        verify(totalsCache).increment(TotalsCache.PURCHASES, 1, 1L, PaymentMethod.CREDIT_CARD);
+        verify(gameSuggester).onPurchased(1L);
+    }
+
+    @Test
+    void checkout_ValidCart_SavesOnePurchasePerGameInOneCall() {
+        GameModel otherGame = new GameModel();
+        otherGame.setId(2L);
+        otherGame.setName("Other Game");
+        otherGame.setGenre(GameGenre.RPG);
+        otherGame.setReleaseYear(2020);
+        otherGame.setPlatform(GamePlatform.XBOX);
+        otherGame.setPrice(BigDecimal.valueOf(20.01));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testGame, otherGame));
+
+        PurchaseDtoResponse result = purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(2L, 1L), "pix"));
+
+        assertNull(result.id());
+        assertEquals(new BigDecimal("80.00"), result.price());
+        assertEquals("PIX", result.paymentMethod());
+        assertEquals(List.of(2L, 1L), result.game().stream().map(game -> game.id()).toList());
+        assertEquals(1L, result.user().get(0).id());
+        verify(purchaseRepository).saveAll(argThat((List<PurchaseModel> purchases) -> purchases.size() == 2
+                && purchases.get(0).getPrice().equals(otherGame.getPrice())
+                && purchases.get(1).getUser() == testUser));
+        verify(purchaseRepository, never()).save(any());
+        verify(salesStatsService).record(argThat(purchases -> purchases.size() == 2));
+        verify(topSellers, times(2)).onPurchased(anyLong());
+        verify(purchaseLedger, times(2)).onPurchased(any(PurchaseModel.class));
+        verify(totalsCache).increment(TotalsCache.PURCHASES, 1, 2L, PaymentMethod.PIX);
+        verify(gameSuggester).onPurchased(1L);
+        verify(gameSuggester).onPurchased(2L);
+    }
+
+    @Test
+    void checkout_RolledBack_LeavesCountersUntouched() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findAllById(List.of(1L))).thenReturn(List.of(testGame));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(1L), "pix"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(purchaseRepository).saveAll(anyList());
+        verifyNoInteractions(totalsCache);
+    }
+
+    @Test
+    void checkout_MissingGames_ThrowsNotFoundExceptionWithoutSaving() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findAllById(List.of(1L, 7L, 9L))).thenReturn(List.of(testGame));
+        when(messageSource.getMessage(eq("purchase.checkout.games.not.found"), any(), any(Locale.class)))
+            .thenAnswer(invocation -> "Games not found for purchase: " + ((Object[]) invocation.getArgument(1))[0]);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+            () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(1L, 7L, 9L), "PIX")));
+        assertEquals("Games not found for purchase: 7, 9", exception.getMessage());
+        verify(purchaseRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void checkout_InvalidCart_ThrowsBeforeQuerying() {
+        checkoutConfig.setMaxItems(2);
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenReturn("Invalid cart");
+
+        assertThrows(InvalidIdException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(null, List.of(1L), "PIX")));
+        assertThrows(ValidationException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(), "PIX")));
+        assertThrows(ValidationException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(1L, 2L, 3L), "PIX")));
+        assertThrows(ValidationException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(1L, 1L), "PIX")));
+        assertThrows(InvalidIdException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(0L), "PIX")));
+        assertThrows(NotFoundException.class, () -> purchaseService.checkout(new CheckoutDtoRequest(1L, List.of(1L), null)));
+        verifyNoInteractions(userRepository, gameRepository, purchaseRepository);
+    }
+
+    @Test
+    void createPurchase_PipelineEnabled_SubmitsInsteadOfSaving() {
+        when(purchaseWritePipeline.isEnabled()).thenReturn(true);
+        when(purchaseWritePipeline.submit(any(PurchaseModel.class), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return 42L;
+        });
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+
+        purchaseService.createPurchase(validPurchaseRequest, null);
+
+        verify(purchaseWritePipeline).submit(argThat(purchase -> purchase.getGame() == testGame
+                && purchase.getPaymentMethod() == PaymentMethod.CREDIT_CARD), any());
+        verify(purchaseRepository, never()).save(any());
+        verify(gameSuggester).onPurchased(1L);
+        verify(totalsCache).increment(TotalsCache.PURCHASES, 1, 1L, PaymentMethod.CREDIT_CARD);
+    }
+
+    @Test
+    void createPurchase_PipelineCommitTimesOut_LeavesHooksToTheWriter() {
+        when(purchaseWritePipeline.isEnabled()).thenReturn(true);
+        when(purchaseWritePipeline.submit(any(PurchaseModel.class), any())).thenThrow(new ServiceBusyException("busy"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+
+        assertThrows(ServiceBusyException.class, () -> purchaseService.createPurchase(validPurchaseRequest, null));
+
+        verifyNoInteractions(gameSuggester, topSellers, purchaseLedger);
+        verify(totalsCache, never()).increment(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void createPurchase_WithIdempotencyKey_RunsThroughStore() {
+        when(idempotencyStore.execute(eq("retry-1"), eq("1:1:CREDIT_CARD"), any())).thenReturn(42L);
+
+        assertEquals(42L, purchaseService.createPurchase(new PurchaseDtoRequest(1L, 1L, " credit_card "), "retry-1"));
+        verifyNoInteractions(userRepository, gameRepository, purchaseRepository);
+    }
+
+    @Test
+    void createPurchase_WithIdempotencyKey_RolledBack_LeavesCountersUntouched() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+        when(idempotencyStore.execute(eq("retry-1"), any(), any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                return invocation.<Supplier<Long>>getArgument(2).get();
+            } finally {
+                // The key's transaction rolls back, so no afterCommit callback ever runs.
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+
+        purchaseService.createPurchase(validPurchaseRequest, "retry-1");
+
+        verify(purchaseRepository).save(any(PurchaseModel.class));
+        verifyNoInteractions(totalsCache);
+    }
+
+    @Test
+    void createPurchase_BlankIdempotencyKey_ThrowsValidationException() {
+        when(messageSource.getMessage(eq("idempotency.key.invalid"), any(), any(Locale.class)))
+            .thenReturn("Idempotency-Key must be between 1 and 255 characters");
+
+        assertThrows(ValidationException.class, () -> purchaseService.createPurchase(validPurchaseRequest, " "));
+        assertThrows(ValidationException.class, () -> purchaseService.createPurchase(validPurchaseRequest, "k".repeat(256)));
+        verifyNoInteractions(idempotencyStore);
     }
 
     @Test
@@ -241,8 +619,8 @@ public class PurchaseServiceTest {
         PurchaseDtoRequest invalidUserRequest = new PurchaseDtoRequest(null, 1L, "CREDIT_CARD");
         PurchaseDtoRequest negativeUserRequest = new PurchaseDtoRequest(-1L, 1L, "CREDIT_CARD");
 
-        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(invalidUserRequest));
-        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(negativeUserRequest));
+        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(invalidUserRequest, null));
+        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(negativeUserRequest, null));
     }
 
     @Test
@@ -250,8 +628,8 @@ public class PurchaseServiceTest {
         PurchaseDtoRequest invalidGameRequest = new PurchaseDtoRequest(1L, null, "CREDIT_CARD");
         PurchaseDtoRequest negativeGameRequest = new PurchaseDtoRequest(1L, -1L, "CREDIT_CARD");
 
-        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(invalidGameRequest));
-        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(negativeGameRequest));
+        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(invalidGameRequest, null));
+        assertThrows(InvalidIdException.class, () -> purchaseService.createPurchase(negativeGameRequest, null));
     }
 
     @Test
@@ -262,7 +640,7 @@ public class PurchaseServiceTest {
 
         PurchaseDtoRequest nonExistingUserRequest = new PurchaseDtoRequest(999L, 1L, "CREDIT_CARD");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(nonExistingUserRequest));
+        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(nonExistingUserRequest, null));
         verify(userRepository).findById(999L);
     }
 
@@ -275,7 +653,7 @@ public class PurchaseServiceTest {
 
         PurchaseDtoRequest nonExistingGameRequest = new PurchaseDtoRequest(1L, 999L, "CREDIT_CARD");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(nonExistingGameRequest));
+        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(nonExistingGameRequest, null));
         verify(userRepository).findById(1L);
         verify(gameRepository).findById(999L);
     }
@@ -289,7 +667,7 @@ public class PurchaseServiceTest {
 
         PurchaseDtoRequest invalidPaymentMethodRequest = new PurchaseDtoRequest(1L, 1L, "INVALID_METHOD");
 
-        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(invalidPaymentMethodRequest));
+        assertThrows(NotFoundException.class, () -> purchaseService.createPurchase(invalidPaymentMethodRequest, null));
         verify(userRepository).findById(1L);
         verify(gameRepository).findById(1L);
     }
@@ -0,0 +1,150 @@
+package com.ludus.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Pageable;
+import com.ludus.catalog.PurchaseLedger;
+import com.ludus.dtos.responses.GameSalesStatsDtoResponse;
+import com.ludus.dtos.responses.SalesStatsDtoResponse;
+import com.ludus.enums.GameGenre;
+import com.ludus.enums.PaymentMethod;
+import com.ludus.enums.SalesGrouping;
+import com.ludus.exceptions.NotFoundException;
+import com.ludus.exceptions.ValidationException;
+import com.ludus.infra.config.PaginationConfig;
+import com.ludus.models.GameModel;
+import com.ludus.models.PurchaseModel;
+import com.ludus.repositories.DailySalesRepository;
+import com.ludus.repositories.projections.GameRevenue;
+import com.ludus.repositories.projections.SalesTotal;
+
+@ExtendWith(MockitoExtension.class)
+public class SalesStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+
+    @Mock
+    private PurchaseLedger purchaseLedger;
+
+    @InjectMocks
+    private SalesStatsService salesStatsService;
+
+    private static PurchaseModel purchase(long gameId, LocalDate date, PaymentMethod method, String price) {
+        GameModel game = new GameModel();
+        game.setId(gameId);
+        PurchaseModel purchase = new PurchaseModel();
+        purchase.setGame(game);
+        purchase.setPurchaseDate(date);
+        purchase.setPaymentMethod(method);
+        purchase.setPrice(new BigDecimal(price));
+        return purchase;
+    }
+
+    @Test
+    void record_GroupsByDayGameAndPaymentMethod_UpsertingInKeyOrder() {
+        salesStatsService.record(List.of(
+                purchase(2L, DAY, PaymentMethod.PIX, "10.00"),
+                purchase(1L, DAY, PaymentMethod.PIX, "20.00"),
+                purchase(2L, DAY, PaymentMethod.PIX, "15.50"),
+                purchase(1L, DAY.minusDays(1), PaymentMethod.PIX, "20.00")));
+
+        InOrder inOrder = inOrder(dailySalesRepository);
+        inOrder.verify(dailySalesRepository).add(DAY.minusDays(1), 1L, "PIX", 1, new BigDecimal("20.00"));
+        inOrder.verify(dailySalesRepository).add(DAY, 1L, "PIX", 1, new BigDecimal("20.00"));
+        inOrder.verify(dailySalesRepository).add(DAY, 2L, "PIX", 2, new BigDecimal("25.50"));
+        verifyNoMoreInteractions(dailySalesRepository);
+    }
+
+    @Test
+    void getTotals_ReadsRollup() {
+        when(dailySalesRepository.total(DAY, null)).thenReturn(new SalesTotal(null, 3L, new BigDecimal("45.50")));
+
+        SalesStatsDtoResponse totals = salesStatsService.getTotals(DAY, null);
+
+        assertEquals(new SalesStatsDtoResponse("total", 3, new BigDecimal("45.50")), totals);
+    }
+
+    @Test
+    void getByGame_CapsLimitAtMaxPageSize() {
+        when(dailySalesRepository.byGame(isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(new GameRevenue(1L, "Test Game", 2L, new BigDecimal("119.98"))));
+
+        List<GameSalesStatsDtoResponse> games = salesStatsService.getByGame(null, null, 1000);
+
+        assertEquals(List.of(new GameSalesStatsDtoResponse(1L, "Test Game", 2, new BigDecimal("119.98"))), games);
+        verify(dailySalesRepository).byGame(isNull(), isNull(),
+                argThat(pageable -> pageable.getPageSize() == paginationConfig.getMaxSize()));
+    }
+
+    @Test
+    void getByGenre_UsesEnumNameAsKey() {
+        when(dailySalesRepository.byGenre(null, null))
+                .thenReturn(List.of(new SalesTotal(GameGenre.RPG, 4L, BigDecimal.TEN)));
+
+        assertEquals(List.of(new SalesStatsDtoResponse("RPG", 4, BigDecimal.TEN)),
+                salesStatsService.getByGenre(null, null));
+    }
+
+    @Test
+    void getByDay_InvalidRange_ThrowsValidationException() {
+        when(messageSource.getMessage(eq("stats.range.invalid"), any(), any(Locale.class)))
+                .thenReturn("Invalid date range");
+
+        assertThrows(ValidationException.class, () -> salesStatsService.getByDay(DAY, DAY.minusDays(1)));
+        verifyNoInteractions(dailySalesRepository);
+    }
+
+    @Test
+    void query_ParsesGroupingAndPaymentMethod_AndCapsGames() {
+        List<SalesStatsDtoResponse> games = LongStream.rangeClosed(1, 150)
+                .mapToObj(id -> new SalesStatsDtoResponse(String.valueOf(id), 1, BigDecimal.ONE)).toList();
+        when(purchaseLedger.aggregate(SalesGrouping.GAME, DAY, null, null, 7L, PaymentMethod.PIX)).thenReturn(games);
+
+        List<SalesStatsDtoResponse> result = salesStatsService.query("game", DAY, null, null, 7L, " pix ", 1000);
+
+        assertEquals(paginationConfig.getMaxSize(), result.size());
+        assertEquals("1", result.get(0).key());
+    }
+
+    @Test
+    void query_DefaultsToTotal() {
+        List<SalesStatsDtoResponse> total = List.of(new SalesStatsDtoResponse("total", 2, BigDecimal.TEN));
+        when(purchaseLedger.aggregate(SalesGrouping.TOTAL, null, null, 3L, null, null)).thenReturn(total);
+
+        assertEquals(total, salesStatsService.query(null, null, null, 3L, null, null, null));
+    }
+
+    @Test
+    void query_InvalidGroupingOrPaymentMethod_Throws() {
+        when(messageSource.getMessage(any(), any(), any(Locale.class))).thenReturn("Invalid");
+
+        assertThrows(ValidationException.class,
+                () -> salesStatsService.query("genre", null, null, null, null, null, null));
+        assertThrows(NotFoundException.class,
+                () -> salesStatsService.query("day", null, null, null, null, "cash", null));
+        verifyNoInteractions(purchaseLedger);
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,8 @@ import com.ludus.enums.UserRole;
 import com.ludus.exceptions.InvalidIdException;
 import com.ludus.exceptions.InvalidPageException;
 import com.ludus.exceptions.NotFoundException;
+import com.ludus.infra.cache.TotalsCache;
+import com.ludus.infra.config.PaginationConfig;
 import com.ludus.models.UserModel;
 import com.ludus.repositories.UserRepository;
 import com.ludus.utils.UtilHelper;
@@ -41,9 +44,15 @@ public class UserServiceTest {
     @Mock
     private UtilHelper utilHelper;
 
+    @Mock
+    private TotalsCache totalsCache;
+
     @Mock
     private BindingResult bindingResult;
 
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+
     @InjectMocks
     private UserService userService;
 
@@ -75,14 +84,16 @@ public class UserServiceTest {
 
     @Test
     void getAllUsers_ValidPageAndName_ReturnsApiDtoResponse() {
-        Page<UserModel> userPage = new PageImpl<>(userList);
+        Page<UserDtoResponse> userPage = new PageImpl<>(List.of(
+                new UserDtoResponse(1L, "test@example.com", "Test User"),
+                new UserDtoResponse(2L, "second@example.com", "Second User")));
         InfoDtoResponse mockInfo = new InfoDtoResponse(2L, 1L, null, null);
 
         when(userRepository.findAllActiveUsersWithNameFilter(anyString(), any(Pageable.class)))
                 .thenReturn(userPage);
         when(utilHelper.buildPageableInfoDto(any(), anyString())).thenReturn(mockInfo);
 
-        ApiDtoResponse<UserDtoResponse> result = userService.getAllUsers(1, "Test");
+        ApiDtoResponse<UserDtoResponse> result = userService.getAllUsers(1, null, "Test");
 
         assertNotNull(result);
         assertEquals(2, result.results().size());
@@ -96,8 +107,8 @@ public class UserServiceTest {
 
     @Test
     void getAllUsers_InvalidPage_ThrowsInvalidPageException() {
-        assertThrows(InvalidPageException.class, () -> userService.getAllUsers(0, null));
-        assertThrows(InvalidPageException.class, () -> userService.getAllUsers(-1, null));
+        assertThrows(InvalidPageException.class, () -> userService.getAllUsers(0, null, null));
+        assertThrows(InvalidPageException.class, () -> userService.getAllUsers(-1, null, null));
     }
 
     @Test
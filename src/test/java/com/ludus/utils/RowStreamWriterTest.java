@@ -0,0 +1,56 @@
+package com.ludus.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.ludus.enums.ExportFormat;
+
+public class RowStreamWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "price", "purchaseDate");
+
+    @Test
+    void ndjson_WritesOneObjectPerLine() throws IOException {
+        String output = write(ExportFormat.NDJSON,
+                new Object[] {1L, "Game \"One\"", new BigDecimal("59.99"), LocalDate.of(2024, 1, 2)},
+                new Object[] {2L, null, BigDecimal.ZERO, null});
+
+        assertEquals("{\"id\":1,\"name\":\"Game \\\"One\\\"\",\"price\":59.99,\"purchaseDate\":\"2024-01-02\"}\n"
+                + "{\"id\":2,\"name\":null,\"price\":0,\"purchaseDate\":null}\n", output);
+    }
+
+    @Test
+    void csv_WritesHeaderAndQuotesOnlyWhenNeeded() throws IOException {
+        String output = write(ExportFormat.CSV,
+                new Object[] {1L, "Warhammer 40,000", new BigDecimal("9.90"), LocalDate.of(2024, 1, 2)},
+                new Object[] {2L, "Plain", null, null});
+
+        assertEquals("id,name,price,purchaseDate\n"
+                + "1,\"Warhammer 40,000\",9.90,2024-01-02\n"
+                + "2,Plain,,\n", output);
+    }
+
+    @Test
+    void getRows_CountsDataRowsOnly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowStreamWriter writer = RowStreamWriter.of(ExportFormat.CSV, out, COLUMNS)) {
+            writer.writeRow(new Object[] {1L, "a", null, null});
+            assertEquals(1, writer.getRows());
+        }
+    }
+
+    private static String write(ExportFormat format, Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowStreamWriter writer = RowStreamWriter.of(format, out, COLUMNS)) {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
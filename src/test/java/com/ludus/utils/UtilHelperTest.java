@@ -0,0 +1,120 @@
+package com.ludus.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.ludus.dtos.responses.InfoDtoResponse;
+import com.ludus.exceptions.InvalidPageException;
+
+public class UtilHelperTest {
+
+    private UtilHelper utilHelper;
+
+    @BeforeEach
+    void setUp() {
+        utilHelper = new UtilHelper();
+        ReflectionTestUtils.setField(utilHelper, "baseUrl", "http://localhost:8080/api/v1");
+    }
+
+    @Test
+    void pageCursor_EncodeDecode_RoundTrips() {
+        assertEquals(PageCursor.after(42L), PageCursor.decode(PageCursor.after(42L).encode()));
+        assertEquals(PageCursor.before(7L), PageCursor.decode(PageCursor.before(7L).encode()));
+        assertEquals(PageCursor.START, PageCursor.decode(""));
+    }
+
+    @Test
+    void pageCursor_Garbage_ThrowsInvalidPageException() {
+        assertThrows(InvalidPageException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(InvalidPageException.class, () -> PageCursor.decode("eDox"));
+    }
+
+    @Test
+    void toSlice_TrimsExtraRowAndRestoresOrderForBackwardCursor() {
+        Slice<Long> forward = utilHelper.toSlice(List.of(1L, 2L, 3L), 2, PageCursor.START);
+        assertEquals(List.of(1L, 2L), forward.getContent());
+        assertTrue(forward.hasNext());
+
+        Slice<Long> backward = utilHelper.toSlice(List.of(9L, 8L), 2, PageCursor.before(10L));
+        assertEquals(List.of(8L, 9L), backward.getContent());
+        assertFalse(backward.hasNext());
+    }
+
+    @Test
+    void buildPageableInfoDto_Cursor_EmitsLinksWithFilters() {
+        Slice<Long> slice = utilHelper.toSlice(List.of(11L, 12L, 13L), 2, PageCursor.after(10L));
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(slice, PageCursor.after(10L), id -> id,
+            "/games", "genre", "ACTION", "name", null);
+
+        assertNull(info.count());
+        assertEquals("http://localhost:8080/api/v1/games?genre=ACTION&after=" + PageCursor.after(12L).encode(), info.next());
+        assertEquals("http://localhost:8080/api/v1/games?genre=ACTION&after=" + PageCursor.before(11L).encode(), info.prev());
+    }
+
+    @Test
+    void buildPageableInfoDto_FirstCursorPage_HasNoPrev() {
+        Slice<Long> slice = utilHelper.toSlice(List.of(1L), 2, PageCursor.START);
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(slice, PageCursor.START, id -> id, "/users");
+
+        assertNull(info.next());
+        assertNull(info.prev());
+    }
+
+    @Test
+    void resolvePageSize_DefaultsAndCaps() {
+        assertEquals(UtilHelper.PAGE_SIZE, UtilHelper.resolvePageSize(null, 100));
+        assertEquals(25, UtilHelper.resolvePageSize(25, 100));
+        assertEquals(100, UtilHelper.resolvePageSize(1000, 100));
+        assertThrows(InvalidPageException.class, () -> UtilHelper.resolvePageSize(0, 100));
+    }
+
+    @Test
+    void buildPageableInfoDto_Page_CarriesNonDefaultSize() {
+        Page<Long> page = new PageImpl<>(List.of(1L, 2L), PageRequest.of(1, 2), 6);
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(page, "/games");
+
+        assertEquals("http://localhost:8080/api/v1/games?size=2&page=3", info.next());
+        assertEquals("http://localhost:8080/api/v1/games?size=2&page=1", info.prev());
+    }
+
+    @Test
+    void buildPageableInfoDto_PageWithoutFilters_LinksAdjacentOneBasedPages() {
+        Page<Long> first = new PageImpl<>(List.of(1L), PageRequest.of(0, UtilHelper.PAGE_SIZE), 25);
+        Page<Long> last = new PageImpl<>(List.of(1L), PageRequest.of(2, UtilHelper.PAGE_SIZE), 25);
+
+        assertEquals("http://localhost:8080/api/v1/users?page=2", utilHelper.buildPageableInfoDto(first, "/users").next());
+        assertNull(utilHelper.buildPageableInfoDto(first, "/users").prev());
+        assertNull(utilHelper.buildPageableInfoDto(last, "/users").next());
+        assertEquals("http://localhost:8080/api/v1/users?page=2", utilHelper.buildPageableInfoDto(last, "/users").prev());
+    }
+
+    @Test
+    void buildPageableInfoDto_PageWithFilters_CarriesEncodedFilters() {
+        Page<Long> page = new PageImpl<>(List.of(1L), PageRequest.of(0, UtilHelper.PAGE_SIZE), 25);
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(page, "/games/search", "q", "hollow knight");
+
+        assertEquals(25L, info.count());
+        assertEquals("http://localhost:8080/api/v1/games/search?q=hollow%20knight&page=2", info.next());
+        assertNull(info.prev());
+    }
+
+    @Test
+    void buildPageableInfoDto_PageWithFilters_LinksAdjacentOneBasedPages() {
+        Page<Long> page = new PageImpl<>(List.of(1L), PageRequest.of(1, UtilHelper.PAGE_SIZE), 25);
+
+        InfoDtoResponse info = utilHelper.buildPageableInfoDto(page, "/purchases", "gameId", 3L);
+
+        assertEquals("http://localhost:8080/api/v1/purchases?gameId=3&page=3", info.next());
+        assertEquals("http://localhost:8080/api/v1/purchases?gameId=3&page=1", info.prev());
+    }
+}